@@ -0,0 +1,115 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+import com.lotteryapp.lottery.domain.group.GroupMode;
+import com.lotteryapp.lottery.domain.group.TicketGroup;
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic, deterministic inputs shared by the generator benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Realistic pool shapes: white pick/max + red pick/max.
+     */
+    public enum Game {
+        PICK_5_69_PLUS_1_26(5, 69, 1, 26),
+        PICK_6_49(6, 49, 0, 0),
+        PICK_20_80(20, 80, 0, 0);
+
+        final int whitePick;
+        final int whiteMax;
+        final int redPick;
+        final int redMax;
+
+        Game(int whitePick, int whiteMax, int redPick, int redMax) {
+            this.whitePick = whitePick;
+            this.whiteMax = whiteMax;
+            this.redPick = redPick;
+            this.redMax = redMax;
+        }
+
+        Rules rules() {
+            return Rules.builder()
+                    .whiteMin(1).whiteMax(whiteMax).whitePickCount(whitePick)
+                    .whiteOrdered(true).whiteAllowRepeats(false)
+                    .redMin(redPick > 0 ? 1 : null).redMax(redPick > 0 ? redMax : null)
+                    .redPickCount(redPick)
+                    .redOrdered(true).redAllowRepeats(false)
+                    .build();
+        }
+    }
+
+    public enum Mode {
+        QUICK_PICK,
+        COUNT,
+        PERCENT
+    }
+
+    /**
+     * ~20% HOT, ~50% MID, ~30% COLD with random tier counts (fixed seed).
+     */
+    static List<NumberBall> balls(PoolType poolType, int max, long seed) {
+        Random random = new Random(seed);
+        List<NumberBall> out = new ArrayList<>(max);
+        for (int v = 1; v <= max; v++) {
+            NumberBall b = new NumberBall();
+            b.setPoolType(poolType);
+            b.setNumberValue(v);
+            b.setTierCount(random.nextInt(30));
+
+            int roll = random.nextInt(10);
+            b.setTier(roll < 2 ? Tier.HOT : roll < 7 ? Tier.MID : Tier.COLD);
+            out.add(b);
+        }
+        return out;
+    }
+
+    /**
+     * Group for the pool, or null for quick pick. COUNT splits pickCount roughly 40/40/20.
+     */
+    static TicketGroup group(Mode mode, PoolType poolType, int pickCount, long id) {
+        if (mode == Mode.QUICK_PICK || pickCount <= 0) return null;
+
+        TicketGroup.TicketGroupBuilder builder = TicketGroup.builder()
+                .id(id)
+                .poolType(poolType)
+                .groupMode(mode == Mode.COUNT ? GroupMode.COUNT : GroupMode.PERCENT);
+
+        if (mode == Mode.COUNT) {
+            int hot = Math.max(0, (pickCount * 2) / 5);
+            int mid = Math.max(0, (pickCount * 2) / 5);
+            return builder.hotCount(hot).midCount(mid).coldCount(pickCount - hot - mid).build();
+        }
+        return builder.hotPct(40).midPct(40).coldPct(20).build();
+    }
+
+    static GeneratorContext context(Game game, long seed, boolean parallel) {
+        return new GeneratorContext(
+                game.rules(),
+                balls(PoolType.WHITE, game.whiteMax, 1L),
+                game.redPick > 0 ? balls(PoolType.RED, game.redMax, 2L) : List.of(),
+                new GeneratorOptions(1.75, 0.30, seed, parallel, TicketUniqueness.NONE)
+        );
+    }
+
+    static GeneratorSpec spec(Game game, Mode mode, int ticketCount) {
+        return new GeneratorSpec(
+                ticketCount,
+                group(mode, PoolType.WHITE, game.whitePick, 1L),
+                group(mode, PoolType.RED, game.redPick, 2L),
+                false,
+                null,
+                null
+        );
+    }
+}
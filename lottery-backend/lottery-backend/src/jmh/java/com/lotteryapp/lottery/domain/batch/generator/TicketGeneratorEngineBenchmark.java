@@ -0,0 +1,55 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end TicketGeneratorEngine.generate for one spec (fixed seed, single thread).
+ * Divide ops/s by ticketCount for tickets/s; run with -prof gc for allocation per ticket.
+ *
+ * The 1M case is slow; narrow it with e.g. -p ticketCount=10,1000.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketGeneratorEngineBenchmark {
+
+    @Param({"PICK_5_69_PLUS_1_26", "PICK_6_49", "PICK_20_80"})
+    public BenchmarkFixtures.Game game;
+
+    @Param({"QUICK_PICK", "COUNT", "PERCENT"})
+    public BenchmarkFixtures.Mode mode;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int ticketCount;
+
+    private final TicketGeneratorEngine engine = new TicketGeneratorEngine();
+
+    private GeneratorContext ctx;
+    private List<GeneratorSpec> specs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkFixtures.context(game, 42L, false);
+        specs = List.of(BenchmarkFixtures.spec(game, mode, ticketCount));
+    }
+
+    @Benchmark
+    public GeneratedBatch generate() {
+        return engine.generate(ctx, specs);
+    }
+
+    @Benchmark
+    public void generateStreaming(Blackhole bh) {
+        bh.consume(engine.generate(ctx, specs, (specNumber, ticketNumber, white, whiteLen, red, redLen) -> {
+            bh.consume(white);
+            bh.consume(red);
+        }));
+    }
+}
@@ -0,0 +1,81 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks for the weighting primitives: WeightedPicker math and the
+ * WeightedSampler operations the engine calls per pick.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WeightedPickerBenchmark {
+
+    @Param({"26", "49", "80"})
+    public int bucketSize;
+
+    private double[] weights;
+    private WeightedSampler sampler;
+    private NumberMask taken;
+    private SplittableRandom rng;
+    private int cursor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SplittableRandom seed = new SplittableRandom(7L);
+
+        int[] values = new int[bucketSize];
+        weights = new double[bucketSize];
+        for (int i = 0; i < bucketSize; i++) {
+            values[i] = i + 1;
+            weights[i] = WeightedPicker.applyTemperature(1.0 + seed.nextInt(90), 1.75);
+        }
+
+        sampler = WeightedSampler.of(values, weights, 0.30);
+
+        // a typical partially filled ticket: every 4th number already picked
+        taken = new NumberMask(bucketSize);
+        for (int v = 1; v <= bucketSize; v += 4) taken.add(v);
+
+        rng = new SplittableRandom(11L);
+    }
+
+    @Benchmark
+    public double applyTemperature() {
+        return WeightedPicker.applyTemperature(weights[next()], 1.75);
+    }
+
+    @Benchmark
+    public double applyDiminishingReturns() {
+        return WeightedPicker.applyDiminishingReturns(weights[next()], next() & 15, 0.30);
+    }
+
+    @Benchmark
+    public int samplerPick() {
+        return sampler.pickIndex(rng);
+    }
+
+    @Benchmark
+    public int samplerPickExcluding() {
+        return sampler.pickIndexExcluding(taken, rng);
+    }
+
+    @Benchmark
+    public int samplerPickAndMarkUsed() {
+        int idx = sampler.pickIndex(rng);
+        sampler.markUsed(idx);
+        return idx;
+    }
+
+    private int next() {
+        int i = cursor++;
+        if (cursor == bucketSize) cursor = 0;
+        return i;
+    }
+}
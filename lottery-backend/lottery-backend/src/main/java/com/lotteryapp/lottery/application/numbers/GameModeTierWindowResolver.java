@@ -18,14 +18,18 @@ public final class GameModeTierWindowResolver {
      * - end only -> start = Rules.formatStartDate (or earliest stored draw; service can override)
      */
     public static TierWindow resolve(GameMode mode, LocalDate today) {
+        return resolve(mode, mode.getTierRangeStartDate(), mode.getTierRangeEndDate(), today);
+    }
+
+    /**
+     * Same defaults as resolve(mode, today), for a range that is not (yet) stored on the GameMode.
+     */
+    public static TierWindow resolve(GameMode mode, LocalDate start, LocalDate end, LocalDate today) {
         Rules rules = mode.getRules();
         if (rules == null) {
             throw new IllegalStateException("GameMode.rules is required to resolve tier window defaults.");
         }
 
-        LocalDate start = mode.getTierRangeStartDate();
-        LocalDate end = mode.getTierRangeEndDate();
-
         if (start == null && end == null) {
             start = rules.getFormatStartDate() != null ? rules.getFormatStartDate() : LocalDate.MIN;
             end = today;
@@ -1,5 +1,6 @@
 package com.lotteryapp.lottery.application.numbers;
 
+import com.lotteryapp.lottery.domain.draw.DrawFrequencyIndex;
 import com.lotteryapp.lottery.domain.draw.DrawPick;
 import com.lotteryapp.lottery.domain.draw.DrawResult;
 import com.lotteryapp.lottery.domain.gamemode.GameMode;
@@ -8,23 +9,31 @@ import com.lotteryapp.lottery.domain.numbers.NumberBall;
 import com.lotteryapp.lottery.domain.numbers.PoolType;
 import com.lotteryapp.lottery.domain.numbers.Tier;
 import com.lotteryapp.lottery.domain.numbers.tier.NumberBallTierEngine;
+import com.lotteryapp.lottery.domain.numbers.tier.TierBitmaps;
 import com.lotteryapp.lottery.domain.numbers.tier.TierCutoffs;
 import com.lotteryapp.lottery.domain.numbers.tier.TierWindow;
+import com.lotteryapp.lottery.repository.GameModeRepository;
+import com.lotteryapp.lottery.service.DrawFrequencyIndexCache;
 import com.lotteryapp.lottery.service.DrawService;
+import com.lotteryapp.lottery.service.GenerationPlanCache;
 import com.lotteryapp.lottery.service.NumberBallService;
+import com.lotteryapp.lottery.service.TierSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 
 @Service
 @RequiredArgsConstructor
 public class NumberBallLifecycleService {
 
+    private final GameModeRepository gameModeRepository;
     private final NumberBallService numberBallService;
+    private final GenerationPlanCache generationPlanCache;
+    private final TierSnapshotService tierSnapshotService;
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache;
 
     private final TierCutoffs cutoffs = TierCutoffs.defaultCutoffs();
 
@@ -36,31 +45,42 @@ public class NumberBallLifecycleService {
         requireRules(mode);
 
         numberBallService.initializeForGameMode(mode);
+        clearCountedWindow(mode);
+        generationPlanCache.invalidate(mode.getId());
     }
 
     /**
      * Incremental update when a new DrawResult is saved.
      * - bump totalCount
-     * - bump tierCount only if drawDate within current tier window
+     * - bump tierCount only if drawDate within the window tierCounts currently reflect
+     *   (draws outside it are counted by applyWindowCounts once the window reaches them;
+     *   callers advance a stale window after commit, see TierWindowService.advanceAfterCommitIfStale)
      * - update lastDrawnDate
      * - then recalc tiers (or schedule it) for that game/pool
+     * - after commit, snapshot the tiers as of every draw date from the oldest applied draw on
+     *   (a backfilled older draw rewrites the snapshots after it), see snapshotFrom
      */
     public void applydraw(GameMode mode, List<DrawResult> draws, List<NumberBall> balls) {
         requireRules(mode);
 
-        applyCountsFromDraws(balls, draws, true);
+        TierWindow counted = countedWindow(mode);
+        TierWindow window = (counted != null) ? counted : GameModeTierWindowResolver.resolve(mode, LocalDate.now());
 
-        TierWindow window = GameModeTierWindowResolver.resolve(mode, LocalDate.now());
+        BallCounts counts = new BallCounts(balls);
+        LocalDate oldest = null;
         for(DrawResult draw: draws){
-            if (draw == null || draw.getDrawDate() == null) continue;
+            if (draw == null) continue;
 
-            if (!draw.getDrawDate().isBefore(window.start()) && !draw.getDrawDate().isAfter(window.end())) {
-                bumpCounts(balls, draw.getPicks(), false);
-            }
+            LocalDate date = draw.getDrawDate();
+            if (date != null && (oldest == null || date.isBefore(oldest))) oldest = date;
+
+            counts.add(draw, true, date != null && window.contains(date));
         }
+        counts.applyTo();
 
         NumberBallTierEngine.assignTiers(balls, cutoffs);
-
+        if (oldest != null) snapshotFrom(mode.getId(), oldest, false);
+        generationPlanCache.invalidate(mode.getId());
     }
 
     /**
@@ -74,61 +94,244 @@ public class NumberBallLifecycleService {
         for (NumberBall b : balls) b.setTierCount(0);
 
         TierWindow window = GameModeTierWindowResolver.resolve(mode, LocalDate.now());
-        List<DrawResult> windowDraws = filterDrawsInWindow(drawsInFormatHistory, window);
-        applyCountsFromDraws(balls, windowDraws, false);
+        BallCounts counts = new BallCounts(balls);
+        for (DrawResult d : filterDrawsInWindow(drawsInFormatHistory, window)) {
+            counts.add(d, false, true);
+        }
+        counts.applyTo();
 
         NumberBallTierEngine.assignTiers(balls, cutoffs);
+        snapshotFrom(mode.getId(), LocalDate.now(), true);
+        setCountedWindow(mode, window);
+        generationPlanCache.invalidate(mode.getId());
+    }
+
+    /**
+     * Moves tierCounts to target using the game's draw frequency index: every ball's count is
+     * read for the window in O(log n) (the exact result of +1/-1 for draws entering/leaving),
+     * so no draw history is loaded. lastDrawnDate is raised if the index knows a later draw
+     * on or before target.end.
+     *
+     * Only pools where a count or lastDrawnDate changed are re-tiered (all pools when the
+     * counted window was unknown), and the result is snapshotted as of today (after commit).
+     * Records target as the counted window.
+     *
+     * @return pools that were re-tiered
+     */
+    public Set<PoolType> applyWindowCounts(GameMode mode, TierWindow target, DrawFrequencyIndex index, List<NumberBall> balls) {
+        requireRules(mode);
+
+        boolean countsUnknown = countedWindow(mode) == null;
+
+        Set<PoolType> changed = EnumSet.noneOf(PoolType.class);
+        for (NumberBall b : balls) {
+            PoolType poolType = b.getPoolType();
+            if (poolType == null || b.getNumberValue() == null) continue;
+            if (countsUnknown) changed.add(poolType);
+
+            int count = index.count(poolType, b.getNumberValue(), target.start(), target.end());
+            if (count != safeInt(b.getTierCount()) || b.getTierCount() == null) {
+                b.setTierCount(count);
+                changed.add(poolType);
+            }
+
+            LocalDate last = index.lastDrawn(poolType, b.getNumberValue(), target.end());
+            if (last != null && (b.getLastDrawnDate() == null || last.isAfter(b.getLastDrawnDate()))) {
+                b.setLastDrawnDate(last);
+                changed.add(poolType);
+            }
+        }
+
+        for (PoolType poolType : changed) {
+            List<NumberBall> pool = balls.stream().filter(b -> b.getPoolType() == poolType).toList();
+            NumberBallTierEngine.assignTiers(pool, cutoffs);
+        }
+
+        setCountedWindow(mode, target);
+        if (!changed.isEmpty()) {
+            snapshotFrom(mode.getId(), LocalDate.now(), true);
+            generationPlanCache.invalidate(mode.getId());
+        }
+        return changed;
+    }
+
+    /**
+     * Window the stored tierCounts reflect, or null if unknown (never counted, or balls rebuilt).
+     */
+    public static TierWindow countedWindow(GameMode mode) {
+        if (mode.getTierCountWindowStart() == null || mode.getTierCountWindowEnd() == null) return null;
+        return new TierWindow(mode.getTierCountWindowStart(), mode.getTierCountWindowEnd());
+    }
+
+    /**
+     * Tiers of the game's balls as they stood on date: counts over the window resolved on that
+     * date (draws up to date only) and lastDrawnDate on or before it, read from index.
+     */
+    public byte[] tiersAsOf(GameMode mode, List<NumberBall> balls, DrawFrequencyIndex index, LocalDate date) {
+        TierWindow window = GameModeTierWindowResolver.resolve(mode, date);
+        LocalDate end = window.end().isAfter(date) ? date : window.end();
+
+        List<NumberBall> asOf = new ArrayList<>(balls.size());
+        for (NumberBall b : balls) {
+            if (b.getPoolType() == null || b.getNumberValue() == null) continue;
+
+            NumberBall copy = new NumberBall();
+            copy.setPoolType(b.getPoolType());
+            copy.setNumberValue(b.getNumberValue());
+            copy.setTierCount(index.count(b.getPoolType(), b.getNumberValue(), window.start(), end));
+            copy.setLastDrawnDate(index.lastDrawn(b.getPoolType(), b.getNumberValue(), date));
+            asOf.add(copy);
+        }
 
+        NumberBallTierEngine.assignTiers(asOf, cutoffs);
+        return TierBitmaps.encode(asOf);
     }
 
     // -------------------
     // Helpers
     // -------------------
 
+    /**
+     * After commit, re-snapshots the game from fromDate on: the tiers as of every draw date from
+     * fromDate (and fromDate itself when includeFromDate) plus every date an existing snapshot was
+     * taken on, each computed by tiersAsOf from the committed draws. Dated snapshots therefore
+     * never carry tiers from later draws, whatever order the draws were saved in.
+     */
+    private void snapshotFrom(Long gameModeId, LocalDate fromDate, boolean includeFromDate) {
+        tierSnapshotService.rewriteAfterCommit(gameModeId, fromDate, replacedDates -> {
+            GameMode mode = gameModeRepository.findById(gameModeId).orElse(null);
+            if (mode == null || mode.getRules() == null) return null;
+
+            DrawFrequencyIndex index = drawFrequencyIndexCache.get(gameModeId);
+            List<NumberBall> balls = numberBallService.getBallsByGameModeId(gameModeId);
+
+            SortedSet<LocalDate> dates = new TreeSet<>(index.datesFrom(fromDate));
+            dates.addAll(replacedDates);
+            if (includeFromDate) dates.add(fromDate);
+
+            SortedMap<LocalDate, byte[]> tiers = new TreeMap<>();
+            for (LocalDate date : dates) tiers.put(date, tiersAsOf(mode, balls, index, date));
+            return tiers;
+        });
+    }
+
     private Rules requireRules(GameMode mode) {
         Rules rules = mode.getRules();
         if (rules == null) throw new IllegalStateException("GameMode.rules required.");
         return rules;
     }
 
+    private void setCountedWindow(GameMode mode, TierWindow window) {
+        mode.setTierCountWindowStart(window.start());
+        mode.setTierCountWindowEnd(window.end());
+    }
+
+    private void clearCountedWindow(GameMode mode) {
+        mode.setTierCountWindowStart(null);
+        mode.setTierCountWindowEnd(null);
+    }
+
     private List<DrawResult> filterDrawsInWindow(List<DrawResult> draws, TierWindow window) {
         return draws.stream()
                 .filter(d -> d != null && d.getDrawDate() != null)
-                .filter(d -> !d.getDrawDate().isBefore(window.start()) && !d.getDrawDate().isAfter(window.end()))
+                .filter(d -> window.contains(d.getDrawDate()))
                 .toList();
     }
 
-    private void applyCountsFromDraws(List<NumberBall> balls, List<DrawResult> draws, boolean total) {
-        for (DrawResult d : draws) {
-            if (d == null || d.getPicks() == null) continue;
-            bumpCounts(balls, d.getPicks(), total);
-        }
+    private int safeInt(Integer v) {
+        return v == null ? 0 : v;
     }
 
-    private void bumpCounts(List<NumberBall> balls, List<DrawPick> picks, boolean total) {
-        // Build lookup map by (poolType, numberValue)
-        Map<String, NumberBall> map = balls.stream()
-                .collect(Collectors.toMap(
-                        b -> b.getPoolType() + ":" + b.getNumberValue(),
-                        b -> b
-                ));
+    /**
+     * Dense per-pool lookup (slot = numberValue - pool min) for applying many draws at once:
+     * hits are accumulated in int arrays and written to the balls once in applyTo, so applying
+     * a history costs one pass over the picks with no per-draw map or string building.
+     */
+    private static final class BallCounts {
+
+        private final NumberBall[][] balls = new NumberBall[PoolType.values().length][];
+        private final int[] min = new int[PoolType.values().length];
+        private final int[][] totalHits = new int[PoolType.values().length][];
+        private final int[][] tierHits = new int[PoolType.values().length][];
+        private final LocalDate[][] lastDrawn = new LocalDate[PoolType.values().length][];
+
+        BallCounts(List<NumberBall> all) {
+            int pools = PoolType.values().length;
+            int[] max = new int[pools];
+            Arrays.fill(min, Integer.MAX_VALUE);
+            Arrays.fill(max, Integer.MIN_VALUE);
+
+            for (NumberBall b : all) {
+                if (b.getPoolType() == null || b.getNumberValue() == null) continue;
+                int p = b.getPoolType().ordinal();
+                min[p] = Math.min(min[p], b.getNumberValue());
+                max[p] = Math.max(max[p], b.getNumberValue());
+            }
+
+            for (int p = 0; p < pools; p++) {
+                int span = (max[p] < min[p]) ? 0 : max[p] - min[p] + 1;
+                balls[p] = new NumberBall[span];
+                totalHits[p] = new int[span];
+                tierHits[p] = new int[span];
+                lastDrawn[p] = new LocalDate[span];
+            }
+
+            for (NumberBall b : all) {
+                if (b.getPoolType() == null || b.getNumberValue() == null) continue;
+                int p = b.getPoolType().ordinal();
+                balls[p][b.getNumberValue() - min[p]] = b;
+            }
+        }
+
+        void add(DrawResult draw, boolean total, boolean tier) {
+            if (draw == null) return;
+            LocalDate date = draw.getDrawDate();
+
+            if (draw.isPacked()) {
+                for (byte n : draw.getWhiteOrder()) hit(PoolType.WHITE.ordinal(), n & 0xFF, date, total, tier);
+                for (byte n : draw.getRedOrder()) hit(PoolType.RED.ordinal(), n & 0xFF, date, total, tier);
+                return;
+            }
+
+            if (draw.getPicks() == null) return;
+            for (DrawPick pick : draw.getPicks()) {
+                if (pick.getPoolType() == null || pick.getNumberValue() == null) continue;
+                hit(pick.getPoolType().ordinal(), pick.getNumberValue(), date, total, tier);
+            }
+        }
 
-        for (DrawPick p : picks) {
-            String key = p.getPoolType() + ":" + p.getNumberValue();
-            NumberBall b = map.get(key);
-            if (b == null) continue;
+        private void hit(int p, int value, LocalDate date, boolean total, boolean tier) {
+            int slot = value - min[p];
+            if (slot < 0 || slot >= balls[p].length || balls[p][slot] == null) return;
 
-            if (total) b.setTotalCount(safeInt(b.getTotalCount()) + 1);
-            else b.setTierCount(safeInt(b.getTierCount()) + 1);
+            if (total) totalHits[p][slot]++;
+            if (tier) tierHits[p][slot]++;
 
             // Update lastDrawnDate (recency)
-            if (b.getLastDrawnDate() == null || p.getDrawResult().getDrawDate().isAfter(b.getLastDrawnDate())) {
-                b.setLastDrawnDate(p.getDrawResult().getDrawDate());
+            if (date != null && (lastDrawn[p][slot] == null || date.isAfter(lastDrawn[p][slot]))) {
+                lastDrawn[p][slot] = date;
             }
         }
-    }
 
-    private int safeInt(Integer v) {
-        return v == null ? 0 : v;
+        void applyTo() {
+            for (int p = 0; p < balls.length; p++) {
+                for (int slot = 0; slot < balls[p].length; slot++) {
+                    NumberBall b = balls[p][slot];
+                    if (b == null) continue;
+
+                    if (totalHits[p][slot] > 0) b.setTotalCount(safe(b.getTotalCount()) + totalHits[p][slot]);
+                    if (tierHits[p][slot] > 0) b.setTierCount(safe(b.getTierCount()) + tierHits[p][slot]);
+
+                    LocalDate last = lastDrawn[p][slot];
+                    if (last != null && (b.getLastDrawnDate() == null || last.isAfter(b.getLastDrawnDate()))) {
+                        b.setLastDrawnDate(last);
+                    }
+                }
+            }
+        }
+
+        private static int safe(Integer v) {
+            return v == null ? 0 : v;
+        }
     }
 }
@@ -5,17 +5,23 @@ import com.lotteryapp.lottery.dto.common.PageResponse;
 import com.lotteryapp.lottery.dto.draw.request.*;
 import com.lotteryapp.lottery.dto.draw.response.*;
 import com.lotteryapp.lottery.service.DrawService;
+import com.lotteryapp.lottery.service.DrawSyncPlanner;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/draws")
 public class DrawController {
 
     private final DrawService drawService;
+    private final DrawSyncPlanner drawSyncPlanner;
 
-    public DrawController(DrawService drawService) {
+    public DrawController(DrawService drawService, DrawSyncPlanner drawSyncPlanner) {
         this.drawService = drawService;
+        this.drawSyncPlanner = drawSyncPlanner;
     }
 
     @PostMapping("/latest")
@@ -38,6 +44,18 @@ public class DrawController {
         return drawService.getCurrentFormat(request);
     }
 
+    @PostMapping("/history")
+    public ApiResponse<DrawHistoryPageResponse> history(@Valid @RequestBody GetDrawHistoryRequest request) {
+        return drawService.getHistory(request);
+    }
+
+    @PostMapping(value = "/history/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHistory(@Valid @RequestBody GetCurrentFormatDrawsRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(drawService.exportCurrentFormat(request));
+    }
+
     @PostMapping("/schedule")
     public ApiResponse<DrawScheduleResponse> schedule(@Valid @RequestBody GetDrawScheduleRequest request) {
         return drawService.getSchedule(request);
@@ -48,6 +66,16 @@ public class DrawController {
         return drawService.getSyncStatus(request);
     }
 
+    @PostMapping("/sync-plan")
+    public ApiResponse<DrawSyncPlanResponse> syncPlan() {
+        return drawSyncPlanner.getPlan();
+    }
+
+    @PostMapping("/sync-plan/run")
+    public ApiResponse<DrawSyncPlanResponse> runSyncPlan() {
+        return drawSyncPlanner.runPlan();
+    }
+
     @PostMapping("/upsert")
     public ApiResponse<DrawBundleResponse> upsert(@Valid @RequestBody UpsertDrawRequest request) {
         return drawService.upsert(request);
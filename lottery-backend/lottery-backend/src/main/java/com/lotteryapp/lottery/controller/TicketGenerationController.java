@@ -5,7 +5,10 @@ import com.lotteryapp.lottery.dto.ticketgen.response.GeneratedBatchResponse;
 import com.lotteryapp.lottery.service.TicketGeneratorService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,4 +21,18 @@ public class TicketGenerationController {
     public GeneratedBatchResponse generate(@Valid @RequestBody GenerateBatchRequest request) {
         return ticketGeneratorService.generate(request);
     }
+
+    /**
+     * Same generation, streamed as NDJSON while tickets are produced (for very large ticketCount).
+     * Validation errors are returned as usual before the stream starts.
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateStream(@Valid @RequestBody GenerateBatchRequest request) {
+        TicketGeneratorService.PreparedGeneration prepared = ticketGeneratorService.prepare(request);
+
+        StreamingResponseBody body = out -> ticketGeneratorService.streamNdjson(prepared, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
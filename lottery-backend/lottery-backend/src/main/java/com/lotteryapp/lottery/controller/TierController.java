@@ -4,10 +4,15 @@ import com.lotteryapp.lottery.dto.common.ApiResponse;
 import com.lotteryapp.lottery.dto.numberball.response.NumberBallResponse;
 import com.lotteryapp.lottery.dto.tier.request.GetTierListRequest;
 import com.lotteryapp.lottery.dto.tier.request.GetTierMatrixRequest;
+import com.lotteryapp.lottery.dto.tier.request.GetTiersAsOfRequest;
+import com.lotteryapp.lottery.dto.tier.request.PreviewTierRequest;
 import com.lotteryapp.lottery.dto.tier.request.UpdateTierRangeRequest;
 import com.lotteryapp.lottery.dto.tier.response.TierMatrixResponse;
+import com.lotteryapp.lottery.dto.tier.response.TierPreviewResponse;
+import com.lotteryapp.lottery.dto.tier.response.TierSnapshotResponse;
 import com.lotteryapp.lottery.dto.tier.response.UpdateTierRangeResponse;
 import com.lotteryapp.lottery.service.TierService;
+import com.lotteryapp.lottery.service.TierSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +24,7 @@ import java.util.List;
 public class TierController {
 
     private final TierService tierService;
+    private final TierSnapshotService tierSnapshotService;
 
     @PostMapping("/get-all")
     public ApiResponse<TierMatrixResponse> getAll(@RequestBody GetTierMatrixRequest request) {
@@ -34,4 +40,14 @@ public class TierController {
     public ApiResponse<UpdateTierRangeResponse> updateRange(@RequestBody UpdateTierRangeRequest request) {
         return tierService.updateTierRange(request);
     }
+
+    @PostMapping("/preview")
+    public ApiResponse<TierPreviewResponse> preview(@RequestBody PreviewTierRequest request) {
+        return tierService.previewTiers(request);
+    }
+
+    @PostMapping("/as-of")
+    public ApiResponse<TierSnapshotResponse> asOf(@RequestBody GetTiersAsOfRequest request) {
+        return tierSnapshotService.getTiersAsOf(request);
+    }
 }
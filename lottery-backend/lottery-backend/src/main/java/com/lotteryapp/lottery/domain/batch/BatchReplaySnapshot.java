@@ -0,0 +1,45 @@
+package com.lotteryapp.lottery.domain.batch;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Frozen generator inputs (rules + compiled white/red tier pools) shared by seed-replay batches.
+ * Identified by the SHA-256 of its payload, so batches generated from the same tier state
+ * share one row.
+ */
+@Entity
+@Table(
+        name = "batch_replay_snapshot",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_replay_snapshot_fingerprint", columnNames = {"fingerprint"})
+        }
+)
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchReplaySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 hex of payloadJson
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Lob
+    @Column(name = "payload_json", nullable = false)
+    private String payloadJson;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = Instant.now();
+    }
+}
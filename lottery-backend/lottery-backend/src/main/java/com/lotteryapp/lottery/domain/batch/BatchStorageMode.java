@@ -0,0 +1,14 @@
+package com.lotteryapp.lottery.domain.batch;
+
+public enum BatchStorageMode {
+    /**
+     * One Ticket row (plus TicketPick rows) per generated ticket.
+     */
+    TICKETS,
+
+    /**
+     * No Ticket rows: specs, seed, engine version and a tier-input snapshot are stored
+     * and tickets are regenerated on read.
+     */
+    SEED_REPLAY
+}
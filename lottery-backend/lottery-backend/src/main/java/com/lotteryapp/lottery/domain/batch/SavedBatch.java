@@ -43,6 +43,26 @@ public class SavedBatch {
     @Builder.Default
     private Boolean checked = false;
 
+    // null is treated as TICKETS (rows saved before storage modes existed)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_mode", length = 20)
+    private BatchStorageMode storageMode;
+
+    // SEED_REPLAY only: engine seed/version, spec list + options, and the tier-input snapshot
+    @Column(name = "random_seed")
+    private Long randomSeed;
+
+    @Column(name = "engine_version")
+    private Integer engineVersion;
+
+    @Lob
+    @Column(name = "replay_plan_json")
+    private String replayPlanJson;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "replay_snapshot_id")
+    private BatchReplaySnapshot replaySnapshot;
+
     @OneToMany(mappedBy = "savedBatch", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("specNumber ASC, ticketNumber ASC")
     @Builder.Default
@@ -67,6 +87,11 @@ public class SavedBatch {
         return BatchStatus.NONE;
     }
 
+    @Transient
+    public boolean isSeedReplay() {
+        return storageMode == BatchStorageMode.SEED_REPLAY;
+    }
+
     @PrePersist
     void prePersist() {
         Instant now = Instant.now();
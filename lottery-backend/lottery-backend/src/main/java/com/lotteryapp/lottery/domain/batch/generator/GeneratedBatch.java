@@ -8,6 +8,9 @@ public class GeneratedBatch {
     private final List<GeneratedSpecResult> specResults = new ArrayList<>();
     private final List<String> warnings = new ArrayList<>();
 
+    // seed the batch was generated with (options.randomSeed, or a fresh one)
+    private Long randomSeed;
+
     public List<GeneratedSpecResult> getSpecResults() {
         return specResults;
     }
@@ -16,6 +19,14 @@ public class GeneratedBatch {
         return warnings;
     }
 
+    public Long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(Long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
     public void addSpecResult(GeneratedSpecResult specResult) {
         specResults.add(specResult);
     }
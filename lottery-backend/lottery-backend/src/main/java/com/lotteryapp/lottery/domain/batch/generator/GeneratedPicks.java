@@ -1,8 +1,10 @@
 package com.lotteryapp.lottery.domain.batch.generator;
 
-import java.util.List;
-
+/**
+ * One ticket's numbers. Arrays are copies owned by this record; boxing to List&lt;Integer&gt;
+ * happens only at the response boundary.
+ */
 public record GeneratedPicks(
-        List<Integer> white,
-        List<Integer> red
+        int[] white,
+        int[] red
 ) {}
@@ -1,6 +1,8 @@
 package com.lotteryapp.lottery.domain.batch.generator;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class GeneratedSpecResult {
@@ -13,7 +15,13 @@ public class GeneratedSpecResult {
 
     private final boolean excludeLastDrawNumbers;
 
-    private final List<GeneratedSpecTicket> tickets = new ArrayList<>();
+    // Tickets are stored flat: all numbers in one int[], plus one packed long per ticket
+    // (offset << 32 | whiteLen << 16 | redLen). No per-ticket objects until getTickets() is read.
+    private int[] numbers = new int[0];
+    private int numbersUsed;
+    private long[] ticketIndex = new long[0];
+    private int ticketsStored;
+
     private final List<String> warnings = new ArrayList<>();
 
     public GeneratedSpecResult(
@@ -36,14 +44,80 @@ public class GeneratedSpecResult {
     public Long getRedGroupId() { return redGroupId; }
     public boolean isExcludeLastDrawNumbers() { return excludeLastDrawNumbers; }
 
-    public List<GeneratedSpecTicket> getTickets() { return tickets; }
+    /**
+     * Read-only view; each element is materialized on access.
+     */
+    public List<GeneratedSpecTicket> getTickets() {
+        return new AbstractList<>() {
+            @Override
+            public GeneratedSpecTicket get(int index) {
+                return ticketAt(index);
+            }
+
+            @Override
+            public int size() {
+                return ticketsStored;
+            }
+        };
+    }
+
     public List<String> getWarnings() { return warnings; }
 
-    public void addTicket(GeneratedSpecTicket ticket) {
-        tickets.add(ticket);
+    /**
+     * Pre-sizes storage for ticketCount tickets of numbersPerTicket numbers each.
+     */
+    void reserve(int numbersPerTicket) {
+        long needed = (long) ticketCount * Math.max(0, numbersPerTicket);
+        if (needed > numbers.length && needed <= Integer.MAX_VALUE) {
+            numbers = Arrays.copyOf(numbers, (int) needed);
+        }
+        if (ticketCount > ticketIndex.length) {
+            ticketIndex = Arrays.copyOf(ticketIndex, ticketCount);
+        }
+    }
+
+    /**
+     * Copies one ticket out of the engine's scratch buffers.
+     */
+    void addTicket(int[] white, int whiteLen, int[] red, int redLen) {
+        ensureNumbers(numbersUsed + whiteLen + redLen);
+        if (ticketsStored == ticketIndex.length) {
+            ticketIndex = Arrays.copyOf(ticketIndex, Math.max(16, ticketIndex.length * 2));
+        }
+
+        int offset = numbersUsed;
+        System.arraycopy(white, 0, numbers, numbersUsed, whiteLen);
+        numbersUsed += whiteLen;
+        System.arraycopy(red, 0, numbers, numbersUsed, redLen);
+        numbersUsed += redLen;
+
+        ticketIndex[ticketsStored++] = ((long) offset << 32) | ((long) whiteLen << 16) | redLen;
     }
 
+    /**
+     * Identical messages are kept once; per-ticket fallbacks would otherwise grow
+     * the list with ticketCount.
+     */
     public void warn(String message) {
-        warnings.add(message);
+        if (!warnings.contains(message)) warnings.add(message);
+    }
+
+    private GeneratedSpecTicket ticketAt(int index) {
+        if (index < 0 || index >= ticketsStored) throw new IndexOutOfBoundsException(index);
+
+        long packed = ticketIndex[index];
+        int offset = (int) (packed >>> 32);
+        int whiteLen = (int) ((packed >>> 16) & 0xFFFF);
+        int redLen = (int) (packed & 0xFFFF);
+
+        int[] white = Arrays.copyOfRange(numbers, offset, offset + whiteLen);
+        int[] red = Arrays.copyOfRange(numbers, offset + whiteLen, offset + whiteLen + redLen);
+
+        return new GeneratedSpecTicket(index + 1, new GeneratedPicks(white, red));
+    }
+
+    private void ensureNumbers(int required) {
+        if (required <= numbers.length) return;
+        numbers = Arrays.copyOf(numbers, Math.max(required, Math.max(64, numbers.length * 2)));
     }
 }
@@ -0,0 +1,13 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+/**
+ * Receives tickets as the engine produces them (streaming generation).
+ *
+ * white/red are the engine's scratch buffers: only [0..len) is valid, and the
+ * contents are overwritten by the next ticket, so copy or write them out immediately.
+ */
+@FunctionalInterface
+public interface GeneratedTicketSink {
+
+    void accept(int specNumber, int ticketNumber, int[] white, int whiteLen, int[] red, int redLen);
+}
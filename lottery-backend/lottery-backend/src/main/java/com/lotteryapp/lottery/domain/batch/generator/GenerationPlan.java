@@ -0,0 +1,26 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything ticket generation needs for one game mode, resolved once and reused across requests:
+ * rules + compiled tier pools (in ctx), the game's ticket groups by id, and the latest winning
+ * numbers used by excludeLastDrawNumbers.
+ *
+ * Shared by concurrent requests: groups are GroupSnapshot values (never entities), the
+ * collections are immutable copies and ctx.rules() is detached; treat every field as read-only.
+ */
+public record GenerationPlan(
+        Long gameModeId,
+        GeneratorContext ctx,
+        Map<Long, GroupSnapshot> groupsById,
+        Set<Integer> latestWhite,
+        Set<Integer> latestRed
+) {
+    public GenerationPlan {
+        groupsById = Map.copyOf(groupsById);
+        latestWhite = Set.copyOf(latestWhite);
+        latestRed = Set.copyOf(latestRed);
+    }
+}
@@ -2,17 +2,45 @@ package com.lotteryapp.lottery.domain.batch.generator;
 
 import com.lotteryapp.lottery.domain.gamemode.Rules;
 import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
 
 import java.util.List;
 
 public record GeneratorContext(
         Rules rules,
-        List<NumberBall> whiteBalls,
-        List<NumberBall> redBalls,
+        TierPool whitePool,
+        TierPool redPool,
         GeneratorOptions options
 ) {
     public GeneratorContext {
         if (rules == null) throw new IllegalArgumentException("rules is required");
         if (options == null) options = GeneratorOptions.defaults();
     }
+
+    /**
+     * Compiles both pools from NumberBalls using options.temperature.
+     */
+    public GeneratorContext(Rules rules, List<NumberBall> whiteBalls, List<NumberBall> redBalls, GeneratorOptions options) {
+        this(
+                rules,
+                TierPool.compile(whiteBalls, temperatureOf(options)),
+                TierPool.compile(redBalls, temperatureOf(options)),
+                options
+        );
+    }
+
+    /**
+     * Same rules and compiled pools with other options (pools keep their compiled temperature).
+     */
+    public GeneratorContext withOptions(GeneratorOptions options) {
+        return new GeneratorContext(rules, whitePool, redPool, options);
+    }
+
+    public TierPool poolFor(PoolType poolType) {
+        return poolType == PoolType.WHITE ? whitePool : redPool;
+    }
+
+    private static double temperatureOf(GeneratorOptions options) {
+        return (options == null ? GeneratorOptions.defaults() : options).temperature();
+    }
 }
@@ -3,9 +3,24 @@ package com.lotteryapp.lottery.domain.batch.generator;
 public record GeneratorOptions(
         double temperature,
         double alpha,
-        Long randomSeed
+        Long randomSeed,
+        boolean parallel,
+        TicketUniqueness uniqueness
 ) {
+    public GeneratorOptions {
+        if (uniqueness == null) uniqueness = TicketUniqueness.NONE;
+    }
+
+    // sequential: request threads should not fan out onto a shared pool unless a caller opts in
     public static GeneratorOptions defaults() {
-        return new GeneratorOptions(1.75, 0.30, null);
+        return new GeneratorOptions(1.75, 0.30, null, false, TicketUniqueness.NONE);
+    }
+
+    public GeneratorOptions withUniqueness(TicketUniqueness uniqueness) {
+        return new GeneratorOptions(temperature, alpha, randomSeed, parallel, uniqueness);
+    }
+
+    public GeneratorOptions withRandomSeed(Long randomSeed) {
+        return new GeneratorOptions(temperature, alpha, randomSeed, parallel, uniqueness);
     }
 }
@@ -0,0 +1,39 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import com.lotteryapp.lottery.domain.group.GroupMode;
+import com.lotteryapp.lottery.domain.group.TicketGroup;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+
+/**
+ * The TicketGroup fields ticket generation reads, as an immutable value. Cached plans and saved
+ * replay snapshots hold these instead of entities; toGroup() builds a fresh transient TicketGroup
+ * for the engine.
+ */
+public record GroupSnapshot(
+        Long id,
+        PoolType poolType,
+        GroupMode groupMode,
+        Integer hotCount,
+        Integer midCount,
+        Integer coldCount,
+        Integer hotPct,
+        Integer midPct,
+        Integer coldPct
+) {
+    public static GroupSnapshot of(TicketGroup g) {
+        if (g == null) return null;
+        return new GroupSnapshot(
+                g.getId(), g.getPoolType(), g.getGroupMode(),
+                g.getHotCount(), g.getMidCount(), g.getColdCount(),
+                g.getHotPct(), g.getMidPct(), g.getColdPct()
+        );
+    }
+
+    public TicketGroup toGroup() {
+        return TicketGroup.builder()
+                .id(id).poolType(poolType).groupMode(groupMode)
+                .hotCount(hotCount).midCount(midCount).coldCount(coldCount)
+                .hotPct(hotPct).midPct(midPct).coldPct(coldPct)
+                .build();
+    }
+}
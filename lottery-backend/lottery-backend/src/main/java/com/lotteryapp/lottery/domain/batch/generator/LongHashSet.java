@@ -0,0 +1,86 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+/**
+ * Open-addressing (linear probing) set of non-negative longs, e.g. TicketRankCodec ranks.
+ * No boxing; 0 marks an empty slot, so values are stored as value + 1.
+ *
+ * Not thread-safe.
+ */
+final class LongHashSet {
+
+    private long[] slots;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long value) {
+        long stored = toStored(value);
+        int i = indexFor(stored);
+        while (true) {
+            long s = slots[i];
+            if (s == 0) return false;
+            if (s == stored) return true;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * @return true if value was not present
+     */
+    boolean add(long value) {
+        long stored = toStored(value);
+        int i = indexFor(stored);
+        while (true) {
+            long s = slots[i];
+            if (s == 0) break;
+            if (s == stored) return false;
+            i = (i + 1) & mask;
+        }
+
+        slots[i] = stored;
+        if (++size > resizeAt) rehash(slots.length << 1);
+        return true;
+    }
+
+    private static long toStored(long value) {
+        if (value < 0 || value == Long.MAX_VALUE) throw new IllegalArgumentException("value out of range: " + value);
+        return value + 1;
+    }
+
+    // murmur3 fmix64; ranks are dense, so spread them before masking
+    private int indexFor(long stored) {
+        long h = stored;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >> 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        allocate(capacity);
+        for (long stored : old) {
+            if (stored == 0) continue;
+            int i = indexFor(stored);
+            while (slots[i] != 0) i = (i + 1) & mask;
+            slots[i] = stored;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Fixed-size bitset over pool number values 0..maxValue (one bit per number, 64 per word).
+ *
+ * Used for exclusions, tier membership and already-picked tracking so that filtering is
+ * word-level AND / AND-NOT and membership is a single bit test, with no boxed collections.
+ * Values outside the range are ignored by add/remove and never contained.
+ */
+final class NumberMask {
+
+    private final long[] words;
+    private final int maxValue;
+
+    NumberMask(int maxValue) {
+        this.maxValue = Math.max(-1, maxValue);
+        this.words = new long[(this.maxValue >> 6) + 1];
+    }
+
+    static NumberMask range(int min, int max) {
+        NumberMask mask = new NumberMask(max);
+        for (int v = Math.max(0, min); v <= max; v++) mask.add(v);
+        return mask;
+    }
+
+    /**
+     * Mask sized to the largest value in the set.
+     */
+    static NumberMask of(Set<Integer> values) {
+        int maxValue = -1;
+        if (values != null) {
+            for (Integer v : values) {
+                if (v != null) maxValue = Math.max(maxValue, v);
+            }
+        }
+
+        NumberMask mask = new NumberMask(maxValue);
+        if (values != null) {
+            for (Integer v : values) {
+                if (v != null) mask.add(v);
+            }
+        }
+        return mask;
+    }
+
+    int maxValue() {
+        return maxValue;
+    }
+
+    boolean contains(int value) {
+        if (value < 0 || value > maxValue) return false;
+        return (words[value >> 6] & (1L << value)) != 0;
+    }
+
+    void add(int value) {
+        if (value < 0 || value > maxValue) return;
+        words[value >> 6] |= 1L << value;
+    }
+
+    void remove(int value) {
+        if (value < 0 || value > maxValue) return;
+        words[value >> 6] &= ~(1L << value);
+    }
+
+    void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * this = this AND NOT other
+     */
+    NumberMask andNot(NumberMask other) {
+        int n = Math.min(words.length, other.words.length);
+        for (int i = 0; i < n; i++) words[i] &= ~other.words[i];
+        return this;
+    }
+
+    NumberMask copy() {
+        NumberMask out = new NumberMask(maxValue);
+        System.arraycopy(words, 0, out.words, 0, words.length);
+        return out;
+    }
+
+    int cardinality() {
+        int n = 0;
+        for (long w : words) n += Long.bitCount(w);
+        return n;
+    }
+
+    /**
+     * Set values in ascending order.
+     */
+    int[] toArray() {
+        int[] out = new int[cardinality()];
+        int n = 0;
+        for (int i = 0; i < words.length; i++) {
+            long w = words[i];
+            while (w != 0) {
+                out[n++] = (i << 6) + Long.numberOfTrailingZeros(w);
+                w &= w - 1;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Word i of (this AND other); lets callers walk an intersection without materializing it.
+     */
+    long intersectionWord(NumberMask other, int i) {
+        if (i >= words.length || i >= other.words.length) return 0L;
+        return words[i] & other.words[i];
+    }
+
+    int wordCount() {
+        return words.length;
+    }
+}
@@ -3,59 +3,131 @@ package com.lotteryapp.lottery.domain.batch.generator;
 import com.lotteryapp.lottery.domain.gamemode.Rules;
 import com.lotteryapp.lottery.domain.group.GroupMode;
 import com.lotteryapp.lottery.domain.group.TicketGroup;
-import com.lotteryapp.lottery.domain.numbers.NumberBall;
 import com.lotteryapp.lottery.domain.numbers.PoolType;
 import com.lotteryapp.lottery.domain.numbers.Tier;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
 
 public class TicketGeneratorEngine {
 
+    /**
+     * Bumped whenever the same (inputs, seed) would produce different tickets.
+     * Seed-replay batches record it and refuse to replay under another version.
+     */
+    public static final int VERSION = 1;
+
+    // regenerations per ticket before a duplicate is accepted (only when the space is nearly exhausted)
+    private static final int MAX_UNIQUE_ATTEMPTS = 64;
+
+    private final ForkJoinPool pool;
+
+    public TicketGeneratorEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TicketGeneratorEngine(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
     /**
      * Generate preview-only tickets grouped by specResults.
      * No DB ids are produced here.
+     *
+     * Every spec draws from its own SplittableRandom, split from the root seed in spec order
+     * before any work starts. Output therefore depends only on randomSeed, not on whether
+     * specs run sequentially or in parallel (options.parallel) or on thread scheduling.
+     * Batch-wide uniqueness shares one seen-set, so specs then always run sequentially.
      */
     public GeneratedBatch generate(GeneratorContext ctx, List<GeneratorSpec> specs) {
         Objects.requireNonNull(ctx, "ctx");
         if (specs == null || specs.isEmpty()) throw new IllegalArgumentException("specs is required");
 
-        Random rng = (ctx.options().randomSeed() == null)
-                ? new Random()
-                : new Random(ctx.options().randomSeed());
+        long seed = resolveSeed(ctx);
+        SplittableRandom root = new SplittableRandom(seed);
+        TicketRankCodec codec = codecFor(ctx);
+        LongHashSet batchSeen = batchSeenFor(ctx, codec);
 
-        GeneratedBatch out = new GeneratedBatch();
+        List<SplittableRandom> specRngs = new ArrayList<>(specs.size());
+        for (int s = 0; s < specs.size(); s++) specRngs.add(root.split());
 
+        GeneratedSpecResult[] results = new GeneratedSpecResult[specs.size()];
+
+        if (ctx.options().parallel() && batchSeen == null && specs.size() > 1) {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(specs.size());
+            for (int s = 0; s < specs.size(); s++) {
+                int idx = s;
+                tasks.add(pool.submit(() -> {
+                    results[idx] = generateSpec(ctx, specs.get(idx), idx + 1, specRngs.get(idx), codec, null, null);
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) task.join();
+        } else {
+            for (int s = 0; s < specs.size(); s++) {
+                results[s] = generateSpec(ctx, specs.get(s), s + 1, specRngs.get(s), codec, batchSeen, null);
+            }
+        }
+
+        return assemble(results, seed);
+    }
+
+    /**
+     * Streaming variant: tickets are handed to sink one by one and NOT stored, so memory stays
+     * flat regardless of ticketCount. Specs run sequentially (sink sees tickets in order).
+     *
+     * The returned batch carries spec results with warnings only (getTickets() is empty).
+     * For the same randomSeed the tickets are identical to generate(ctx, specs).
+     */
+    public GeneratedBatch generate(GeneratorContext ctx, List<GeneratorSpec> specs, GeneratedTicketSink sink) {
+        Objects.requireNonNull(ctx, "ctx");
+        Objects.requireNonNull(sink, "sink");
+        if (specs == null || specs.isEmpty()) throw new IllegalArgumentException("specs is required");
+
+        long seed = resolveSeed(ctx);
+        SplittableRandom root = new SplittableRandom(seed);
+        TicketRankCodec codec = codecFor(ctx);
+        LongHashSet batchSeen = batchSeenFor(ctx, codec);
+
+        GeneratedSpecResult[] results = new GeneratedSpecResult[specs.size()];
         for (int s = 0; s < specs.size(); s++) {
-            int specNumber = s + 1;
-            GeneratorSpec spec = specs.get(s);
-
-            GeneratedSpecResult specOut = new GeneratedSpecResult(
-                    specNumber,
-                    spec.ticketCount(),
-                    spec.whiteGroupId(),
-                    spec.redGroupId(),
-                    spec.excludeLastDrawNumbers()
-            );
+            results[s] = generateSpec(ctx, specs.get(s), s + 1, root.split(), codec, batchSeen, sink);
+        }
 
-            // usedCounts resets PER SPEC (anti-dominance per spec)
-            Map<PoolType, Map<Integer, Integer>> usedCounts = new EnumMap<>(PoolType.class);
-            usedCounts.put(PoolType.WHITE, new HashMap<>());
-            usedCounts.put(PoolType.RED, new HashMap<>());
+        return assemble(results, seed);
+    }
 
-            for (int t = 1; t <= spec.ticketCount(); t++) {
-                List<Integer> whites = generatePool(ctx, spec, PoolType.WHITE, rng, usedCounts, specOut);
-                List<Integer> reds = generatePool(ctx, spec, PoolType.RED, rng, usedCounts, specOut);
+    // Unseeded runs still get a concrete seed, reported on the batch so they can be replayed.
+    private long resolveSeed(GeneratorContext ctx) {
+        return (ctx.options().randomSeed() == null)
+                ? new SplittableRandom().nextLong()
+                : ctx.options().randomSeed();
+    }
 
-                specOut.addTicket(new GeneratedSpecTicket(
-                        t,
-                        new GeneratedPicks(whites, reds)
-                ));
-            }
+    // null when uniqueness is off or the rules' ticket space does not fit in a long
+    private TicketRankCodec codecFor(GeneratorContext ctx) {
+        if (ctx.options().uniqueness() == TicketUniqueness.NONE) return null;
+        try {
+            return TicketRankCodec.forRules(ctx.rules());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 
+    private LongHashSet batchSeenFor(GeneratorContext ctx, TicketRankCodec codec) {
+        if (codec == null || ctx.options().uniqueness() != TicketUniqueness.BATCH) return null;
+        return new LongHashSet(1024);
+    }
+
+    private GeneratedBatch assemble(GeneratedSpecResult[] results, long seed) {
+        GeneratedBatch out = new GeneratedBatch();
+        out.setRandomSeed(seed);
+
+        for (GeneratedSpecResult specOut : results) {
             // Promote spec warnings to batch warnings (helps UI show “something happened”)
             if (!specOut.getWarnings().isEmpty()) {
-                out.warn("Spec " + specNumber + ": one or more pools relaxed exclusions or fell back to quick pick.");
+                out.warn("Spec " + specOut.getSpecNumber() + ": one or more pools relaxed exclusions or fell back to quick pick.");
             }
 
             out.addSpecResult(specOut);
@@ -64,12 +136,115 @@ public class TicketGeneratorEngine {
         return out;
     }
 
-    private List<Integer> generatePool(
+    /**
+     * Generates all tickets of one spec. Touches no state shared with other specs
+     * (ctx and spec are only read), so specs can run on different threads.
+     * With a sink, tickets are passed on instead of stored in the result.
+     *
+     * Uniqueness: a ticket whose rank was already seen (this spec, or the batch when batchSeen
+     * is given) is regenerated, up to MAX_UNIQUE_ATTEMPTS times. The diminishing-returns updates
+     * of a rejected attempt are undone first, so weights only reflect kept tickets and do not
+     * depend on how many collisions happened.
+     */
+    private GeneratedSpecResult generateSpec(
+            GeneratorContext ctx,
+            GeneratorSpec spec,
+            int specNumber,
+            RandomGenerator rng,
+            TicketRankCodec codec,
+            LongHashSet batchSeen,
+            GeneratedTicketSink sink
+    ) {
+        GeneratedSpecResult specOut = new GeneratedSpecResult(
+                specNumber,
+                spec.ticketCount(),
+                spec.whiteGroupId(),
+                spec.redGroupId(),
+                spec.excludeLastDrawNumbers()
+        );
+
+        // Pool plans (and their samplers / usedCounts) are built PER SPEC (anti-dominance per spec)
+        PoolPlan whitePlan = planPool(ctx, spec, PoolType.WHITE, specOut);
+        PoolPlan redPlan = planPool(ctx, spec, PoolType.RED, specOut);
+
+        if (sink == null) specOut.reserve(whitePlan.pickCount + redPlan.pickCount);
+
+        LongHashSet seen = seenFor(ctx, spec, codec, batchSeen, specOut);
+
+        for (int t = 1; t <= spec.ticketCount(); t++) {
+            for (int attempt = 1; ; attempt++) {
+                generatePool(whitePlan, rng, specOut);
+                generatePool(redPlan, rng, specOut);
+
+                if (seen == null) break;
+
+                long rank = codec.rank(
+                        whitePlan.picks.values, whitePlan.picks.size,
+                        redPlan.picks.values, redPlan.picks.size
+                );
+                // incomplete tickets (rank < 0) cannot collide with valid ones
+                if (rank < 0 || seen.add(rank)) break;
+
+                if (attempt >= MAX_UNIQUE_ATTEMPTS) {
+                    specOut.warn("Unable to find a unique ticket; some tickets are duplicates.");
+                    break;
+                }
+
+                whitePlan.picks.undoMarks();
+                redPlan.picks.undoMarks();
+            }
+            whitePlan.picks.keepMarks();
+            redPlan.picks.keepMarks();
+
+            if (sink == null) {
+                specOut.addTicket(
+                        whitePlan.picks.values, whitePlan.picks.size,
+                        redPlan.picks.values, redPlan.picks.size
+                );
+            } else {
+                sink.accept(
+                        specNumber, t,
+                        whitePlan.picks.values, whitePlan.picks.size,
+                        redPlan.picks.values, redPlan.picks.size
+                );
+            }
+        }
+
+        return specOut;
+    }
+
+    private LongHashSet seenFor(
+            GeneratorContext ctx,
+            GeneratorSpec spec,
+            TicketRankCodec codec,
+            LongHashSet batchSeen,
+            GeneratedSpecResult specOut
+    ) {
+        TicketUniqueness uniqueness = ctx.options().uniqueness();
+        if (uniqueness == TicketUniqueness.NONE) return null;
+
+        if (codec == null) {
+            specOut.warn("Uniqueness is not available for these rules; duplicates are possible.");
+            return null;
+        }
+
+        long alreadySeen = (batchSeen == null) ? 0 : batchSeen.size();
+        if (alreadySeen + spec.ticketCount() > codec.space()) {
+            specOut.warn("ticketCount exceeds the number of distinct tickets; duplicates are unavoidable.");
+        }
+
+        return (batchSeen != null) ? batchSeen : new LongHashSet(Math.min(spec.ticketCount(), 1 << 20));
+    }
+
+    /**
+     * Resolves everything about a pool that does not change between tickets of one spec:
+     * rules, exclusions, candidates, group targets and the tier samplers.
+     * Warnings that depend only on these inputs are reported here, once per spec.
+     */
+    private PoolPlan planPool(
             GeneratorContext ctx,
             GeneratorSpec spec,
             PoolType poolType,
-            Random rng,
-            Map<PoolType, Map<Integer, Integer>> usedCounts,
             GeneratedSpecResult specOut
     ) {
         Rules rules = ctx.rules();
@@ -78,147 +253,186 @@ public class TicketGeneratorEngine {
         int max = (poolType == PoolType.WHITE) ? rules.getWhiteMax() : safeInt(rules.getRedMax());
         int pickCount = (poolType == PoolType.WHITE) ? rules.getWhitePickCount() : safeInt(rules.getRedPickCount());
 
-        if (pickCount <= 0) return List.of();
-
         boolean ordered = (poolType == PoolType.WHITE) ? bool(rules.getWhiteOrdered()) : bool(rules.getRedOrdered());
         boolean allowRepeats = (poolType == PoolType.WHITE) ? bool(rules.getWhiteAllowRepeats()) : bool(rules.getRedAllowRepeats());
 
-        Set<Integer> excluded = spec.excludedFor(poolType);
+        // picked-number bitsets must also cover tier-list values outside the rules range
+        TierPool tierPool = ctx.poolFor(poolType);
+        int maxValue = (tierPool == null) ? max : Math.max(max, tierPool.maxValue());
+
+        PoolPlan plan = new PoolPlan(poolType, Math.max(0, pickCount), maxValue, ordered, allowRepeats);
+        if (pickCount <= 0) return plan;
+
+        NumberMask excluded = NumberMask.of(spec.excludedFor(poolType));
 
         // Decide per pool:
         // - if group missing => quick pick
         // - if group present => weighted for this pool
         TicketGroup group = spec.groupFor(poolType);
         if (group == null) {
-            return quickPick(min, max, pickCount, allowRepeats, ordered, excluded, rng, specOut, poolType);
+            return plan.quickPick(quickPickCandidates(min, max, pickCount, allowRepeats, excluded, specOut, poolType));
         }
 
         if (group.getPoolType() != poolType) {
             specOut.warn(poolType + ": group poolType mismatch; falling back to quick pick for this pool.");
-            return quickPick(min, max, pickCount, allowRepeats, ordered, excluded, rng, specOut, poolType);
+            return plan.quickPick(quickPickCandidates(min, max, pickCount, allowRepeats, excluded, specOut, poolType));
         }
 
-        List<NumberBall> balls = (poolType == PoolType.WHITE) ? ctx.whiteBalls() : ctx.redBalls();
-        if (balls == null) {
+        if (tierPool == null) {
             specOut.warn(poolType + ": tier list missing; falling back to quick pick for this pool.");
-            return quickPick(min, max, pickCount, allowRepeats, ordered, excluded, rng, specOut, poolType);
+            return plan.quickPick(quickPickCandidates(min, max, pickCount, allowRepeats, excluded, specOut, poolType));
         }
 
-        TierBuckets buckets = TierBuckets.fromNumberBalls(balls, excluded);
+        TierBuckets buckets = TierBuckets.fromPool(tierPool, excluded, ctx.options());
 
         // If Hot+Mid empty, treat as quick pick for this pool
         if (buckets.hot.isEmpty() && buckets.mid.isEmpty()) {
             specOut.warn(poolType + ": Hot+Mid empty; treating pool as quick pick (all cold).");
-            return quickPick(min, max, pickCount, allowRepeats, ordered, excluded, rng, specOut, poolType);
+            return plan.quickPick(quickPickCandidates(min, max, pickCount, allowRepeats, excluded, specOut, poolType));
         }
 
+        plan.buckets = buckets;
+        plan.bucketCandidates = buckets.allValues();
+
         if (group.getGroupMode() == GroupMode.COUNT) {
-            return groupWeightedCount(
-                    poolType, pickCount, allowRepeats, ordered,
-                    group, buckets, rng, usedCounts.get(poolType), ctx.options(), specOut
-            );
+            int hotN = safeNullable(group.getHotCount());
+            int midN = safeNullable(group.getMidCount());
+            int coldN = safeNullable(group.getColdCount());
+
+            if (hotN + midN + coldN != pickCount) {
+                specOut.warn(poolType + ": COUNT group does not match pickCount; attempting tier fall-down fill.");
+            }
+
+            plan.mode = PoolMode.COUNT;
+            plan.hotN = hotN;
+            plan.midN = midN;
+            plan.coldN = coldN;
+            plan.picks = new PickBuffer(Math.max(pickCount, hotN + midN + coldN), maxValue);
+            return plan;
         }
 
-        return groupWeightedPercent(
-                poolType, pickCount, allowRepeats, ordered,
-                group, buckets, rng, usedCounts.get(poolType), ctx.options(), specOut
-        );
+        int hotPct = clampPct(group.getHotPct());
+        int midPct = clampPct(group.getMidPct());
+        int coldPct = clampPct(group.getColdPct());
+
+        if (hotPct + midPct + coldPct != 100) {
+            specOut.warn(poolType + ": PERCENT group does not sum to 100; renormalizing.");
+            int sum = hotPct + midPct + coldPct;
+            if (sum <= 0) {
+                specOut.warn(poolType + ": all percentages are 0; treating pool as quick pick (all cold).");
+                plan.mode = PoolMode.BUCKET_QUICK_PICK;
+                return plan;
+            }
+            hotPct = (int) Math.round(hotPct * 100.0 / sum);
+            midPct = (int) Math.round(midPct * 100.0 / sum);
+        }
+
+        plan.mode = PoolMode.PERCENT;
+        plan.hotPct = hotPct;
+        plan.midPct = midPct;
+        return plan;
+    }
+
+    /**
+     * Fills plan.picks with one ticket's numbers for this pool.
+     */
+    private void generatePool(PoolPlan plan, RandomGenerator rng, GeneratedSpecResult specOut) {
+        plan.picks.clear();
+        if (plan.pickCount <= 0) return;
+
+        switch (plan.mode) {
+            case QUICK_PICK -> quickPick(plan, rng);
+            case BUCKET_QUICK_PICK -> quickPickFallbackFromBuckets(plan, rng, specOut);
+            case COUNT -> groupWeightedCount(plan, rng, specOut);
+            case PERCENT -> groupWeightedPercent(plan, rng, specOut);
+        }
+
+        // Sorting rule:
+        // ordered=true => sort ascending
+        if (plan.ordered) plan.picks.sort();
     }
 
     // -------------------------
     // QUICK PICK
     // -------------------------
 
-    private List<Integer> quickPick(
+    private int[] quickPickCandidates(
             int min,
             int max,
             int pickCount,
             boolean allowRepeats,
-            boolean ordered,
-            Set<Integer> excluded,
-            Random rng,
+            NumberMask excluded,
             GeneratedSpecResult specOut,
             PoolType poolType
     ) {
-        List<Integer> candidates = new ArrayList<>();
-        for (int v = min; v <= max; v++) {
-            if (!excluded.contains(v)) candidates.add(v);
+        NumberMask range = NumberMask.range(min, max);
+        int[] candidates = range.copy().andNot(excluded).toArray();
+        int n = candidates.length;
+
+        if ((!allowRepeats && n < pickCount) || n == 0) {
+            specOut.warn(n == 0
+                    ? poolType + ": no candidates available; relaxing exclusions for this pool."
+                    : poolType + ": exclusions made quick pick impossible; relaxing exclusions for this pool.");
+            candidates = range.toArray();
         }
 
-        if (!allowRepeats && candidates.size() < pickCount) {
-            specOut.warn(poolType + ": exclusions made quick pick impossible; relaxing exclusions for this pool.");
-            candidates.clear();
-            for (int v = min; v <= max; v++) candidates.add(v);
-        }
+        return candidates;
+    }
 
-        if (candidates.isEmpty()) {
-            specOut.warn(poolType + ": no candidates available; relaxing exclusions for this pool.");
-            for (int v = min; v <= max; v++) candidates.add(v);
-        }
+    private void quickPick(PoolPlan plan, RandomGenerator rng) {
+        drawUniform(plan.quickPickCandidates, plan.pickCount, plan.allowRepeats, plan.picks, rng);
+    }
 
-        List<Integer> picks = new ArrayList<>(pickCount);
+    /**
+     * Uniform pick of pickCount values from candidates into out.
+     * Without repeats this is a partial Fisher–Yates shuffle of the (reused) candidates array,
+     * so no per-ticket list is built or fully shuffled.
+     */
+    private static void drawUniform(int[] candidates, int pickCount, boolean allowRepeats, PickBuffer out, RandomGenerator rng) {
+        int n = candidates.length;
+        if (n == 0) return;
 
         if (allowRepeats) {
             for (int i = 0; i < pickCount; i++) {
-                picks.add(candidates.get(rng.nextInt(candidates.size())));
+                out.add(candidates[rng.nextInt(n)]);
             }
-        } else {
-            Collections.shuffle(candidates, rng);
-            picks.addAll(candidates.subList(0, pickCount));
+            return;
         }
 
-        // Sorting rule:
-        // ordered=true => sort ascending
-        if (ordered) {
-            Collections.sort(picks);
+        int k = Math.min(pickCount, n);
+        for (int i = 0; i < k; i++) {
+            int j = i + rng.nextInt(n - i);
+            int tmp = candidates[i];
+            candidates[i] = candidates[j];
+            candidates[j] = tmp;
+            out.add(candidates[i]);
         }
-
-        return picks;
     }
 
     // -------------------------
     // GROUP WEIGHTED: COUNT
     // -------------------------
 
-    private List<Integer> groupWeightedCount(
-            PoolType poolType,
-            int pickCount,
-            boolean allowRepeats,
-            boolean ordered,
-            TicketGroup group,
-            TierBuckets buckets,
-            Random rng,
-            Map<Integer, Integer> usedCount,
-            GeneratorOptions options,
-            GeneratedSpecResult specOut
-    ) {
-        int hotN = safeNullable(group.getHotCount());
-        int midN = safeNullable(group.getMidCount());
-        int coldN = safeNullable(group.getColdCount());
-
-        if (hotN + midN + coldN != pickCount) {
-            specOut.warn(poolType + ": COUNT group does not match pickCount; attempting tier fall-down fill.");
-        }
-
-        List<Integer> picks = new ArrayList<>(pickCount);
+    private void groupWeightedCount(PoolPlan plan, RandomGenerator rng, GeneratedSpecResult specOut) {
+        PoolType poolType = plan.poolType;
+        boolean allowRepeats = plan.allowRepeats;
+        PickBuffer picks = plan.picks;
+        TierBuckets buckets = plan.buckets;
 
-        pickFromTierWithFallback(poolType, Tier.HOT, hotN, allowRepeats, picks, buckets, rng, usedCount, options, specOut);
-        pickFromTierWithFallback(poolType, Tier.MID, midN, allowRepeats, picks, buckets, rng, usedCount, options, specOut);
-        pickFromTierWithFallback(poolType, Tier.COLD, coldN, allowRepeats, picks, buckets, rng, usedCount, options, specOut);
+        pickFromTierWithFallback(poolType, Tier.HOT, plan.hotN, allowRepeats, picks, buckets, rng, specOut);
+        pickFromTierWithFallback(poolType, Tier.MID, plan.midN, allowRepeats, picks, buckets, rng, specOut);
+        pickFromTierWithFallback(poolType, Tier.COLD, plan.coldN, allowRepeats, picks, buckets, rng, specOut);
 
-        while (picks.size() < pickCount) {
-            boolean ok = pickOneWeighted(poolType, allowRepeats, picks, buckets.hot, rng, usedCount, options)
-                    || pickOneWeighted(poolType, allowRepeats, picks, buckets.mid, rng, usedCount, options)
-                    || pickOneWeighted(poolType, allowRepeats, picks, buckets.cold, rng, usedCount, options);
+        while (picks.size < plan.pickCount) {
+            boolean ok = pickOneWeighted(allowRepeats, picks, buckets.hot, rng)
+                    || pickOneWeighted(allowRepeats, picks, buckets.mid, rng)
+                    || pickOneWeighted(allowRepeats, picks, buckets.cold, rng);
 
             if (!ok) {
                 specOut.warn(poolType + ": unable to fill remaining picks; bucket candidates empty.");
                 break;
             }
         }
-
-        if (ordered) Collections.sort(picks);
-        return picks;
     }
 
     private void pickFromTierWithFallback(
@@ -226,26 +440,24 @@ public class TicketGeneratorEngine {
             Tier tier,
             int count,
             boolean allowRepeats,
-            List<Integer> picks,
+            PickBuffer picks,
             TierBuckets buckets,
-            Random rng,
-            Map<Integer, Integer> usedCount,
-            GeneratorOptions options,
+            RandomGenerator rng,
             GeneratedSpecResult specOut
     ) {
         for (int i = 0; i < count; i++) {
             boolean ok = switch (tier) {
-                case HOT -> pickOneWeighted(poolType, allowRepeats, picks, buckets.hot, rng, usedCount, options);
-                case MID -> pickOneWeighted(poolType, allowRepeats, picks, buckets.mid, rng, usedCount, options);
-                case COLD -> pickOneWeighted(poolType, allowRepeats, picks, buckets.cold, rng, usedCount, options);
+                case HOT -> pickOneWeighted(allowRepeats, picks, buckets.hot, rng);
+                case MID -> pickOneWeighted(allowRepeats, picks, buckets.mid, rng);
+                case COLD -> pickOneWeighted(allowRepeats, picks, buckets.cold, rng);
             };
 
             if (ok) continue;
 
             boolean fallbackOk = switch (tier) {
-                case HOT -> pickOneWeighted(poolType, allowRepeats, picks, buckets.mid, rng, usedCount, options)
-                        || pickOneWeighted(poolType, allowRepeats, picks, buckets.cold, rng, usedCount, options);
-                case MID -> pickOneWeighted(poolType, allowRepeats, picks, buckets.cold, rng, usedCount, options);
+                case HOT -> pickOneWeighted(allowRepeats, picks, buckets.mid, rng)
+                        || pickOneWeighted(allowRepeats, picks, buckets.cold, rng);
+                case MID -> pickOneWeighted(allowRepeats, picks, buckets.cold, rng);
                 case COLD -> false;
             };
 
@@ -260,59 +472,33 @@ public class TicketGeneratorEngine {
     // GROUP WEIGHTED: PERCENT
     // -------------------------
 
-    private List<Integer> groupWeightedPercent(
-            PoolType poolType,
-            int pickCount,
-            boolean allowRepeats,
-            boolean ordered,
-            TicketGroup group,
-            TierBuckets buckets,
-            Random rng,
-            Map<Integer, Integer> usedCount,
-            GeneratorOptions options,
-            GeneratedSpecResult specOut
-    ) {
-        int hotPct = clampPct(group.getHotPct());
-        int midPct = clampPct(group.getMidPct());
-        int coldPct = clampPct(group.getColdPct());
-
-        if (hotPct + midPct + coldPct != 100) {
-            specOut.warn(poolType + ": PERCENT group does not sum to 100; renormalizing.");
-            int sum = hotPct + midPct + coldPct;
-            if (sum <= 0) {
-                specOut.warn(poolType + ": all percentages are 0; treating pool as quick pick (all cold).");
-                return quickPickFallbackFromBuckets(poolType, pickCount, allowRepeats, ordered, buckets, rng, specOut);
-            }
-            hotPct = (int) Math.round(hotPct * 100.0 / sum);
-            midPct = (int) Math.round(midPct * 100.0 / sum);
-            coldPct = 100 - hotPct - midPct;
-        }
-
-        List<Integer> picks = new ArrayList<>(pickCount);
+    private void groupWeightedPercent(PoolPlan plan, RandomGenerator rng, GeneratedSpecResult specOut) {
+        boolean allowRepeats = plan.allowRepeats;
+        PickBuffer picks = plan.picks;
+        TierBuckets buckets = plan.buckets;
 
-        for (int i = 0; i < pickCount; i++) {
-            Tier chosen = rollTier(hotPct, midPct, rng);
+        for (int i = 0; i < plan.pickCount; i++) {
+            Tier chosen = rollTier(plan.hotPct, plan.midPct, rng);
 
             boolean ok = switch (chosen) {
-                case HOT -> pickOneWeighted(poolType, allowRepeats, picks, buckets.hot, rng, usedCount, options)
-                        || pickOneWeighted(poolType, allowRepeats, picks, buckets.mid, rng, usedCount, options)
-                        || pickOneWeighted(poolType, allowRepeats, picks, buckets.cold, rng, usedCount, options);
-                case MID -> pickOneWeighted(poolType, allowRepeats, picks, buckets.mid, rng, usedCount, options)
-                        || pickOneWeighted(poolType, allowRepeats, picks, buckets.cold, rng, usedCount, options);
-                case COLD -> pickOneWeighted(poolType, allowRepeats, picks, buckets.cold, rng, usedCount, options);
+                case HOT -> pickOneWeighted(allowRepeats, picks, buckets.hot, rng)
+                        || pickOneWeighted(allowRepeats, picks, buckets.mid, rng)
+                        || pickOneWeighted(allowRepeats, picks, buckets.cold, rng);
+                case MID -> pickOneWeighted(allowRepeats, picks, buckets.mid, rng)
+                        || pickOneWeighted(allowRepeats, picks, buckets.cold, rng);
+                case COLD -> pickOneWeighted(allowRepeats, picks, buckets.cold, rng);
             };
 
             if (!ok) {
-                specOut.warn(poolType + ": no candidates available while picking by percent; treating pool as quick pick.");
-                return quickPickFallbackFromBuckets(poolType, pickCount, allowRepeats, ordered, buckets, rng, specOut);
+                specOut.warn(plan.poolType + ": no candidates available while picking by percent; treating pool as quick pick.");
+                picks.clear();
+                quickPickFallbackFromBuckets(plan, rng, specOut);
+                return;
             }
         }
-
-        if (ordered) Collections.sort(picks);
-        return picks;
     }
 
-    private Tier rollTier(int hotPct, int midPct, Random rng) {
+    private Tier rollTier(int hotPct, int midPct, RandomGenerator rng) {
         int r = rng.nextInt(100);
         if (r < hotPct) return Tier.HOT;
         if (r < hotPct + midPct) return Tier.MID;
@@ -324,119 +510,169 @@ public class TicketGeneratorEngine {
     // -------------------------
 
     private boolean pickOneWeighted(
-            PoolType poolType,
             boolean allowRepeats,
-            List<Integer> currentPicks,
-            List<NumberBall> candidates,
-            Random rng,
-            Map<Integer, Integer> usedCount,
-            GeneratorOptions options
+            PickBuffer currentPicks,
+            WeightedSampler candidates,
+            RandomGenerator rng
     ) {
         if (candidates == null || candidates.isEmpty()) return false;
 
-        List<NumberBall> usable = candidates;
-        if (!allowRepeats) {
-            Set<Integer> already = new HashSet<>(currentPicks);
-            usable = candidates.stream()
-                    .filter(b -> !already.contains(b.getNumberValue()))
-                    .toList();
-            if (usable.isEmpty()) return false;
-        }
-
-        List<Double> weights = new ArrayList<>(usable.size());
-        for (NumberBall b : usable) {
-            double base = baseWeight(b);
-            double temp = WeightedPicker.applyTemperature(base, options.temperature());
-            int used = usedCount.getOrDefault(b.getNumberValue(), 0);
-            double eff = WeightedPicker.applyDiminishingReturns(temp, used, options.alpha());
-            weights.add(eff);
-        }
-
-        int idx = WeightedPicker.pickIndexByWeight(weights, rng);
+        int idx = (allowRepeats || currentPicks.size == 0)
+                ? candidates.pickIndex(rng)
+                : candidates.pickIndexExcluding(currentPicks.picked, rng);
         if (idx < 0) return false;
 
-        int value = usable.get(idx).getNumberValue();
-        currentPicks.add(value);
+        currentPicks.add(candidates.valueAt(idx));
 
-        usedCount.put(value, usedCount.getOrDefault(value, 0) + 1);
+        // diminishing returns: re-weight the picked number in place for the rest of the spec
+        currentPicks.markUsed(candidates, idx);
         return true;
     }
 
-    private double baseWeight(NumberBall b) {
-        int tierCount = (b.getTierCount() == null) ? 0 : b.getTierCount();
-        double base = 1.0 + tierCount;
+    private void quickPickFallbackFromBuckets(PoolPlan plan, RandomGenerator rng, GeneratedSpecResult specOut) {
+        if (!plan.allowRepeats && plan.bucketCandidates.length < plan.pickCount) {
+            specOut.warn(plan.poolType + ": not enough candidates even after fallback; cannot satisfy pickCount.");
+            return;
+        }
 
-        Tier tier = b.getTier();
-        if (tier == Tier.HOT) return base * 3.0;
-        if (tier == Tier.MID) return base * 1.7;
-        return base * 1.0;
+        drawUniform(plan.bucketCandidates, plan.pickCount, plan.allowRepeats, plan.picks, rng);
     }
 
-    private List<Integer> quickPickFallbackFromBuckets(
-            PoolType poolType,
-            int pickCount,
-            boolean allowRepeats,
-            boolean ordered,
-            TierBuckets buckets,
-            Random rng,
-            GeneratedSpecResult specOut
-    ) {
-        List<Integer> all = new ArrayList<>();
-        buckets.hot.forEach(b -> all.add(b.getNumberValue()));
-        buckets.mid.forEach(b -> all.add(b.getNumberValue()));
-        buckets.cold.forEach(b -> all.add(b.getNumberValue()));
+    // -------------------------
+    // Bucketing helper
+    // -------------------------
 
-        if (!allowRepeats && all.size() < pickCount) {
-            specOut.warn(poolType + ": not enough candidates even after fallback; cannot satisfy pickCount.");
-            return List.of();
+    private static final class TierBuckets {
+        final WeightedSampler hot;
+        final WeightedSampler mid;
+        final WeightedSampler cold;
+
+        TierBuckets(WeightedSampler hot, WeightedSampler mid, WeightedSampler cold) {
+            this.hot = hot;
+            this.mid = mid;
+            this.cold = cold;
         }
 
-        List<Integer> picks = new ArrayList<>(pickCount);
+        // Temperature was applied when the TierPool was compiled; only diminishing returns change afterwards.
+        static TierBuckets fromPool(TierPool pool, NumberMask excluded, GeneratorOptions options) {
+            return new TierBuckets(
+                    pool.sampler(Tier.HOT, excluded, options.alpha()),
+                    pool.sampler(Tier.MID, excluded, options.alpha()),
+                    pool.sampler(Tier.COLD, excluded, options.alpha())
+            );
+        }
 
-        if (allowRepeats) {
-            for (int i = 0; i < pickCount; i++) {
-                picks.add(all.get(rng.nextInt(all.size())));
+        int[] allValues() {
+            int[] all = new int[hot.size() + mid.size() + cold.size()];
+            int n = 0;
+            for (WeightedSampler bucket : List.of(hot, mid, cold)) {
+                for (int i = 0; i < bucket.size(); i++) all[n++] = bucket.valueAt(i);
             }
-        } else {
-            Collections.shuffle(all, rng);
-            picks.addAll(all.subList(0, pickCount));
+            return all;
         }
+    }
 
-        if (ordered) Collections.sort(picks);
-        return picks;
+    private enum PoolMode {
+        QUICK_PICK,
+        BUCKET_QUICK_PICK,
+        COUNT,
+        PERCENT
     }
 
-    // -------------------------
-    // Bucketing helper
-    // -------------------------
+    /**
+     * Per-spec, per-pool generation inputs plus the reusable pick buffer for one ticket.
+     */
+    private static final class PoolPlan {
+        final PoolType poolType;
+        final int pickCount;
+        final boolean ordered;
+        final boolean allowRepeats;
 
-    private static final class TierBuckets {
-        final List<NumberBall> hot;
-        final List<NumberBall> mid;
-        final List<NumberBall> cold;
+        PoolMode mode = PoolMode.QUICK_PICK;
+        PickBuffer picks;
 
-        TierBuckets(List<NumberBall> hot, List<NumberBall> mid, List<NumberBall> cold) {
-            this.hot = hot;
-            this.mid = mid;
-            this.cold = cold;
+        int[] quickPickCandidates = new int[0];
+
+        TierBuckets buckets;
+        int[] bucketCandidates = new int[0];
+
+        int hotN;
+        int midN;
+        int coldN;
+
+        int hotPct;
+        int midPct;
+
+        PoolPlan(PoolType poolType, int pickCount, int maxValue, boolean ordered, boolean allowRepeats) {
+            this.poolType = poolType;
+            this.pickCount = pickCount;
+            this.ordered = ordered;
+            this.allowRepeats = allowRepeats;
+            this.picks = new PickBuffer(pickCount, maxValue);
+        }
+
+        PoolPlan quickPick(int[] candidates) {
+            this.mode = PoolMode.QUICK_PICK;
+            this.quickPickCandidates = candidates;
+            return this;
+        }
+    }
+
+    /**
+     * Scratch int buffer for one pool of one ticket; cleared and reused for every ticket.
+     * picked mirrors values as a bitset for O(1) no-repeat checks.
+     * The sampler updates (markUsed) made for the current ticket are journaled until the ticket
+     * is kept (keepMarks) or rejected (undoMarks).
+     */
+    private static final class PickBuffer {
+        final int[] values;
+        final NumberMask picked;
+        int size;
+
+        // every weighted pick adds one value, so a ticket makes at most capacity marks
+        final WeightedSampler[] markedIn;
+        final int[] markedAt;
+        int marks;
+
+        PickBuffer(int capacity, int maxValue) {
+            this.values = new int[capacity];
+            this.picked = new NumberMask(maxValue);
+            this.markedIn = new WeightedSampler[capacity];
+            this.markedAt = new int[capacity];
+        }
+
+        void markUsed(WeightedSampler sampler, int index) {
+            sampler.markUsed(index);
+            markedIn[marks] = sampler;
+            markedAt[marks++] = index;
+        }
+
+        void keepMarks() {
+            Arrays.fill(markedIn, 0, marks, null);
+            marks = 0;
         }
 
-        static TierBuckets fromNumberBalls(List<NumberBall> balls, Set<Integer> excluded) {
-            if (balls == null) return new TierBuckets(List.of(), List.of(), List.of());
+        void undoMarks() {
+            for (int i = marks - 1; i >= 0; i--) {
+                markedIn[i].unmarkUsed(markedAt[i]);
+                markedIn[i] = null;
+            }
+            marks = 0;
+        }
 
-            List<NumberBall> filtered = balls.stream()
-                    .filter(b -> b.getNumberValue() != null)
-                    .filter(b -> excluded == null || !excluded.contains(b.getNumberValue()))
-                    .toList();
+        void add(int value) {
+            values[size++] = value;
+            picked.add(value);
+        }
 
-            Map<Tier, List<NumberBall>> byTier = filtered.stream()
-                    .collect(Collectors.groupingBy(b -> b.getTier() == null ? Tier.COLD : b.getTier()));
+        // only the bits this ticket set are cleared (k picks, not the whole pool)
+        void clear() {
+            for (int i = 0; i < size; i++) picked.remove(values[i]);
+            size = 0;
+        }
 
-            return new TierBuckets(
-                    byTier.getOrDefault(Tier.HOT, List.of()),
-                    byTier.getOrDefault(Tier.MID, List.of()),
-                    byTier.getOrDefault(Tier.COLD, List.of())
-            );
+        void sort() {
+            Arrays.sort(values, 0, size);
         }
     }
 
@@ -0,0 +1,230 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+
+/**
+ * Maps every ticket that is valid under a game's Rules to a unique long in [0, space()) and back.
+ *
+ * Each pool is ranked by the shape its Rules allow:
+ * - ordered (sorted), no repeats: combination, combinadic rank, C(n, k) values
+ * - ordered (sorted), repeats:    multiset, ranked as the combination c[i] + i, C(n + k - 1, k) values
+ * - unordered, no repeats:        k-permutation, mixed radix n, n-1, ..., n!/(n-k)! values
+ * - unordered, repeats:           base-n digits, n^k values
+ *
+ * rank = whiteRank * redSpace + redRank. Games whose ticket space does not fit in a long
+ * are rejected when the codec is built.
+ *
+ * Stateless after construction; safe to share between threads.
+ */
+public final class TicketRankCodec {
+
+    private final PoolCodec white;
+    private final PoolCodec red;
+    private final long space;
+
+    private TicketRankCodec(PoolCodec white, PoolCodec red) {
+        this.white = white;
+        this.red = red;
+        this.space = Math.multiplyExact(white.space, red.space);
+    }
+
+    /**
+     * @throws IllegalArgumentException if rules are incomplete or the ticket space exceeds a long
+     */
+    public static TicketRankCodec forRules(Rules rules) {
+        if (rules == null) throw new IllegalArgumentException("rules is required");
+
+        try {
+            PoolCodec white = new PoolCodec(
+                    safeInt(rules.getWhiteMin()),
+                    safeInt(rules.getWhiteMax()),
+                    safeInt(rules.getWhitePickCount()),
+                    bool(rules.getWhiteOrdered()),
+                    bool(rules.getWhiteAllowRepeats())
+            );
+            PoolCodec red = new PoolCodec(
+                    safeInt(rules.getRedMin()),
+                    safeInt(rules.getRedMax()),
+                    safeInt(rules.getRedPickCount()),
+                    bool(rules.getRedOrdered()),
+                    bool(rules.getRedAllowRepeats())
+            );
+            return new TicketRankCodec(white, red);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("ticket space does not fit in a long", e);
+        }
+    }
+
+    /**
+     * Number of distinct valid tickets.
+     */
+    public long space() {
+        return space;
+    }
+
+    /**
+     * Rank of the ticket white[0..whiteLen) + red[0..redLen), or -1 if it is not valid under the
+     * rules (wrong length, value out of range, repeat where not allowed, or an ordered pool
+     * that is not ascending).
+     */
+    public long rank(int[] white, int whiteLen, int[] red, int redLen) {
+        long w = this.white.rank(white, whiteLen);
+        if (w < 0) return -1;
+        long r = this.red.rank(red, redLen);
+        if (r < 0) return -1;
+        return w * this.red.space + r;
+    }
+
+    public long rank(GeneratedPicks picks) {
+        return rank(picks.white(), picks.white().length, picks.red(), picks.red().length);
+    }
+
+    public GeneratedPicks unrank(long rank) {
+        if (rank < 0 || rank >= space) throw new IllegalArgumentException("rank out of range: " + rank);
+        return new GeneratedPicks(white.unrank(rank / red.space), red.unrank(rank % red.space));
+    }
+
+    // -------------------------
+    // Per pool
+    // -------------------------
+
+    private static final class PoolCodec {
+        final int min;
+        final int n;
+        final int k;
+        final boolean sorted;
+        final boolean repeats;
+        final long space;
+
+        // binom[m][j] = C(m, j) for m < binom.length, j <= k; only filled for the sorted shapes
+        final long[][] binom;
+
+        PoolCodec(int min, int max, int k, boolean sorted, boolean repeats) {
+            this.min = min;
+            this.n = Math.max(0, max - min + 1);
+            this.k = Math.max(0, k);
+            this.sorted = sorted;
+            this.repeats = repeats;
+
+            if (this.k == 0) {
+                this.binom = new long[0][];
+                this.space = 1;
+                return;
+            }
+            if (!repeats && this.k > n) throw new ArithmeticException("pickCount exceeds pool size");
+
+            if (sorted) {
+                int m = repeats ? n + this.k - 1 : n;
+                this.binom = binomials(m, this.k);
+                this.space = binom[m][this.k];
+            } else {
+                this.binom = new long[0][];
+                long s = 1;
+                for (int i = 0; i < this.k; i++) {
+                    s = Math.multiplyExact(s, repeats ? n : n - i);
+                }
+                this.space = s;
+            }
+        }
+
+        long rank(int[] values, int len) {
+            if (len != k) return -1;
+            if (k == 0) return 0;
+
+            if (sorted) {
+                long r = 0;
+                int prev = -1;
+                for (int i = 0; i < k; i++) {
+                    int c = values[i] - min;
+                    if (c < 0 || c >= n) return -1;
+                    if (repeats ? c < prev : c <= prev) return -1;
+                    prev = c;
+
+                    int d = repeats ? c + i : c;
+                    r += binom[d][i + 1];
+                }
+                return r;
+            }
+
+            long r = 0;
+            for (int i = 0; i < k; i++) {
+                int c = values[i] - min;
+                if (c < 0 || c >= n) return -1;
+
+                if (repeats) {
+                    r = r * n + c;
+                    continue;
+                }
+
+                // digit = c minus the number of smaller values already used
+                int digit = c;
+                for (int j = 0; j < i; j++) {
+                    int prev = values[j] - min;
+                    if (prev == c) return -1;
+                    if (prev < c) digit--;
+                }
+                r = r * (n - i) + digit;
+            }
+            return r;
+        }
+
+        int[] unrank(long rank) {
+            int[] out = new int[k];
+            if (k == 0) return out;
+
+            if (sorted) {
+                long r = rank;
+                int upper = binom.length - 1;
+                for (int i = k - 1; i >= 0; i--) {
+                    // largest d with C(d, i + 1) <= r
+                    int d = upper;
+                    while (binom[d][i + 1] > r) d--;
+                    r -= binom[d][i + 1];
+                    out[i] = (repeats ? d - i : d) + min;
+                    upper = d - 1;
+                }
+                return out;
+            }
+
+            long r = rank;
+            int[] digits = new int[k];
+            for (int i = k - 1; i >= 0; i--) {
+                long radix = repeats ? n : n - i;
+                digits[i] = (int) (r % radix);
+                r /= radix;
+            }
+
+            if (repeats) {
+                for (int i = 0; i < k; i++) out[i] = digits[i] + min;
+                return out;
+            }
+
+            boolean[] used = new boolean[n];
+            for (int i = 0; i < k; i++) {
+                int skip = digits[i];
+                int c = 0;
+                while (used[c] || skip > 0) {
+                    if (!used[c]) skip--;
+                    c++;
+                }
+                used[c] = true;
+                out[i] = c + min;
+            }
+            return out;
+        }
+
+        private static long[][] binomials(int m, int k) {
+            long[][] t = new long[m + 1][k + 1];
+            for (int i = 0; i <= m; i++) {
+                t[i][0] = 1;
+                for (int j = 1; j <= Math.min(i, k); j++) {
+                    t[i][j] = Math.addExact(t[i - 1][j - 1], (j <= i - 1) ? t[i - 1][j] : 0);
+                }
+            }
+            return t;
+        }
+    }
+
+    private static int safeInt(Integer v) { return v == null ? 0 : v; }
+    private static boolean bool(Boolean v) { return v != null && v; }
+}
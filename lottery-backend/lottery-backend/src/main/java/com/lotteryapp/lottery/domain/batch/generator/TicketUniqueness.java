@@ -0,0 +1,13 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+/**
+ * Duplicate-ticket policy for generation (tickets compared by TicketRankCodec rank).
+ */
+public enum TicketUniqueness {
+    /** Identical tickets are allowed. */
+    NONE,
+    /** No two tickets of the same spec are identical. */
+    PER_SPEC,
+    /** No two tickets of the whole batch are identical (specs then run sequentially). */
+    BATCH
+}
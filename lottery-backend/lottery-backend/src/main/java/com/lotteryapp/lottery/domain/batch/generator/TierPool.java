@@ -0,0 +1,140 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, compiled view of one pool's NumberBalls for the generator:
+ * values (ascending), tiers and temperature-adjusted weights.
+ *
+ * Holds no entity references, so it can be cached and shared across threads/requests.
+ * Only diminishing returns (per spec) are applied on top of these weights.
+ */
+public final class TierPool {
+
+    private final int[] values;
+    private final Tier[] tiers;
+    private final double[] adjustedWeights;
+    private final double temperature;
+
+    private final int[] indexByValue;
+    private final NumberMask[] tierMasks;
+
+    private TierPool(int[] values, Tier[] tiers, double[] adjustedWeights, double temperature) {
+        this.values = values;
+        this.tiers = tiers;
+        this.adjustedWeights = adjustedWeights;
+        this.temperature = temperature;
+
+        int maxValue = values.length == 0 ? -1 : values[values.length - 1];
+        this.indexByValue = new int[maxValue + 1];
+        this.tierMasks = new NumberMask[Tier.values().length];
+        for (Tier tier : Tier.values()) tierMasks[tier.ordinal()] = new NumberMask(maxValue);
+
+        for (int i = 0; i < values.length; i++) {
+            indexByValue[values[i]] = i;
+            tierMasks[tiers[i].ordinal()].add(values[i]);
+        }
+    }
+
+    /**
+     * Balls without a (non-negative) numberValue are skipped; a missing tier counts as COLD.
+     * Returns null for a null list (treated by the engine as "tier list missing").
+     */
+    public static TierPool compile(List<NumberBall> balls, double temperature) {
+        if (balls == null) return null;
+
+        NumberBall[] sorted = balls.stream()
+                .filter(b -> b != null && b.getNumberValue() != null && b.getNumberValue() >= 0)
+                .sorted(Comparator.comparing(NumberBall::getNumberValue))
+                .toArray(NumberBall[]::new);
+
+        int[] values = new int[sorted.length];
+        Tier[] tiers = new Tier[sorted.length];
+        double[] weights = new double[sorted.length];
+
+        for (int i = 0; i < sorted.length; i++) {
+            NumberBall b = sorted[i];
+            values[i] = b.getNumberValue();
+            tiers[i] = b.getTier() == null ? Tier.COLD : b.getTier();
+            weights[i] = WeightedPicker.applyTemperature(baseWeight(b), temperature);
+        }
+
+        return new TierPool(values, tiers, weights, temperature);
+    }
+
+    /**
+     * Rebuilds a pool from previously compiled arrays (e.g. a stored replay snapshot),
+     * bypassing NumberBalls so the weights are bit-for-bit the ones that were saved.
+     */
+    public static TierPool restore(int[] values, Tier[] tiers, double[] adjustedWeights, double temperature) {
+        if (values == null || tiers == null || adjustedWeights == null) {
+            throw new IllegalArgumentException("values, tiers and weights are required");
+        }
+        if (values.length != tiers.length || values.length != adjustedWeights.length) {
+            throw new IllegalArgumentException("values, tiers and weights must have the same length");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0 || (i > 0 && values[i] <= values[i - 1])) {
+                throw new IllegalArgumentException("values must be non-negative and strictly ascending");
+            }
+            if (tiers[i] == null) throw new IllegalArgumentException("tier is required for value " + values[i]);
+        }
+
+        return new TierPool(values.clone(), tiers.clone(), adjustedWeights.clone(), temperature);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public double temperature() {
+        return temperature;
+    }
+
+    public int maxValue() {
+        return values.length == 0 ? -1 : values[values.length - 1];
+    }
+
+    // Copies; the pool itself stays immutable.
+
+    public int[] values() {
+        return values.clone();
+    }
+
+    public Tier[] tiers() {
+        return tiers.clone();
+    }
+
+    public double[] adjustedWeights() {
+        return adjustedWeights.clone();
+    }
+
+    /**
+     * One weighted sampler for the given tier: tier mask AND NOT excluded.
+     * Each call returns a fresh sampler (usedCounts start at zero).
+     */
+    WeightedSampler sampler(Tier tier, NumberMask excluded, double alpha) {
+        int[] outValues = tierMasks[tier.ordinal()].copy().andNot(excluded).toArray();
+        double[] outWeights = new double[outValues.length];
+
+        for (int i = 0; i < outValues.length; i++) {
+            outWeights[i] = adjustedWeights[indexByValue[outValues[i]]];
+        }
+
+        return WeightedSampler.of(outValues, outWeights, alpha);
+    }
+
+    private static double baseWeight(NumberBall b) {
+        int tierCount = (b.getTierCount() == null) ? 0 : b.getTierCount();
+        double base = 1.0 + tierCount;
+
+        Tier tier = b.getTier();
+        if (tier == Tier.HOT) return base * 3.0;
+        if (tier == Tier.MID) return base * 1.7;
+        return base * 1.0;
+    }
+}
@@ -0,0 +1,252 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Reusable weighted sampler over one tier bucket of one pool.
+ *
+ * Built once per spec (temperature is applied once per number), then reused for every ticket.
+ * Effective weights live in a Fenwick (binary indexed) tree:
+ * - pick: prefix-sum descent, O(log n)
+ * - markUsed / unmarkUsed: diminishing returns (alpha) applied to (or taken back from) one
+ *   number, one point update, O(log n)
+ * - pick without repeats: already-picked numbers are removed from the tree for the draw
+ *   and restored afterwards, O(k log n) for k picked numbers
+ *
+ * Values are kept sorted ascending; membership is a bit test on a NumberMask and
+ * value -> index is a dense array lookup.
+ */
+final class WeightedSampler {
+
+    // Point updates accumulate floating-point error; re-sum from scratch this often.
+    private static final int REBUILD_EVERY_UPDATES = 4096;
+
+    private final int[] values;
+    private final double[] adjustedWeights;
+    private final int[] usedCounts;
+    private final double[] effective;
+    private final double[] tree;
+    private final int highestStep;
+    private final double alpha;
+
+    private final NumberMask members;
+    private final int[] indexByValue;
+
+    private int updatesSinceRebuild;
+
+    private WeightedSampler(int[] values, double[] adjustedWeights, double alpha) {
+        this.values = values;
+        this.adjustedWeights = adjustedWeights;
+        this.usedCounts = new int[values.length];
+        this.effective = new double[values.length];
+        this.tree = new double[values.length + 1];
+        this.highestStep = values.length == 0 ? 0 : Integer.highestOneBit(values.length);
+        this.alpha = alpha;
+
+        int maxValue = values.length == 0 ? -1 : values[values.length - 1];
+        this.members = new NumberMask(maxValue);
+        this.indexByValue = new int[maxValue + 1];
+        Arrays.fill(indexByValue, -1);
+
+        for (int i = 0; i < values.length; i++) {
+            effective[i] = Math.max(0.0, adjustedWeights[i]);
+            if (values[i] >= 0) {
+                members.add(values[i]);
+                indexByValue[values[i]] = i;
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * @param values          number values (any order, no duplicates, >= 0)
+     * @param adjustedWeights temperature-adjusted weights, aligned with values
+     */
+    static WeightedSampler of(int[] values, double[] adjustedWeights, double alpha) {
+        if (values.length != adjustedWeights.length) {
+            throw new IllegalArgumentException("values and weights must have the same length");
+        }
+
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(values[a], values[b]));
+
+        int[] sortedValues = new int[values.length];
+        double[] sortedWeights = new double[values.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedWeights[i] = adjustedWeights[order[i]];
+        }
+
+        return new WeightedSampler(sortedValues, sortedWeights, alpha);
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    int valueAt(int index) {
+        return values[index];
+    }
+
+    int indexOf(int value) {
+        return (value < 0 || value >= indexByValue.length) ? -1 : indexByValue[value];
+    }
+
+    double totalWeight() {
+        return prefixSum(values.length);
+    }
+
+    /**
+     * Picks one index by current effective weight.
+     * Returns -1 if the bucket is empty or total weight == 0.
+     */
+    int pickIndex(RandomGenerator rng) {
+        double total = totalWeight();
+        if (total <= 0.0) return -1;
+
+        return find(rng.nextDouble() * total);
+    }
+
+    /**
+     * Picks one index whose value is not in taken.
+     * The taken numbers of this bucket (members AND taken, walked word by word) are removed
+     * from the tree for the draw, so the pick is exact for the conditional distribution,
+     * then restored.
+     * Returns -1 if nothing is available.
+     */
+    int pickIndexExcluding(NumberMask taken, RandomGenerator rng) {
+        int removedCount = adjustTaken(taken, true);
+        if (removedCount == 0) return pickIndex(rng);
+
+        try {
+            if (removedCount >= values.length) return -1;
+
+            double remaining = totalWeight();
+            if (remaining <= 0.0) return -1;
+
+            int idx = find(rng.nextDouble() * remaining);
+            // rounding can land on a removed neighbour; fall back to the nearest available
+            return taken.contains(values[idx]) ? nearestAvailable(idx, taken) : idx;
+        } finally {
+            adjustTaken(taken, false);
+            afterUpdates(removedCount * 2);
+        }
+    }
+
+    /**
+     * Records one more use of the number at index and re-weights it in place.
+     */
+    void markUsed(int index) {
+        usedCounts[index]++;
+        reweight(index);
+    }
+
+    /**
+     * Takes back one markUsed of the number at index (a rejected ticket); its weight is
+     * recomputed from the use count, so it returns exactly to the earlier value.
+     */
+    void unmarkUsed(int index) {
+        if (usedCounts[index] == 0) return;
+        usedCounts[index]--;
+        reweight(index);
+    }
+
+    private void reweight(int index) {
+        double updated = Math.max(0.0,
+                WeightedPicker.applyDiminishingReturns(adjustedWeights[index], usedCounts[index], alpha));
+        add(index, updated - effective[index]);
+        effective[index] = updated;
+        afterUpdates(1);
+    }
+
+    /**
+     * Removes (or restores) the weight of every member that is also in taken.
+     * Returns how many members were affected.
+     */
+    private int adjustTaken(NumberMask taken, boolean remove) {
+        int count = 0;
+        for (int w = 0; w < members.wordCount(); w++) {
+            long bits = members.intersectionWord(taken, w);
+            while (bits != 0) {
+                int idx = indexByValue[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+                add(idx, remove ? -effective[idx] : effective[idx]);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int nearestAvailable(int idx, NumberMask taken) {
+        for (int d = 1; d < values.length; d++) {
+            int lo = idx - d;
+            int hi = idx + d;
+            if (lo >= 0 && effective[lo] > 0.0 && !taken.contains(values[lo])) return lo;
+            if (hi < values.length && effective[hi] > 0.0 && !taken.contains(values[hi])) return hi;
+        }
+        return -1;
+    }
+
+    // -------------------------
+    // Fenwick tree (1-based internally)
+    // -------------------------
+
+    private void add(int index, double delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private double prefixSum(int count) {
+        double sum = 0.0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Smallest index whose prefix sum exceeds r (zero-weight entries are never returned
+     * unless rounding pushes r past the total, in which case the last positive entry is used).
+     */
+    private int find(double r) {
+        int pos = 0;
+        double rem = r;
+        for (int step = highestStep; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] <= rem) {
+                pos = next;
+                rem -= tree[next];
+            }
+        }
+
+        if (pos < values.length) return pos;
+
+        for (int i = values.length - 1; i >= 0; i--) {
+            if (effective[i] > 0.0) return i;
+        }
+        return values.length - 1;
+    }
+
+    private void afterUpdates(int count) {
+        updatesSinceRebuild += count;
+        if (updatesSinceRebuild >= REBUILD_EVERY_UPDATES) rebuild();
+    }
+
+    // O(n) construction: each node pushes its sum to its parent once.
+    private void rebuild() {
+        Arrays.fill(tree, 0.0);
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += effective[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) tree[parent] += tree[i];
+        }
+        updatesSinceRebuild = 0;
+    }
+}
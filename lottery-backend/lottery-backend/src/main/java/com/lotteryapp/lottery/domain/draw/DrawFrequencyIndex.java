@@ -0,0 +1,227 @@
+package com.lotteryapp.lottery.domain.draw;
+
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory draw frequency index for one game mode.
+ *
+ * Draw dates are kept sorted (one row per date). Per pool, a flat int matrix holds cumulative
+ * counts: row r, column v = how often number v was drawn in the first r draws. The count of a
+ * number over any [start, end] is therefore two binary searches and a subtraction.
+ *
+ * - put for a date after the last one (the normal case): O(width)
+ * - put for an older date, or replacing a date's numbers: O(rows after it * width)
+ * - numbers above the current width grow the matrix once
+ *
+ * Thread-safe (all access is synchronized; reads are O(log n)).
+ */
+public final class DrawFrequencyIndex {
+
+    private static final int INITIAL_ROWS = 64;
+
+    private long[] days = new long[INITIAL_ROWS];
+    private int size;
+
+    private final Pool white = new Pool();
+    private final Pool red = new Pool();
+
+    /**
+     * Sets the numbers drawn on date (replacing any previous numbers for that date).
+     * Negative values are ignored.
+     */
+    public synchronized void put(LocalDate date, int[] whiteNumbers, int[] redNumbers) {
+        if (date == null) throw new IllegalArgumentException("date is required");
+
+        long day = date.toEpochDay();
+        int i = lowerBound(day);
+
+        if (i < size && days[i] == day) {
+            white.replaceRow(i, size, whiteNumbers);
+            red.replaceRow(i, size, redNumbers);
+            return;
+        }
+
+        ensureRows(size + 1);
+        System.arraycopy(days, i, days, i + 1, size - i);
+        days[i] = day;
+
+        white.insertRow(i, size, whiteNumbers);
+        red.insertRow(i, size, redNumbers);
+        size++;
+    }
+
+    public synchronized int drawCount() {
+        return size;
+    }
+
+    /**
+     * Draw dates on or after from, oldest first.
+     */
+    public synchronized List<LocalDate> datesFrom(LocalDate from) {
+        List<LocalDate> out = new ArrayList<>();
+        for (int i = lowerBound(from.toEpochDay()); i < size; i++) out.add(LocalDate.ofEpochDay(days[i]));
+        return out;
+    }
+
+    /**
+     * Times value was drawn in pool between start and end (inclusive).
+     */
+    public synchronized int count(PoolType poolType, int value, LocalDate start, LocalDate end) {
+        int lo = lowerBound(start.toEpochDay());
+        int hi = upperBound(end.toEpochDay());
+        if (hi <= lo) return 0;
+        return pool(poolType).between(lo, hi, value);
+    }
+
+    /**
+     * Counts for every value 0..maxValue of the pool between start and end (inclusive).
+     */
+    public synchronized int[] counts(PoolType poolType, int maxValue, LocalDate start, LocalDate end) {
+        int[] out = new int[Math.max(0, maxValue + 1)];
+        int lo = lowerBound(start.toEpochDay());
+        int hi = upperBound(end.toEpochDay());
+        if (hi <= lo) return out;
+
+        Pool pool = pool(poolType);
+        for (int v = 0; v < out.length; v++) out[v] = pool.between(lo, hi, v);
+        return out;
+    }
+
+    /**
+     * Latest date on or before the given date when value was drawn in pool, or null.
+     */
+    public synchronized LocalDate lastDrawn(PoolType poolType, int value, LocalDate onOrBefore) {
+        int hi = upperBound(onOrBefore.toEpochDay());
+        Pool pool = pool(poolType);
+
+        int total = pool.at(hi, value);
+        if (total == 0) return null;
+
+        // smallest row r with at(r) == total; the draw that completed it is r - 1
+        int lo = 0;
+        int r = hi;
+        while (lo < r) {
+            int mid = (lo + r) >>> 1;
+            if (pool.at(mid, value) == total) r = mid;
+            else lo = mid + 1;
+        }
+        return LocalDate.ofEpochDay(days[r - 1]);
+    }
+
+    private Pool pool(PoolType poolType) {
+        return poolType == PoolType.WHITE ? white : red;
+    }
+
+    // first index with days[i] >= day
+    private int lowerBound(long day) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < day) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // first index with days[i] > day
+    private int upperBound(long day) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] <= day) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void ensureRows(int rows) {
+        if (rows > days.length) days = Arrays.copyOf(days, Math.max(rows, days.length * 2));
+    }
+
+    /**
+     * Cumulative counts of one pool: prefix[row * width + value], rows 0..size.
+     */
+    private static final class Pool {
+        private int width;
+        private int[] prefix = new int[0];
+
+        int at(int row, int value) {
+            if (value < 0 || value >= width) return 0;
+            return prefix[row * width + value];
+        }
+
+        int between(int loRow, int hiRow, int value) {
+            return at(hiRow, value) - at(loRow, value);
+        }
+
+        /**
+         * Inserts a draw as draw index i (rows i + 1 .. size shift down one); size is the row
+         * count before the insert.
+         */
+        void insertRow(int i, int size, int[] numbers) {
+            widenFor(numbers, size);
+            ensureCapacity(size + 2);
+
+            if (width == 0) return;
+
+            // rows i+1..size move to i+2..size+1; row i+1 starts as a copy of row i
+            System.arraycopy(prefix, (i + 1) * width, prefix, (i + 2) * width, (size - i) * width);
+            System.arraycopy(prefix, i * width, prefix, (i + 1) * width, width);
+
+            addToRows(i + 1, size + 1, numbers);
+        }
+
+        /**
+         * Replaces the numbers of draw index i.
+         */
+        void replaceRow(int i, int size, int[] numbers) {
+            widenFor(numbers, size);
+            if (width == 0) return;
+
+            // remove the old draw's counts from rows i+1..size, then add the new ones
+            int[] old = new int[width];
+            for (int v = 0; v < width; v++) old[v] = prefix[(i + 1) * width + v] - prefix[i * width + v];
+
+            for (int r = i + 1; r <= size; r++) {
+                int base = r * width;
+                for (int v = 0; v < width; v++) prefix[base + v] -= old[v];
+            }
+            addToRows(i + 1, size, numbers);
+        }
+
+        private void addToRows(int fromRow, int toRow, int[] numbers) {
+            if (numbers == null) return;
+            for (int n : numbers) {
+                if (n < 0) continue;
+                for (int r = fromRow; r <= toRow; r++) prefix[r * width + n]++;
+            }
+        }
+
+        private void ensureCapacity(int rows) {
+            int needed = rows * width;
+            if (needed > prefix.length) prefix = Arrays.copyOf(prefix, Math.max(needed, prefix.length * 2));
+        }
+
+        private void widenFor(int[] numbers, int size) {
+            int max = width - 1;
+            if (numbers != null) {
+                for (int n : numbers) max = Math.max(max, n);
+            }
+            if (max < width) return;
+
+            int newWidth = max + 1;
+            int rows = size + 1;
+            int[] widened = new int[Math.max(rows + 1, INITIAL_ROWS) * newWidth];
+            for (int r = 0; r < rows && width > 0; r++) {
+                System.arraycopy(prefix, r * width, widened, r * newWidth, width);
+            }
+            prefix = widened;
+            width = newWidth;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.lotteryapp.lottery.domain.draw;
 
 import com.lotteryapp.lottery.domain.gamemode.GameMode;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -66,6 +68,95 @@ public class DrawResult {
     @Builder.Default
     private DrawOrigin origin = DrawOrigin.OFFICIAL;
 
+    // Packed numbers (PackedDrawNumbers); null until written or migrated, then picks are optional
+    @Column(name = "white_order", length = 64)
+    private byte[] whiteOrder;
+
+    @Column(name = "red_order", length = 64)
+    private byte[] redOrder;
+
+    @Column(name = "white_mask", length = 64)
+    private byte[] whiteMask;
+
+    @Column(name = "red_mask", length = 64)
+    private byte[] redMask;
+
+    @Transient
+    public boolean isPacked() {
+        return whiteOrder != null && redOrder != null;
+    }
+
+    /**
+     * Active numbers of a pool in drawn order: from the packed columns, or from picks for
+     * draws not packed yet.
+     */
+    @Transient
+    public List<Integer> numbersOf(PoolType poolType) {
+        if (isPacked()) {
+            return PackedDrawNumbers.numbers(poolType == PoolType.WHITE ? whiteOrder : redOrder);
+        }
+        if (picks == null) return List.of();
+
+        return picks.stream()
+                .filter(p -> p.getPoolType() == poolType && p.getNumberValue() != null)
+                .sorted(Comparator.comparingInt(DrawPick::getPosition))
+                .map(DrawPick::getNumberValue)
+                .toList();
+    }
+
+    /**
+     * Replaces the draw's numbers. Packed columns are always written when the numbers fit;
+     * DrawPick rows only when writePicks is set (or the numbers cannot be packed).
+     */
+    public void replaceNumbers(List<Integer> white, List<Integer> red, boolean writePicks) {
+        picks.clear();
+
+        if (PackedDrawNumbers.packable(white) && PackedDrawNumbers.packable(red)) {
+            whiteOrder = PackedDrawNumbers.order(white);
+            redOrder = PackedDrawNumbers.order(red);
+            whiteMask = PackedDrawNumbers.mask(white);
+            redMask = PackedDrawNumbers.mask(red);
+        } else {
+            whiteOrder = redOrder = whiteMask = redMask = null;
+            writePicks = true;
+        }
+
+        if (writePicks) {
+            addPicks(PoolType.WHITE, white);
+            addPicks(PoolType.RED, red);
+        }
+    }
+
+    /**
+     * Fills the packed columns from existing picks (migration); false if they cannot be packed.
+     */
+    public boolean packFromPicks() {
+        List<Integer> white = numbersOf(PoolType.WHITE);
+        List<Integer> red = numbersOf(PoolType.RED);
+        if (!PackedDrawNumbers.packable(white) || !PackedDrawNumbers.packable(red)) return false;
+
+        whiteOrder = PackedDrawNumbers.order(white);
+        redOrder = PackedDrawNumbers.order(red);
+        whiteMask = PackedDrawNumbers.mask(white);
+        redMask = PackedDrawNumbers.mask(red);
+        return true;
+    }
+
+    private void addPicks(PoolType poolType, List<Integer> numbers) {
+        if (numbers == null) return;
+
+        int pos = 1;
+        for (Integer n : numbers) {
+            if (n == null) continue;
+            picks.add(DrawPick.builder()
+                    .drawResult(this)
+                    .poolType(poolType)
+                    .position(pos++)
+                    .numberValue(n)
+                    .build());
+        }
+    }
+
     @PrePersist
     void prePersist() {
         Instant now = Instant.now();
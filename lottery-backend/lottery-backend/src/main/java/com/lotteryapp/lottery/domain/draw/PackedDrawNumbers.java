@@ -0,0 +1,96 @@
+package com.lotteryapp.lottery.domain.draw;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packed column formats for a pool's drawn numbers.
+ *
+ * - order: one unsigned byte per number in drawn position (numbers 0..255)
+ * - mask: bit n set for each drawn n, as little-endian 64-bit words (so ranges above 64 use
+ *   more words); match counts are a popcount of the AND of two masks
+ *
+ * Numbers outside 0..255 cannot be packed; such draws keep DrawPick rows only.
+ */
+public final class PackedDrawNumbers {
+
+    public static final int MAX_VALUE = 255;
+
+    private PackedDrawNumbers() {}
+
+    public static boolean packable(List<Integer> numbers) {
+        if (numbers == null) return true;
+        for (Integer n : numbers) {
+            if (n != null && (n < 0 || n > MAX_VALUE)) return false;
+        }
+        return true;
+    }
+
+    public static byte[] order(List<Integer> numbers) {
+        if (numbers == null) return new byte[0];
+
+        byte[] out = new byte[(int) numbers.stream().filter(n -> n != null).count()];
+        int i = 0;
+        for (Integer n : numbers) {
+            if (n == null) continue;
+            if (n < 0 || n > MAX_VALUE) throw new IllegalArgumentException("Number out of packable range: " + n);
+            out[i++] = (byte) n.intValue();
+        }
+        return out;
+    }
+
+    public static List<Integer> numbers(byte[] order) {
+        if (order == null) return List.of();
+
+        List<Integer> out = new ArrayList<>(order.length);
+        for (byte b : order) out.add(b & 0xFF);
+        return out;
+    }
+
+    public static byte[] mask(List<Integer> numbers) {
+        return toBytes(words(numbers));
+    }
+
+    public static long[] words(List<Integer> numbers) {
+        if (numbers == null) return new long[0];
+
+        int max = -1;
+        for (Integer n : numbers) {
+            if (n != null && n >= 0) max = Math.max(max, n);
+        }
+
+        if (max < 0) return new long[0];
+
+        long[] words = new long[(max >>> 6) + 1];
+        for (Integer n : numbers) {
+            if (n != null && n >= 0) words[n >>> 6] |= 1L << (n & 63);
+        }
+        return words;
+    }
+
+    public static long[] words(byte[] mask) {
+        if (mask == null) return new long[0];
+
+        long[] words = new long[(mask.length + 7) >>> 3];
+        for (int i = 0; i < mask.length; i++) {
+            words[i >>> 3] |= (mask[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        return words;
+    }
+
+    public static boolean contains(long[] words, int n) {
+        return n >= 0 && (n >>> 6) < words.length && (words[n >>> 6] & (1L << (n & 63))) != 0;
+    }
+
+    public static int matches(long[] a, long[] b) {
+        int hits = 0;
+        for (int i = 0, len = Math.min(a.length, b.length); i < len; i++) hits += Long.bitCount(a[i] & b[i]);
+        return hits;
+    }
+
+    private static byte[] toBytes(long[] words) {
+        byte[] out = new byte[words.length * 8];
+        for (int i = 0; i < out.length; i++) out[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+        return out;
+    }
+}
@@ -0,0 +1,151 @@
+package com.lotteryapp.lottery.domain.gamemode;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A game's weekly draw schedule (drawDays + optional drawTimeLocal/drawTimeZoneId) as a 7-bit
+ * weekday mask, so schedule questions are answered arithmetically instead of walking days:
+ *
+ * - onOrBefore / onOrAfter: at most 7 bit tests
+ * - countBetween: full weeks * draws per week + the remainder days, O(1) for any range
+ *
+ * Immutable; an empty schedule (no drawDays) has no draw dates.
+ */
+public final class DrawCalendar {
+
+    // how far back latestExpected looks for a draw whose time has passed
+    private static final int LOOKBACK_DAYS = 14;
+
+    private final int mask;
+    private final LocalTime drawTime;
+    private final ZoneId zone;
+
+    private DrawCalendar(int mask, LocalTime drawTime, ZoneId zone) {
+        this.mask = mask;
+        this.drawTime = drawTime;
+        this.zone = zone;
+    }
+
+    public static DrawCalendar of(GameMode mode) {
+        return of(mode.getDrawDays(), mode.getDrawTimeLocal(), mode.getDrawTimeZoneId());
+    }
+
+    /**
+     * An unknown or blank zone id is treated as no draw time (date-only schedule).
+     */
+    public static DrawCalendar of(Set<DrawDay> drawDays, LocalTime drawTime, String zoneId) {
+        int mask = 0;
+        if (drawDays != null) {
+            for (DrawDay day : drawDays) {
+                if (day != null) mask |= bit(DayOfWeek.valueOf(day.name()));
+            }
+        }
+        return new DrawCalendar(mask, drawTime, safeZone(zoneId));
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    public boolean isDrawDay(LocalDate date) {
+        return (mask & bit(date.getDayOfWeek())) != 0;
+    }
+
+    /**
+     * Latest draw date on or before date, or null for an empty schedule.
+     */
+    public LocalDate onOrBefore(LocalDate date) {
+        if (mask == 0) return null;
+        LocalDate d = date;
+        while (!isDrawDay(d)) d = d.minusDays(1);
+        return d;
+    }
+
+    /**
+     * First draw date on or after date, or null for an empty schedule.
+     */
+    public LocalDate onOrAfter(LocalDate date) {
+        if (mask == 0) return null;
+        LocalDate d = date;
+        while (!isDrawDay(d)) d = d.plusDays(1);
+        return d;
+    }
+
+    /**
+     * Draw dates after afterExclusive up to toInclusive.
+     */
+    public int countBetween(LocalDate afterExclusive, LocalDate toInclusive) {
+        long days = toInclusive.toEpochDay() - afterExclusive.toEpochDay();
+        if (days <= 0 || mask == 0) return 0;
+
+        long count = (days / 7) * Integer.bitCount(mask);
+        LocalDate d = afterExclusive.plusDays((days / 7) * 7);
+        for (long i = days % 7; i > 0; i--) {
+            d = d.plusDays(1);
+            if (isDrawDay(d)) count++;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, count);
+    }
+
+    /**
+     * Draw dates after afterExclusive up to toInclusive, oldest first.
+     */
+    public List<LocalDate> datesBetween(LocalDate afterExclusive, LocalDate toInclusive) {
+        List<LocalDate> out = new ArrayList<>(countBetween(afterExclusive, toInclusive));
+        if (mask == 0) return out;
+
+        LocalDate d = onOrAfter(afterExclusive.plusDays(1));
+        while (!d.isAfter(toInclusive)) {
+            out.add(d);
+            d = onOrAfter(d.plusDays(1));
+        }
+        return out;
+    }
+
+    /**
+     * Most recent draw date that should have results by now.
+     *
+     * With draw time and zone, a draw day counts once its draw moment has passed (looking back
+     * up to two weeks); otherwise, or if none qualifies, the latest draw day on or before today.
+     * An empty schedule returns today.
+     */
+    public LocalDate latestExpected(LocalDate today, Instant now) {
+        if (mask == 0) return today;
+
+        if (drawTime != null && zone != null) {
+            LocalDate earliest = today.minusDays(LOOKBACK_DAYS - 1);
+            LocalDate candidate = onOrBefore(today);
+            while (!candidate.isBefore(earliest)) {
+                if (!candidate.atTime(drawTime).atZone(zone).toInstant().isAfter(now)) return candidate;
+                candidate = onOrBefore(candidate.minusDays(1));
+            }
+        }
+
+        return onOrBefore(today);
+    }
+
+    /**
+     * Moment of the draw on date: its draw time in the game's zone, or (without time and zone)
+     * the start of that day in fallbackZone, which is when latestExpected starts to include it.
+     */
+    public Instant drawInstant(LocalDate date, ZoneId fallbackZone) {
+        if (drawTime != null && zone != null) return date.atTime(drawTime).atZone(zone).toInstant();
+        return date.atStartOfDay(fallbackZone).toInstant();
+    }
+
+    private static int bit(DayOfWeek day) {
+        return 1 << day.ordinal();
+    }
+
+    private static ZoneId safeZone(String zoneId) {
+        if (zoneId == null || zoneId.isBlank()) return null;
+        try {
+            return ZoneId.of(zoneId);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -51,6 +51,13 @@ public class GameMode {
     @Column(name = "tier_range_end_date")
     private LocalDate tierRangeEndDate;
 
+    // Window that NumberBall.tierCount currently reflects (null = unknown, recount on next maintenance)
+    @Column(name = "tier_count_window_start")
+    private LocalDate tierCountWindowStart;
+
+    @Column(name = "tier_count_window_end")
+    private LocalDate tierCountWindowEnd;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
             name = "game_mode_draw_day",
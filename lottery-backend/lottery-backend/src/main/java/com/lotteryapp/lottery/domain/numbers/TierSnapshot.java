@@ -0,0 +1,57 @@
+package com.lotteryapp.lottery.domain.numbers;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Tiers of every NumberBall of a game mode after one tier recalculation, as TierBitmaps
+ * (per pool one HOT/MID/COLD bitmap; a few dozen bytes per snapshot).
+ *
+ * effectiveDate is the date the tiers came into force (a draw date, or the day a window or range
+ * change ran) and the bitmaps are the tiers as of that date; version increases per game mode,
+ * so the snapshot in force on a date is the latest version with effectiveDate on or before it.
+ */
+@Entity
+@Table(
+        name = "tier_snapshot",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_tier_snapshot_game_version", columnNames = {"game_mode_id", "version"})
+        },
+        indexes = {
+                @Index(name = "ix_tier_snapshot_game_date", columnList = "game_mode_id,effective_date,version")
+        }
+)
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TierSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "game_mode_id", nullable = false)
+    private Long gameModeId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] bitmaps;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = Instant.now();
+    }
+}
@@ -7,11 +7,15 @@ import com.lotteryapp.lottery.domain.numbers.Tier;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public final class NumberBallTierEngine {
 
+    // tierCount desc, lastDrawnDate desc (nulls last), numberValue asc
+    public static final Comparator<NumberBall> TIER_ORDER = Comparator
+            .comparingInt(NumberBallTierEngine::safeTierCount).reversed()
+            .thenComparing(NumberBallTierEngine::safeLastDrawnDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparingInt(NumberBallTierEngine::safeNumberValue);
+
     private NumberBallTierEngine() {}
 
     /**
@@ -28,12 +32,12 @@ public final class NumberBallTierEngine {
     public static void assignTiers(List<NumberBall> balls, TierCutoffs cutoffs) {
         if (balls == null || balls.isEmpty()) return;
 
-        Map<PoolType, List<NumberBall>> byPool = balls.stream()
-                .collect(Collectors.groupingBy(NumberBall::getPoolType));
+        Map<PoolType, List<NumberBall>> byPool = new HashMap<>();
+        for (NumberBall b : balls) {
+            byPool.computeIfAbsent(b.getPoolType(), k -> new ArrayList<>()).add(b);
+        }
 
-        for (Map.Entry<PoolType, List<NumberBall>> entry : byPool.entrySet()) {
-            List<NumberBall> poolBalls = entry.getValue();
-            if (poolBalls == null || poolBalls.isEmpty()) continue;
+        for (List<NumberBall> poolBalls : byPool.values()) {
             assignTiersForSinglePool(poolBalls, cutoffs);
         }
     }
@@ -49,6 +53,9 @@ public final class NumberBallTierEngine {
      *    If cutoff splits a tied tierCount group, keep the most recently drawn balls in the higher tier.
      * - Edge case: if all tierCount==0, everything becomes COLD (acts like quick-pick).
      *
+     * The recency tie-break is part of the sort key, so after one sort the buckets are plain index
+     * ranges: HOT = [0, hot), MID = [hot, hot + mid), COLD = the rest. O(n log n) per pool.
+     *
      * Updates:
      * - ball.tier
      * - ball.statusChange (PROMOTED/DEMOTED/NONE) based on previous tier.
@@ -56,22 +63,18 @@ public final class NumberBallTierEngine {
     private static void assignTiersForSinglePool(List<NumberBall> balls, TierCutoffs cutoffs) {
         if (balls == null || balls.isEmpty()) return;
 
-        // Sort: tierCount desc, lastDrawnDate desc (nulls last), numberValue asc (stable)
-        List<NumberBall> sorted = new ArrayList<>(balls);
-        sorted.sort(Comparator
-                .comparingInt(NumberBallTierEngine::safeTierCount).reversed()
-                .thenComparing(NumberBallTierEngine::safeLastDrawnDate, Comparator.nullsLast(Comparator.reverseOrder()))
-                .thenComparingInt(NumberBallTierEngine::safeNumberValue)
-        );
+        NumberBall[] sorted = balls.toArray(new NumberBall[0]);
+        Arrays.sort(sorted, TIER_ORDER);
+
+        int n = sorted.length;
 
-        // If all tierCount are 0 -> everyone cold (pool-local edge case)
-        boolean allZero = sorted.stream().allMatch(b -> safeTierCount(b) == 0);
+        // Sorted by tierCount desc: all zero iff the first and last are zero
+        boolean allZero = safeTierCount(sorted[0]) == 0 && safeTierCount(sorted[n - 1]) == 0;
         if (allZero) {
             setAll(sorted, Tier.COLD);
             return;
         }
 
-        int n = sorted.size();
         int hotTarget = (int) Math.round(n * (cutoffs.hotPct() / 100.0));
         int midTarget = (int) Math.round(n * (cutoffs.midPct() / 100.0));
 
@@ -79,93 +82,20 @@ public final class NumberBallTierEngine {
         hotTarget = Math.max(0, Math.min(hotTarget, n));
         midTarget = Math.max(0, Math.min(midTarget, n - hotTarget));
 
-        // Determine actual HOT set with tie-safe boundary
-        Set<NumberBall> hotSet = pickTopWithTieSafety(sorted, hotTarget, NumberBallTierEngine::safeTierCount);
-
-        // Determine MID candidates from the remaining
-        List<NumberBall> remainingAfterHot = sorted.stream()
-                .filter(b -> !hotSet.contains(b))
-                .toList();
-
-        Set<NumberBall> midSet = pickTopWithTieSafety(remainingAfterHot, midTarget, NumberBallTierEngine::safeTierCount);
-
-        // Everything else is COLD
-        for (NumberBall b : sorted) {
-            Tier previous = b.getTier();
-            Tier next = hotSet.contains(b) ? Tier.HOT : (midSet.contains(b) ? Tier.MID : Tier.COLD);
-            applyTierAndStatusChange(b, previous, next);
+        int midEnd = hotTarget + midTarget;
+        for (int i = 0; i < n; i++) {
+            NumberBall b = sorted[i];
+            Tier next = (i < hotTarget) ? Tier.HOT : (i < midEnd ? Tier.MID : Tier.COLD);
+            applyTierAndStatusChange(b, b.getTier(), next);
         }
 
-        // If somehow hot+mid empty, force cold (defensive)
-        if (hotSet.isEmpty() && midSet.isEmpty()) {
+        // If hot+mid are empty, force cold (defensive; also resets statusChange to NONE)
+        if (midEnd == 0) {
             setAll(sorted, Tier.COLD);
         }
     }
 
-    /**
-     * Picks the first targetCount, but if the boundary splits a tied group (same score),
-     * keep the most recent in the higher tier.
-     */
-    private static Set<NumberBall> pickTopWithTieSafety(
-            List<NumberBall> sorted,
-            int targetCount,
-            Function<NumberBall, Integer> scoreFn
-    ) {
-        if (targetCount <= 0 || sorted.isEmpty()) return Collections.emptySet();
-        if (targetCount >= sorted.size()) return new LinkedHashSet<>(sorted);
-
-        // First pass: take first targetCount
-        List<NumberBall> top = new ArrayList<>(sorted.subList(0, targetCount));
-
-        // Boundary score = score at last included
-        int boundaryScore = scoreFn.apply(top.get(top.size() - 1));
-
-        // Find all balls tied at boundaryScore across whole list
-        List<NumberBall> tied = sorted.stream()
-                .filter(b -> scoreFn.apply(b) == boundaryScore)
-                .collect(Collectors.toList());
-
-        // If boundary score is unique (only appears inside top, no split) -> ok
-        boolean split = tied.stream().anyMatch(b -> !top.contains(b)) && top.stream().anyMatch(tied::contains);
-        if (!split) {
-            return new LinkedHashSet<>(top);
-        }
-
-        // Rebuild by:
-        //  - include everything strictly above boundaryScore
-        //  - then fill remaining slots from tied group by recency (lastDrawnDate desc), then numberValue asc
-        List<NumberBall> above = sorted.stream()
-                .filter(b -> scoreFn.apply(b) > boundaryScore)
-                .toList();
-
-        int remainingSlots = targetCount - above.size();
-        if (remainingSlots <= 0) {
-            return new LinkedHashSet<>(above.subList(0, targetCount));
-        }
-
-        tied.sort(Comparator
-                .comparing(NumberBallTierEngine::safeLastDrawnDate, Comparator.nullsLast(Comparator.reverseOrder()))
-                .thenComparingInt(NumberBallTierEngine::safeNumberValue)
-        );
-
-        List<NumberBall> picked = new ArrayList<>(above);
-        for (NumberBall b : tied) {
-            if (picked.size() >= targetCount) break;
-            if (!picked.contains(b)) picked.add(b);
-        }
-
-        // Safety: if still short, fill from remainder by original order
-        if (picked.size() < targetCount) {
-            for (NumberBall b : sorted) {
-                if (picked.size() >= targetCount) break;
-                if (!picked.contains(b)) picked.add(b);
-            }
-        }
-
-        return new LinkedHashSet<>(picked);
-    }
-
-    private static void setAll(List<NumberBall> balls, Tier tier) {
+    private static void setAll(NumberBall[] balls, Tier tier) {
         for (NumberBall b : balls) {
             Tier previous = b.getTier();
             applyTierAndStatusChange(b, previous, tier);
@@ -0,0 +1,139 @@
+package com.lotteryapp.lottery.domain.numbers.tier;
+
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Compact encoding of a game's tier assignment.
+ *
+ * Layout: format byte, pool count byte, then per pool:
+ * poolType ordinal (byte), min number (int), span (int), and HOT, MID, COLD bitmaps of
+ * ceil(span / 8) bytes each, where bit (value - min) is set if value is in that tier.
+ * A 69 + 26 ball game is about 60 bytes.
+ */
+public final class TierBitmaps {
+
+    private static final byte FORMAT = 1;
+    private static final Tier[] TIERS = {Tier.HOT, Tier.MID, Tier.COLD};
+    private static final int POOL_HEADER = 1 + 4 + 4;
+
+    private TierBitmaps() {}
+
+    public static byte[] encode(List<NumberBall> balls) {
+        Map<PoolType, List<NumberBall>> byPool = new EnumMap<>(PoolType.class);
+        for (NumberBall b : balls) {
+            if (b.getPoolType() == null || b.getNumberValue() == null) continue;
+            byPool.computeIfAbsent(b.getPoolType(), k -> new ArrayList<>()).add(b);
+        }
+
+        int size = 2;
+        for (List<NumberBall> pool : byPool.values()) size += POOL_HEADER + 3 * bitmapBytes(span(pool));
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(FORMAT);
+        out.put((byte) byPool.size());
+
+        for (Map.Entry<PoolType, List<NumberBall>> e : byPool.entrySet()) {
+            List<NumberBall> pool = e.getValue();
+            int min = pool.stream().mapToInt(NumberBall::getNumberValue).min().orElse(0);
+            int span = span(pool);
+            int bytes = bitmapBytes(span);
+
+            out.put((byte) e.getKey().ordinal());
+            out.putInt(min);
+            out.putInt(span);
+
+            int start = out.position();
+            for (NumberBall b : pool) {
+                int t = tierIndex(b.getTier());
+                if (t < 0) continue;
+                int bit = b.getNumberValue() - min;
+                int at = start + t * bytes + (bit >>> 3);
+                out.put(at, (byte) (out.get(at) | (1 << (bit & 7))));
+            }
+            out.position(start + 3 * bytes);
+        }
+        return out.array();
+    }
+
+    /**
+     * Tier of one number, or null if the pool or number is not in the snapshot.
+     */
+    public static Tier tierOf(byte[] data, PoolType poolType, int value) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        int offset = findPool(in, poolType);
+        if (offset < 0) return null;
+
+        int min = in.getInt(offset + 1);
+        int span = in.getInt(offset + 5);
+        int bit = value - min;
+        if (bit < 0 || bit >= span) return null;
+
+        int bytes = bitmapBytes(span);
+        int start = offset + POOL_HEADER;
+        for (int t = 0; t < TIERS.length; t++) {
+            if ((in.get(start + t * bytes + (bit >>> 3)) & (1 << (bit & 7))) != 0) return TIERS[t];
+        }
+        return null;
+    }
+
+    /**
+     * Numbers of one pool per tier (ascending); empty lists if the pool is not in the snapshot.
+     */
+    public static Map<Tier, List<Integer>> decode(byte[] data, PoolType poolType) {
+        Map<Tier, List<Integer>> out = new EnumMap<>(Tier.class);
+        for (Tier t : TIERS) out.put(t, new ArrayList<>());
+
+        ByteBuffer in = ByteBuffer.wrap(data);
+        int offset = findPool(in, poolType);
+        if (offset < 0) return out;
+
+        int min = in.getInt(offset + 1);
+        int span = in.getInt(offset + 5);
+        int bytes = bitmapBytes(span);
+        int start = offset + POOL_HEADER;
+
+        for (int t = 0; t < TIERS.length; t++) {
+            List<Integer> values = out.get(TIERS[t]);
+            for (int bit = 0; bit < span; bit++) {
+                if ((in.get(start + t * bytes + (bit >>> 3)) & (1 << (bit & 7))) != 0) values.add(min + bit);
+            }
+        }
+        return out;
+    }
+
+    // offset of the pool's header, or -1 (at most one entry per PoolType)
+    private static int findPool(ByteBuffer in, PoolType poolType) {
+        if (in.get(0) != FORMAT) throw new IllegalArgumentException("Unknown tier bitmap format: " + in.get(0));
+
+        int pools = in.get(1);
+        int offset = 2;
+        for (int p = 0; p < pools; p++) {
+            if (in.get(offset) == poolType.ordinal()) return offset;
+            offset += POOL_HEADER + 3 * bitmapBytes(in.getInt(offset + 5));
+        }
+        return -1;
+    }
+
+    private static int span(List<NumberBall> pool) {
+        IntSummaryStatistics stats = pool.stream().mapToInt(NumberBall::getNumberValue).summaryStatistics();
+        return stats.getCount() == 0 ? 0 : stats.getMax() - stats.getMin() + 1;
+    }
+
+    private static int bitmapBytes(int span) {
+        return (span + 7) >>> 3;
+    }
+
+    private static int tierIndex(Tier tier) {
+        if (tier == null) return -1;
+        return switch (tier) {
+            case HOT -> 0;
+            case MID -> 1;
+            case COLD -> 2;
+        };
+    }
+}
@@ -12,4 +12,8 @@ public record TierWindow(LocalDate start, LocalDate end) {
             throw new IllegalArgumentException("TierWindow start cannot be after end.");
         }
     }
+
+    public boolean contains(LocalDate date) {
+        return date != null && !date.isBefore(start) && !date.isAfter(end);
+    }
 }
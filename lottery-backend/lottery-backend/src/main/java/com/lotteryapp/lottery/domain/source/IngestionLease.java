@@ -0,0 +1,40 @@
+package com.lotteryapp.lottery.domain.source;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Cross-node lease for one ingestion key (e.g. "DRAW_BY_DATE:12:TX:2025-03-01").
+ *
+ * While held (expiresAt in the future, completedAt null) only the owner node fetches for the key.
+ * When the fetch succeeds the owner stores the result and completedAt; until expiresAt other
+ * nodes reuse that result instead of fetching again. Expired rows can be taken over by anyone
+ * and are deleted by IngestionLeases.purgeExpired.
+ */
+@Entity
+@Table(name = "ingestion_lease")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestionLease {
+
+    @Id
+    @Column(name = "lease_key", length = 128)
+    private String leaseKey;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Lob
+    @Column(name = "result_json")
+    private String resultJson;
+}
@@ -1,5 +1,7 @@
 package com.lotteryapp.lottery.dto.batch.request;
 
+import com.lotteryapp.lottery.domain.batch.BatchStorageMode;
+import com.lotteryapp.lottery.domain.batch.generator.TicketUniqueness;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -9,5 +11,9 @@ import java.util.List;
 public record SaveBatchRequest(
         @NotNull Long gameModeId,
         Boolean keepForever,
-        @NotEmpty @Valid List<SavedSpecResultRequest> specResults
+        @NotEmpty @Valid List<SavedSpecResultRequest> specResults,
+        // SEED_REPLAY needs the randomSeed (and uniqueness) the tickets were generated with
+        BatchStorageMode storageMode,
+        Long randomSeed,
+        TicketUniqueness uniqueness
 ) {}
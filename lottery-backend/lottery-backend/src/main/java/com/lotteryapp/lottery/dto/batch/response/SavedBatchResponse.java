@@ -12,6 +12,7 @@ public record SavedBatchResponse(
         Instant expiresAt,
         Boolean checked,
         String status,
+        String storageMode,
         List<TicketResponse> tickets,
         List<BatchCheckRecordResponse> checkRecords
 ) {}
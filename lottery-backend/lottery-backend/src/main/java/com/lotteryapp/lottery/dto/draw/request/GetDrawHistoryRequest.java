@@ -0,0 +1,20 @@
+package com.lotteryapp.lottery.dto.draw.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class GetDrawHistoryRequest {
+    @NotNull private Long gameModeId;
+    @NotNull private String stateCode;
+
+    // cursor: nextCursor of the previous page (exclusive); null = first page
+    private LocalDate afterDate;
+
+    @Min(1) @Max(500)
+    private Integer limit;
+}
@@ -0,0 +1,15 @@
+package com.lotteryapp.lottery.dto.draw.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DrawHistoryPageResponse {
+    private List<DrawResponse> draws;
+
+    // pass as afterDate for the next page; null when hasMore is false
+    private LocalDate nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,23 @@
+package com.lotteryapp.lottery.dto.draw.response;
+
+import com.lotteryapp.lottery.domain.gamemode.GameModeStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DrawSyncPlanEntryResponse {
+    private Long gameModeId;
+    private String stateCode;
+
+    private GameModeStatus status;
+
+    private LocalDate latestStoredDrawDate;
+    private LocalDate latestExpectedDrawDate;
+    private LocalDate nextDrawDate;
+
+    private int missingDrawCountEstimate;
+
+    // true when this run queued a background sync for the game
+    private boolean queued;
+}
@@ -0,0 +1,15 @@
+package com.lotteryapp.lottery.dto.draw.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DrawSyncPlanResponse {
+    private int gameCount;
+    private int outOfDateCount;
+    private int queuedCount;
+
+    // out-of-date games first, in backfill priority order
+    private List<DrawSyncPlanEntryResponse> entries;
+}
@@ -1,5 +1,6 @@
 package com.lotteryapp.lottery.dto.ticketgen.request;
 
+import com.lotteryapp.lottery.domain.batch.generator.TicketUniqueness;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -8,5 +9,6 @@ import java.util.List;
 
 public record GenerateBatchRequest(
         @NotNull Long gameModeId,
-        @NotEmpty @Valid List<TicketSpecRequest> ticketSpecs
+        @NotEmpty @Valid List<TicketSpecRequest> ticketSpecs,
+        TicketUniqueness uniqueness
 ) {}
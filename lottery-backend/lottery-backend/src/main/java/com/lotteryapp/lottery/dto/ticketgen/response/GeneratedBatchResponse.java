@@ -4,5 +4,6 @@ import java.util.List;
 
 public record GeneratedBatchResponse(
         List<GeneratedSpecResultResponse> specResults,
-        List<String> warnings
+        List<String> warnings,
+        Long randomSeed
 ) {}
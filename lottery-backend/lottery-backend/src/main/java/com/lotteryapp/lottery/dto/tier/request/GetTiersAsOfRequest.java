@@ -0,0 +1,20 @@
+package com.lotteryapp.lottery.dto.tier.request;
+
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetTiersAsOfRequest {
+    private Long gameModeId;
+    private LocalDate asOfDate;
+
+    // optional: both set -> response.tier is that number's tier on asOfDate
+    private PoolType poolType;
+    private Integer numberValue;
+}
@@ -0,0 +1,22 @@
+package com.lotteryapp.lottery.dto.tier.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreviewTierRequest {
+    private Long gameModeId;
+
+    // same defaults as the stored range (nulls -> format start / today)
+    private LocalDate tierRangeStartDate;
+    private LocalDate tierRangeEndDate;
+
+    // null -> default cutoffs
+    private Integer hotPct;
+    private Integer midPct;
+}
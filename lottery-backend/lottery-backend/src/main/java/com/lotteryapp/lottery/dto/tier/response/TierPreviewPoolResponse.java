@@ -0,0 +1,23 @@
+package com.lotteryapp.lottery.dto.tier.response;
+
+import com.lotteryapp.lottery.dto.numberball.response.NumberBallResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Previewed tiers of one pool. Each ball's statusChange is relative to its stored tier.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TierPreviewPoolResponse {
+    private List<NumberBallResponse> hot;
+    private List<NumberBallResponse> mid;
+    private List<NumberBallResponse> cold;
+
+    private int promotedCount;
+    private int demotedCount;
+}
@@ -0,0 +1,23 @@
+package com.lotteryapp.lottery.dto.tier.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TierPreviewResponse {
+    private Long gameModeId;
+
+    // resolved window and cutoffs the preview was computed for
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private int hotPct;
+    private int midPct;
+
+    private TierPreviewPoolResponse white;
+    private TierPreviewPoolResponse red;
+}
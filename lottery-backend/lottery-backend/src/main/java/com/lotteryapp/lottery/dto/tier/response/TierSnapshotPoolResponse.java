@@ -0,0 +1,16 @@
+package com.lotteryapp.lottery.dto.tier.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TierSnapshotPoolResponse {
+    private List<Integer> hot;
+    private List<Integer> mid;
+    private List<Integer> cold;
+}
@@ -0,0 +1,26 @@
+package com.lotteryapp.lottery.dto.tier.response;
+
+import com.lotteryapp.lottery.domain.numbers.Tier;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TierSnapshotResponse {
+    private Long gameModeId;
+    private LocalDate asOfDate;
+
+    // snapshot in force on asOfDate
+    private Long version;
+    private LocalDate effectiveDate;
+
+    private TierSnapshotPoolResponse white;
+    private TierSnapshotPoolResponse red;
+
+    // only when the request named a number
+    private Tier tier;
+}
@@ -0,0 +1,99 @@
+package com.lotteryapp.lottery.ingestion;
+
+import com.lotteryapp.lottery.domain.source.IngestionLease;
+import com.lotteryapp.lottery.repository.IngestionLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * DB lease rows (ingestion_lease) shared by all nodes. Every call runs in its own transaction,
+ * so a lease is visible to other nodes immediately, whatever the caller's transaction does.
+ *
+ * Rows past expiresAt (with any stored result) are deleted by purgeExpired, so the table only
+ * holds keys fetched within the last lease or shared-result window.
+ */
+@Component
+public class IngestionLeases {
+
+    /**
+     * acquired: this node now owns the key. sharedResult: another node completed the key recently.
+     * Neither: another node holds the key.
+     */
+    public record LeaseState(boolean acquired, String sharedResult) {
+
+        static LeaseState held() {
+            return new LeaseState(false, null);
+        }
+    }
+
+    private final IngestionLeaseRepository leaseRepository;
+    private final TransactionTemplate newTx;
+
+    // identifies this node (process) as lease owner
+    private final String owner = UUID.randomUUID().toString();
+
+    public IngestionLeases(IngestionLeaseRepository leaseRepository, PlatformTransactionManager transactionManager) {
+        this.leaseRepository = leaseRepository;
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public LeaseState acquire(String key, Duration ttl) {
+        try {
+            return newTx.execute(status -> acquireInTx(key, ttl));
+        } catch (DataIntegrityViolationException e) {
+            // another node inserted the key first
+            return LeaseState.held();
+        }
+    }
+
+    /**
+     * Stores the owner's result; other nodes reuse it until resultTtl passes.
+     */
+    public void complete(String key, String resultJson, Duration resultTtl) {
+        Instant now = Instant.now();
+        newTx.executeWithoutResult(status ->
+                leaseRepository.complete(key, owner, resultJson, now.plus(resultTtl), now)
+        );
+    }
+
+    public void release(String key) {
+        newTx.executeWithoutResult(status -> leaseRepository.release(key, owner));
+    }
+
+    @Scheduled(cron = "${lottery.ingestion.leasePurgeCron:0 */10 * * * *}")
+    public void purgeExpired() {
+        try {
+            newTx.executeWithoutResult(status -> leaseRepository.deleteExpired(Instant.now()));
+        } catch (RuntimeException ignored) {
+            // retried on the next run
+        }
+    }
+
+    private LeaseState acquireInTx(String key, Duration ttl) {
+        Instant now = Instant.now();
+        Optional<IngestionLease> existing = leaseRepository.findById(key);
+
+        if (existing.isEmpty()) {
+            leaseRepository.insertLease(key, owner, now.plus(ttl));
+            return new LeaseState(true, null);
+        }
+
+        IngestionLease lease = existing.get();
+        if (lease.getCompletedAt() != null && lease.getExpiresAt().isAfter(now) && lease.getResultJson() != null) {
+            return new LeaseState(false, lease.getResultJson());
+        }
+
+        boolean taken = leaseRepository.takeOver(key, owner, now.plus(ttl), now) == 1;
+        return taken ? new LeaseState(true, null) : LeaseState.held();
+    }
+}
@@ -30,13 +30,16 @@ public class IngestionService {
     private final ScheduleParserRegistry scheduleParserRegistry;
     private final GameListParserRegistry gameListParserRegistry;
 
+    private final IngestionSingleFlight singleFlight;
+
     public IngestionService(
             SourceRepository sourceRepository,
             DrawSourceClient drawSourceClient,
             DrawParserRegistry drawParserRegistry,
             RulesParserRegistry rulesParserRegistry,
             ScheduleParserRegistry scheduleParserRegistry,
-            GameListParserRegistry gameListParserRegistry
+            GameListParserRegistry gameListParserRegistry,
+            IngestionSingleFlight singleFlight
     ) {
         this.sourceRepository = sourceRepository;
         this.drawSourceClient = drawSourceClient;
@@ -44,6 +47,7 @@ public class IngestionService {
         this.rulesParserRegistry = rulesParserRegistry;
         this.scheduleParserRegistry = scheduleParserRegistry;
         this.gameListParserRegistry = gameListParserRegistry;
+        this.singleFlight = singleFlight;
     }
 
     // -----------------------------
@@ -70,7 +74,21 @@ public class IngestionService {
         return ingestDraws(gameModeId, stateCode, IngestionCapability.DRAW_HISTORY, null);
     }
 
+    // one fetch-and-parse per (game, state, capability, date) at a time, shared by concurrent callers
     private List<IngestedDraw> ingestDraws(Long gameModeId, String stateCode, IngestionCapability cap, LocalDate requestedDate) {
+        if (gameModeId == null) throw new BadRequestException("gameModeId is required");
+        if (normState(stateCode) == null) throw new BadRequestException("stateCode is required");
+
+        return singleFlight.fetchDraws(
+                gameModeId,
+                normState(stateCode),
+                cap,
+                requestedDate,
+                () -> fetchDraws(gameModeId, stateCode, cap, requestedDate)
+        );
+    }
+
+    private List<IngestedDraw> fetchDraws(Long gameModeId, String stateCode, IngestionCapability cap, LocalDate requestedDate) {
         List<Source> sources = loadSources(gameModeId, stateCode);
         List<IngestionFailure.Attempt> attempts = new ArrayList<>();
 
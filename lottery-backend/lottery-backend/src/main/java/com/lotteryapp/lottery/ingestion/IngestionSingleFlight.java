@@ -0,0 +1,237 @@
+package com.lotteryapp.lottery.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lotteryapp.lottery.ingestion.model.IngestedDraw;
+import com.lotteryapp.lottery.ingestion.model.IngestionCapability;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent draw fetches for the same (gameModeId, stateCode, capability, date).
+ *
+ * - in this node: the first caller fetches, concurrent callers wait for and share its result
+ *   (or its exception)
+ * - across nodes: the fetching caller first takes the key's IngestionLeases row. If another node
+ *   holds it, the caller polls until that node publishes its result (reused as is), the lease
+ *   expires, or leaseWaitSeconds pass (then it fetches without a lease). The wait is kept short
+ *   because request threads (draw reads) block on it; the worst case is one extra upstream fetch
+ *
+ * Published results are reused for sharedResultSeconds, so a burst of "latest" reads right after
+ * a draw lands costs one upstream fetch. DRAW_HISTORY results, and any result larger than
+ * MAX_SHARED_RESULT_CHARS, are not published: the lease is released and only coalesces the fetch.
+ *
+ * Waiting blocks the calling thread, so callers must not hold a transaction (DrawService fetches
+ * between its read and save transactions).
+ */
+@Component
+public class IngestionSingleFlight {
+
+    // largest JSON result stored on a lease row for other nodes (a few hundred draws)
+    private static final int MAX_SHARED_RESULT_CHARS = 64 * 1024;
+
+    private record Key(Long gameModeId, String stateCode, IngestionCapability capability, LocalDate date) {
+
+        String leaseKey() {
+            return capability + ":" + gameModeId + ":" + stateCode + ":" + (date == null ? "-" : date);
+        }
+    }
+
+    // JSON shape of a shared IngestedDraw (java.time values as ISO strings)
+    private record SharedDraw(
+            Long sourceId,
+            String fetchedAt,
+            Map<String, Object> meta,
+            String drawDate,
+            List<Integer> whiteNumbers,
+            List<Integer> redNumbers,
+            Integer multiplier,
+            Long jackpotAmount,
+            Long cashValue,
+            String drawTimeLocal,
+            String drawTimeZoneId
+    ) {}
+
+    private final IngestionLeases leases;
+    private final Duration leaseTtl;
+    private final Duration leaseWait;
+    private final Duration sharedResultTtl;
+    private final long pollMillis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Key, CompletableFuture<List<IngestedDraw>>> inFlight = new ConcurrentHashMap<>();
+
+    public IngestionSingleFlight(
+            IngestionLeases leases,
+            @Value("${lottery.ingestion.leaseSeconds:60}") long leaseSeconds,
+            @Value("${lottery.ingestion.leaseWaitSeconds:5}") long leaseWaitSeconds,
+            @Value("${lottery.ingestion.sharedResultSeconds:30}") long sharedResultSeconds,
+            @Value("${lottery.ingestion.leasePollMillis:250}") long pollMillis
+    ) {
+        this.leases = leases;
+        this.leaseTtl = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.leaseWait = Duration.ofSeconds(Math.max(0, Math.min(leaseWaitSeconds, leaseSeconds)));
+        this.sharedResultTtl = Duration.ofSeconds(Math.max(0, sharedResultSeconds));
+        this.pollMillis = Math.max(10, pollMillis);
+    }
+
+    public List<IngestedDraw> fetchDraws(
+            Long gameModeId,
+            String stateCode,
+            IngestionCapability capability,
+            LocalDate date,
+            Supplier<List<IngestedDraw>> fetch
+    ) {
+        Key key = new Key(gameModeId, stateCode, capability, date);
+
+        CompletableFuture<List<IngestedDraw>> mine = new CompletableFuture<>();
+        CompletableFuture<List<IngestedDraw>> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) return join(running);
+
+        try {
+            mine.complete(List.copyOf(fetchAcrossNodes(key, fetch)));
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+        return join(mine);
+    }
+
+    private List<IngestedDraw> fetchAcrossNodes(Key key, Supplier<List<IngestedDraw>> fetch) {
+        String leaseKey = key.leaseKey();
+        Instant deadline = Instant.now().plus(leaseWait);
+
+        while (true) {
+            IngestionLeases.LeaseState state;
+            try {
+                state = leases.acquire(leaseKey, leaseTtl);
+            } catch (RuntimeException e) {
+                // lease table unavailable: coalescing within this node still applies
+                return fetch.get();
+            }
+
+            if (state.sharedResult() != null) {
+                List<IngestedDraw> shared = decode(key, state.sharedResult());
+                return shared != null ? shared : fetch.get();
+            }
+
+            if (state.acquired()) return fetchUnderLease(leaseKey, key, fetch);
+
+            if (!Instant.now().isBefore(deadline) || !sleep()) return fetch.get();
+        }
+    }
+
+    private List<IngestedDraw> fetchUnderLease(String leaseKey, Key key, Supplier<List<IngestedDraw>> fetch) {
+        List<IngestedDraw> result;
+        try {
+            result = fetch.get();
+        } catch (RuntimeException e) {
+            releaseQuietly(leaseKey);
+            throw e;
+        }
+
+        String json = shareable(key) ? encode(result) : null;
+        boolean publish = json != null && json.length() <= MAX_SHARED_RESULT_CHARS && !sharedResultTtl.isZero();
+        try {
+            if (!publish) leases.release(leaseKey);
+            else leases.complete(leaseKey, json, sharedResultTtl);
+        } catch (RuntimeException ignored) {
+            // the lease expires on its own
+        }
+        return result;
+    }
+
+    // a full history is thousands of draws; it is fetched once per backfill, not re-read in bursts
+    private static boolean shareable(Key key) {
+        return key.capability() != IngestionCapability.DRAW_HISTORY;
+    }
+
+    private void releaseQuietly(String leaseKey) {
+        try {
+            leases.release(leaseKey);
+        } catch (RuntimeException ignored) {
+            // the lease expires on its own
+        }
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(pollMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static List<IngestedDraw> join(CompletableFuture<List<IngestedDraw>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private String encode(List<IngestedDraw> draws) {
+        List<SharedDraw> shared = draws.stream()
+                .map(d -> new SharedDraw(
+                        d.getSourceId(),
+                        d.getFetchedAt() == null ? null : d.getFetchedAt().toString(),
+                        d.getMeta(),
+                        d.getDrawDate() == null ? null : d.getDrawDate().toString(),
+                        d.getWhiteNumbers(),
+                        d.getRedNumbers(),
+                        d.getMultiplier(),
+                        d.getJackpotAmount(),
+                        d.getCashValue(),
+                        d.getDrawTimeLocal() == null ? null : d.getDrawTimeLocal().toString(),
+                        d.getDrawTimeZoneId()
+                ))
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(shared);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    // null if the stored result cannot be read (then the caller fetches itself)
+    private List<IngestedDraw> decode(Key key, String json) {
+        try {
+            List<SharedDraw> shared = objectMapper.readValue(json, new TypeReference<List<SharedDraw>>() {});
+            return shared.stream()
+                    .map(s -> IngestedDraw.builder()
+                            .gameModeId(key.gameModeId())
+                            .stateCode(key.stateCode())
+                            .sourceId(s.sourceId())
+                            .fetchedAt(s.fetchedAt() == null ? null : Instant.parse(s.fetchedAt()))
+                            .meta(s.meta())
+                            .drawDate(s.drawDate() == null ? null : LocalDate.parse(s.drawDate()))
+                            .whiteNumbers(s.whiteNumbers())
+                            .redNumbers(s.redNumbers())
+                            .multiplier(s.multiplier())
+                            .jackpotAmount(s.jackpotAmount())
+                            .cashValue(s.cashValue())
+                            .drawTimeLocal(s.drawTimeLocal() == null ? null : LocalTime.parse(s.drawTimeLocal()))
+                            .drawTimeZoneId(s.drawTimeZoneId())
+                            .build())
+                    .toList();
+        } catch (JsonProcessingException | RuntimeException e) {
+            return null;
+        }
+    }
+}
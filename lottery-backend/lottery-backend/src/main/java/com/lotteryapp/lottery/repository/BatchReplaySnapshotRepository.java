@@ -0,0 +1,11 @@
+package com.lotteryapp.lottery.repository;
+
+import com.lotteryapp.lottery.domain.batch.BatchReplaySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface BatchReplaySnapshotRepository extends JpaRepository<BatchReplaySnapshot, Long> {
+
+    Optional<BatchReplaySnapshot> findByFingerprint(String fingerprint);
+}
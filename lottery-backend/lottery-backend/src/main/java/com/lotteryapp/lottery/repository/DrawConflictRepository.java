@@ -4,8 +4,12 @@ import com.lotteryapp.lottery.domain.draw.DrawConflict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface DrawConflictRepository extends JpaRepository<DrawConflict, Long> {
@@ -17,4 +21,22 @@ public interface DrawConflictRepository extends JpaRepository<DrawConflict, Long
     long countByGameModeId(Long gameModeId);
 
     Page<DrawConflict> findByGameModeIdOrderByDrawDateDesc(Long gameModeId, Pageable pageable);
+
+    @Query("""
+        select c.drawResult.id as drawResultId, c.id as id, c.acknowledged as acknowledged
+        from DrawConflict c
+        where c.drawResult.id in :drawResultIds
+    """)
+    List<DrawConflictRow> findRowsByDrawResultIdIn(@Param("drawResultIds") Collection<Long> drawResultIds);
+
+    @Query("""
+        select c.drawResult.id as drawResultId, c.id as id, c.acknowledged as acknowledged
+        from DrawConflict c
+        where c.gameModeId = :gameModeId and c.drawDate between :start and :end
+    """)
+    List<DrawConflictRow> findRowsByGameModeIdAndDrawDateBetween(
+            @Param("gameModeId") Long gameModeId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
 }
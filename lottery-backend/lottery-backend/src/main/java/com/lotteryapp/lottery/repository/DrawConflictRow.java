@@ -0,0 +1,13 @@
+package com.lotteryapp.lottery.repository;
+
+/**
+ * Conflict fields shown on a draw response.
+ */
+public interface DrawConflictRow {
+
+    Long getDrawResultId();
+
+    Long getId();
+
+    Boolean getAcknowledged();
+}
@@ -0,0 +1,15 @@
+package com.lotteryapp.lottery.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Packed numbers of one draw (PackedDrawNumbers order format).
+ */
+public interface DrawPackedRow {
+
+    LocalDate getDrawDate();
+
+    byte[] getWhiteOrder();
+
+    byte[] getRedOrder();
+}
@@ -0,0 +1,18 @@
+package com.lotteryapp.lottery.repository;
+
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+
+import java.time.LocalDate;
+
+/**
+ * Flat (drawDate, poolType, numberValue) projection of DrawPick, used to build frequency
+ * indexes without loading DrawResult entities.
+ */
+public interface DrawPickRow {
+
+    LocalDate getDrawDate();
+
+    PoolType getPoolType();
+
+    Integer getNumberValue();
+}
@@ -0,0 +1,17 @@
+package com.lotteryapp.lottery.repository;
+
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+
+/**
+ * One row per DrawPick, for draws whose numbers are not packed yet.
+ */
+public interface DrawReadRow {
+
+    Long getDrawId();
+
+    PoolType getPoolType();
+
+    Integer getPosition();
+
+    Integer getNumberValue();
+}
@@ -1,12 +1,19 @@
 package com.lotteryapp.lottery.repository;
 
 import com.lotteryapp.lottery.domain.draw.DrawResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DrawResultRepository extends JpaRepository<DrawResult, Long> {
 
@@ -21,4 +28,118 @@ public interface DrawResultRepository extends JpaRepository<DrawResult, Long> {
             LocalDate start,
             LocalDate end
     );
+
+    // picks of draws not packed yet (packed draws are read with findSummaryRowsByGameModeIdAndDrawDateBetween)
+    @Query("""
+        select d.drawDate as drawDate, p.poolType as poolType, p.numberValue as numberValue
+        from DrawResult d
+        join d.picks p
+        where d.gameMode.id = :gameModeId and (d.whiteOrder is null or d.redOrder is null)
+        order by d.drawDate asc
+    """)
+    List<DrawPickRow> findPickRowsByGameModeId(@Param("gameModeId") Long gameModeId);
+
+    @Query("select max(d.drawDate) from DrawResult d where d.gameMode.id = :gameModeId")
+    LocalDate findLatestDrawDateByGameModeId(@Param("gameModeId") Long gameModeId);
+
+    @Query("""
+        select d.gameMode.id as gameModeId, max(d.drawDate) as latestDrawDate
+        from DrawResult d
+        group by d.gameMode.id
+    """)
+    List<GameModeLatestDrawRow> findLatestDrawDates();
+
+    boolean existsByGameModeIdAndDrawDateBetween(Long gameModeId, LocalDate start, LocalDate end);
+
+    @Query("""
+        select d.id
+        from DrawResult d
+        where d.gameMode.id = :gameModeId
+        order by d.drawDate desc
+    """)
+    List<Long> findIdsByGameModeIdOrderByDrawDateDesc(@Param("gameModeId") Long gameModeId, Pageable pageable);
+
+    @Query("""
+        select d.id as drawId, d.drawDate as drawDate, d.origin as origin,
+               d.whiteOrder as whiteOrder, d.redOrder as redOrder
+        from DrawResult d
+        where d.gameMode.id = :gameModeId and d.drawDate between :start and :end
+        order by d.drawDate asc
+    """)
+    List<DrawSummaryRow> findSummaryRowsByGameModeIdAndDrawDateBetween(
+            @Param("gameModeId") Long gameModeId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
+
+    // keyset page: pass from = day after the previous page's last drawDate
+    @Query("""
+        select d.id as drawId, d.drawDate as drawDate, d.origin as origin,
+               d.whiteOrder as whiteOrder, d.redOrder as redOrder
+        from DrawResult d
+        where d.gameMode.id = :gameModeId and d.drawDate >= :from and d.drawDate <= :end
+        order by d.drawDate asc
+    """)
+    List<DrawSummaryRow> findSummaryPageByGameModeId(
+            @Param("gameModeId") Long gameModeId,
+            @Param("from") LocalDate from,
+            @Param("end") LocalDate end,
+            Pageable pageable
+    );
+
+    // must be consumed inside a transaction and closed; rows are fetched from the driver in batches
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select d
+        from DrawResult d
+        where d.gameMode.id = :gameModeId and d.drawDate between :start and :end
+        order by d.drawDate asc
+    """)
+    Stream<DrawResult> streamByGameModeIdAndDrawDateBetween(
+            @Param("gameModeId") Long gameModeId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
+
+    @Query("""
+        select d.id as drawId, d.drawDate as drawDate, d.origin as origin,
+               d.whiteOrder as whiteOrder, d.redOrder as redOrder
+        from DrawResult d
+        where d.id in :ids
+        order by d.drawDate desc
+    """)
+    List<DrawSummaryRow> findSummaryRowsByIdInOrderByDrawDateDesc(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        select d.id as drawId, p.poolType as poolType, p.position as position, p.numberValue as numberValue
+        from DrawResult d
+        join d.picks p
+        where d.id in :ids
+        order by d.id asc, p.poolType asc, p.position asc
+    """)
+    List<DrawReadRow> findPickReadRowsByDrawIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        select d.drawDate as drawDate, d.whiteOrder as whiteOrder, d.redOrder as redOrder
+        from DrawResult d
+        where d.gameMode.id = :gameModeId and d.whiteOrder is not null and d.redOrder is not null
+        order by d.drawDate asc
+    """)
+    List<DrawPackedRow> findPackedRowsByGameModeId(@Param("gameModeId") Long gameModeId);
+
+    @Query("""
+        select d.id
+        from DrawResult d
+        where d.id > :afterId and (d.whiteOrder is null or d.redOrder is null)
+        order by d.id asc
+    """)
+    List<Long> findUnpackedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        select distinct d
+        from DrawResult d
+        left join fetch d.picks
+        where d.id in :ids
+    """)
+    List<DrawResult> findWithPicksByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,21 @@
+package com.lotteryapp.lottery.repository;
+
+import com.lotteryapp.lottery.domain.draw.DrawOrigin;
+
+import java.time.LocalDate;
+
+/**
+ * One row per DrawResult with its packed numbers (null orders = not packed yet, read picks).
+ */
+public interface DrawSummaryRow {
+
+    Long getDrawId();
+
+    LocalDate getDrawDate();
+
+    DrawOrigin getOrigin();
+
+    byte[] getWhiteOrder();
+
+    byte[] getRedOrder();
+}
@@ -0,0 +1,10 @@
+package com.lotteryapp.lottery.repository;
+
+import java.time.LocalDate;
+
+public interface GameModeLatestDrawRow {
+
+    Long getGameModeId();
+
+    LocalDate getLatestDrawDate();
+}
@@ -46,4 +46,14 @@ public interface GameModeRepository extends JpaRepository<GameMode, Long> {
             @Param("stateCode") String stateCode,
             Pageable pageable
     );
+
+    @Query("""
+        select gm.id as gameModeId, j.code as stateCode, gm.drawTimeLocal as drawTimeLocal,
+               gm.drawTimeZoneId as drawTimeZoneId, dd as drawDay
+        from GameMode gm
+        left join gm.jurisdiction j
+        left join gm.drawDays dd
+        order by gm.id asc
+    """)
+    List<GameModeScheduleRow> findScheduleRows();
 }
@@ -0,0 +1,21 @@
+package com.lotteryapp.lottery.repository;
+
+import com.lotteryapp.lottery.domain.gamemode.DrawDay;
+
+import java.time.LocalTime;
+
+/**
+ * One row per (game mode, draw day); drawDay is null for a game without draw days.
+ */
+public interface GameModeScheduleRow {
+
+    Long getGameModeId();
+
+    String getStateCode();
+
+    LocalTime getDrawTimeLocal();
+
+    String getDrawTimeZoneId();
+
+    DrawDay getDrawDay();
+}
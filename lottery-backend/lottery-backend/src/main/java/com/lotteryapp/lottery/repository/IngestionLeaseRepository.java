@@ -0,0 +1,60 @@
+package com.lotteryapp.lottery.repository;
+
+import com.lotteryapp.lottery.domain.source.IngestionLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IngestionLeaseRepository extends JpaRepository<IngestionLease, String> {
+
+    // plain insert: fails on an existing key instead of merging over another node's lease
+    @Modifying
+    @Query(
+            value = "insert into ingestion_lease (lease_key, owner, expires_at) values (:leaseKey, :owner, :expiresAt)",
+            nativeQuery = true
+    )
+    int insertLease(
+            @Param("leaseKey") String leaseKey,
+            @Param("owner") String owner,
+            @Param("expiresAt") Instant expiresAt
+    );
+
+    @Modifying
+    @Query("""
+            update IngestionLease l
+               set l.owner = :owner, l.expiresAt = :expiresAt, l.completedAt = null, l.resultJson = null
+             where l.leaseKey = :leaseKey and (l.expiresAt < :now or l.owner = :owner)
+            """)
+    int takeOver(
+            @Param("leaseKey") String leaseKey,
+            @Param("owner") String owner,
+            @Param("expiresAt") Instant expiresAt,
+            @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("""
+            update IngestionLease l
+               set l.completedAt = :now, l.resultJson = :resultJson, l.expiresAt = :expiresAt
+             where l.leaseKey = :leaseKey and l.owner = :owner
+            """)
+    int complete(
+            @Param("leaseKey") String leaseKey,
+            @Param("owner") String owner,
+            @Param("resultJson") String resultJson,
+            @Param("expiresAt") Instant expiresAt,
+            @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("delete from IngestionLease l where l.leaseKey = :leaseKey and l.owner = :owner")
+    int release(@Param("leaseKey") String leaseKey, @Param("owner") String owner);
+
+    // expired rows (released, abandoned or past their shared-result window)
+    @Modifying
+    @Query("delete from IngestionLease l where l.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,20 @@
+package com.lotteryapp.lottery.repository;
+
+import com.lotteryapp.lottery.domain.numbers.TierSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TierSnapshotRepository extends JpaRepository<TierSnapshot, Long> {
+
+    Optional<TierSnapshot> findTopByGameModeIdOrderByVersionDesc(Long gameModeId);
+
+    Optional<TierSnapshot> findTopByGameModeIdAndEffectiveDateLessThanEqualOrderByEffectiveDateDescVersionDesc(
+            Long gameModeId,
+            LocalDate date
+    );
+
+    List<TierSnapshot> findByGameModeIdAndEffectiveDateGreaterThanEqual(Long gameModeId, LocalDate date);
+}
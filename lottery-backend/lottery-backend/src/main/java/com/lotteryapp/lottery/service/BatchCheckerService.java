@@ -7,6 +7,7 @@ import com.lotteryapp.lottery.domain.batch.BatchCheckRecord;
 import com.lotteryapp.lottery.domain.batch.SavedBatch;
 import com.lotteryapp.lottery.domain.batch.Ticket;
 import com.lotteryapp.lottery.domain.batch.TicketPick;
+import com.lotteryapp.lottery.domain.draw.PackedDrawNumbers;
 import com.lotteryapp.lottery.domain.gamemode.GameMode;
 import com.lotteryapp.lottery.domain.gamemode.Rules;
 import com.lotteryapp.lottery.domain.numbers.PoolType;
@@ -15,16 +16,15 @@ import com.lotteryapp.lottery.dto.batch.response.BatchCheckRecordResponse;
 import com.lotteryapp.lottery.dto.batch.response.BatchCheckResponse;
 import com.lotteryapp.lottery.dto.draw.response.DrawResponse;
 import com.lotteryapp.lottery.repository.*;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class BatchCheckerService {
 
     private final SavedBatchRepository savedBatchRepository;
@@ -32,15 +32,50 @@ public class BatchCheckerService {
     private final BatchCheckRecordRepository recordRepository;
     private final DrawService drawService;
     private final GameModeRepository gameModeRepository;
+    private final BatchReplayService batchReplayService;
+    private final TransactionTemplate tx;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Transactional
+    public BatchCheckerService(
+            SavedBatchRepository savedBatchRepository,
+            TicketRepository ticketRepository,
+            BatchCheckRecordRepository recordRepository,
+            DrawService drawService,
+            GameModeRepository gameModeRepository,
+            BatchReplayService batchReplayService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.savedBatchRepository = savedBatchRepository;
+        this.ticketRepository = ticketRepository;
+        this.recordRepository = recordRepository;
+        this.drawService = drawService;
+        this.gameModeRepository = gameModeRepository;
+        this.batchReplayService = batchReplayService;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    // what checkBatch needs before the winning numbers are known
+    private record CheckTarget(Long gameModeId, String stateCode, int maxWhitePick) {}
+
+    /**
+     * The winning numbers are resolved between two transactions: DrawService may have to fetch
+     * the draw upstream first, which must not happen inside one.
+     */
     public BatchCheckResponse checkBatch(BatchCheckRequest request) {
         if (request == null) throw new BadRequestException("Request is required.");
         if (request.batchId() == null) throw new BadRequestException("batchId is required.");
 
-        SavedBatch batch = savedBatchRepository.findById(request.batchId())
-                .orElseThrow(() -> new NotFoundException("SavedBatch not found: " + request.batchId()));
+        CheckTarget target = tx.execute(status -> checkTarget(request.batchId()));
+
+        // Get winning numbers via the correct service
+        DrawResponse draw = drawService.getWinningNumbersForCheck(target.gameModeId(), target.stateCode(), request.drawDate());
+
+        return tx.execute(status -> check(request.batchId(), target.maxWhitePick(), draw));
+    }
+
+    private CheckTarget checkTarget(Long batchId) {
+        SavedBatch batch = savedBatchRepository.findById(batchId)
+                .orElseThrow(() -> new NotFoundException("SavedBatch not found: " + batchId));
 
         Long gameModeId = (batch.getGameMode() == null) ? null : batch.getGameMode().getId();
         if (gameModeId == null) throw new BadRequestException("SavedBatch is missing gameMode link.");
@@ -59,19 +94,26 @@ public class BatchCheckerService {
             throw new BadRequestException("Rules.whitePickCount is required to check a batch.");
         }
 
-        // Get winning numbers via the correct service
-        DrawResponse draw = drawService.getWinningNumbersForCheck(gameModeId, stateCode, request.drawDate());
+        return new CheckTarget(gameModeId, stateCode, maxWhitePick);
+    }
+
+    private BatchCheckResponse check(Long batchId, int maxWhitePick, DrawResponse draw) {
+        SavedBatch batch = savedBatchRepository.findById(batchId)
+                .orElseThrow(() -> new NotFoundException("SavedBatch not found: " + batchId));
         LocalDate drawDate = draw.getDrawDate();
 
-        List<Ticket> tickets = ticketRepository.findBySavedBatch_IdOrderBySpecNumberAscTicketNumberAsc(batch.getId());
+        List<Ticket> tickets = batch.isSeedReplay()
+                ? batchReplayService.replayTickets(batch)
+                : ticketRepository.findBySavedBatch_IdOrderBySpecNumberAscTicketNumberAsc(batch.getId());
         if (tickets.isEmpty()) throw new BadRequestException("Batch has no tickets.");
 
         // Group tickets by specNumber (spec-level records)
         Map<Integer, List<Ticket>> bySpec = tickets.stream()
                 .collect(Collectors.groupingBy(Ticket::getSpecNumber, TreeMap::new, Collectors.toList()));
 
-        Set<Integer> winningWhite = new HashSet<>(safe(draw.getWhiteNumbers()));
-        Set<Integer> winningRed = new HashSet<>(safe(draw.getRedNumbers()));
+        // bit masks of the winning numbers: each ticket number is one word lookup
+        long[] winningWhite = PackedDrawNumbers.words(draw.getWhiteNumbers());
+        long[] winningRed = PackedDrawNumbers.words(draw.getRedNumbers());
 
         List<BatchCheckRecordResponse> specRecords = new ArrayList<>();
 
@@ -135,8 +177,8 @@ public class BatchCheckerService {
 
     private SpecStats computeSpecStats(
             List<Ticket> tickets,
-            Set<Integer> winningWhite,
-            Set<Integer> winningRed,
+            long[] winningWhite,
+            long[] winningRed,
             int maxWhitePick
     ) {
         int total = tickets.size();
@@ -153,12 +195,12 @@ public class BatchCheckerService {
 
             int whiteHits = 0;
             for (Integer n : white) {
-                if (n != null && winningWhite.contains(n)) whiteHits++;
+                if (n != null && PackedDrawNumbers.contains(winningWhite, n)) whiteHits++;
             }
 
             boolean redHit = false;
             for (Integer n : red) {
-                if (n != null && winningRed.contains(n)) {
+                if (n != null && PackedDrawNumbers.contains(winningRed, n)) {
                     redHit = true;
                     break;
                 }
@@ -207,10 +249,6 @@ public class BatchCheckerService {
         }
     }
 
-    private <T> List<T> safe(List<T> in) {
-        return in == null ? List.of() : in;
-    }
-
     private static class SpecStats {
         final double pctAnyHit;
         final double pctRedHit;
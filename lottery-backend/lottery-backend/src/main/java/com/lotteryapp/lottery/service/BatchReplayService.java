@@ -0,0 +1,305 @@
+package com.lotteryapp.lottery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lotteryapp.common.exception.BadRequestException;
+import com.lotteryapp.lottery.domain.batch.BatchReplaySnapshot;
+import com.lotteryapp.lottery.domain.batch.BatchStorageMode;
+import com.lotteryapp.lottery.domain.batch.SavedBatch;
+import com.lotteryapp.lottery.domain.batch.Ticket;
+import com.lotteryapp.lottery.domain.batch.TicketPick;
+import com.lotteryapp.lottery.domain.batch.generator.*;
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+import com.lotteryapp.lottery.domain.group.TicketGroup;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+import com.lotteryapp.lottery.dto.batch.request.SaveBatchRequest;
+import com.lotteryapp.lottery.dto.batch.request.SavedSpecResultRequest;
+import com.lotteryapp.lottery.dto.batch.request.SavedTicketRequest;
+import com.lotteryapp.lottery.dto.ticketgen.request.GenerateBatchRequest;
+import com.lotteryapp.lottery.dto.ticketgen.request.TicketSpecRequest;
+import com.lotteryapp.lottery.repository.BatchReplaySnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * SEED_REPLAY storage for saved batches.
+ *
+ * Instead of Ticket/TicketPick rows a batch keeps:
+ * - the seed and TicketGeneratorEngine.VERSION
+ * - a replay plan (options + specs, with the group settings and exclusions that were used)
+ * - a BatchReplaySnapshot of the compiled tier pools and rules, shared by fingerprint
+ *
+ * The engine is deterministic for (inputs, seed), so tickets are regenerated exactly on read,
+ * even after the game's tiers have moved on.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchReplayService {
+
+    private final TicketGeneratorService ticketGeneratorService;
+    private final BatchReplaySnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final TicketGeneratorEngine engine = new TicketGeneratorEngine();
+
+    /**
+     * Regenerates the request's specs with its seed against the current generation plan.
+     * If that reproduces the submitted tickets exactly, the batch is switched to SEED_REPLAY
+     * (replay fields set, no tickets added) and true is returned.
+     * Returns false when the tickets do not match (e.g. tiers changed since they were generated);
+     * the caller should then store the tickets themselves.
+     */
+    public boolean recordReplay(SavedBatch batch, SaveBatchRequest request) {
+        if (request.randomSeed() == null) {
+            throw new BadRequestException("randomSeed is required for SEED_REPLAY storage.");
+        }
+
+        List<TicketSpecRequest> specRequests = request.specResults().stream()
+                .map(s -> new TicketSpecRequest(s.ticketCount(), s.whiteGroupId(), s.redGroupId(), s.excludeLastDrawNumbers()))
+                .toList();
+
+        TicketGeneratorService.PreparedGeneration prepared = ticketGeneratorService.prepare(
+                new GenerateBatchRequest(request.gameModeId(), specRequests, request.uniqueness())
+        );
+
+        GeneratorContext ctx = prepared.ctx().withOptions(prepared.ctx().options().withRandomSeed(request.randomSeed()));
+        GeneratedBatch generated = engine.generate(ctx, prepared.specs());
+
+        if (!matches(generated, request.specResults())) return false;
+
+        String payload = writeJson(new ReplaySnapshot(
+                RulesSnapshot.of(ctx.rules()),
+                PoolSnapshot.of(ctx.whitePool()),
+                PoolSnapshot.of(ctx.redPool())
+        ));
+        String fingerprint = sha256Hex(payload);
+
+        BatchReplaySnapshot snapshot = snapshotRepository.findByFingerprint(fingerprint)
+                .orElseGet(() -> snapshotRepository.save(BatchReplaySnapshot.builder()
+                        .fingerprint(fingerprint)
+                        .payloadJson(payload)
+                        .build()));
+
+        List<SpecSnapshot> specs = prepared.specs().stream().map(SpecSnapshot::of).toList();
+        GeneratorOptions options = ctx.options();
+
+        batch.setStorageMode(BatchStorageMode.SEED_REPLAY);
+        batch.setRandomSeed(request.randomSeed());
+        batch.setEngineVersion(TicketGeneratorEngine.VERSION);
+        batch.setReplayPlanJson(writeJson(new ReplayPlan(options.temperature(), options.alpha(), options.uniqueness(), specs)));
+        batch.setReplaySnapshot(snapshot);
+        return true;
+    }
+
+    /**
+     * Regenerates a SEED_REPLAY batch's tickets (transient, never persisted), ordered by
+     * specNumber then ticketNumber. Group references only carry their id.
+     */
+    public List<Ticket> replayTickets(SavedBatch batch) {
+        if (!Objects.equals(batch.getEngineVersion(), TicketGeneratorEngine.VERSION)) {
+            throw new BadRequestException("SavedBatch " + batch.getId() + " was generated by engine version "
+                    + batch.getEngineVersion() + " and cannot be replayed by version " + TicketGeneratorEngine.VERSION + ".");
+        }
+        if (batch.getRandomSeed() == null || batch.getReplayPlanJson() == null || batch.getReplaySnapshot() == null) {
+            throw new BadRequestException("SavedBatch is missing seed-replay data: " + batch.getId());
+        }
+
+        ReplayPlan plan = readJson(batch.getReplayPlanJson(), ReplayPlan.class);
+        ReplaySnapshot snapshot = readJson(batch.getReplaySnapshot().getPayloadJson(), ReplaySnapshot.class);
+
+        GeneratorContext ctx = new GeneratorContext(
+                snapshot.rules().toRules(),
+                PoolSnapshot.toPool(snapshot.white()),
+                PoolSnapshot.toPool(snapshot.red()),
+                new GeneratorOptions(plan.temperature(), plan.alpha(), batch.getRandomSeed(), false, plan.uniqueness())
+        );
+
+        List<GeneratorSpec> specs = plan.specs().stream().map(SpecSnapshot::toSpec).toList();
+        GeneratedBatch generated = engine.generate(ctx, specs);
+
+        List<Ticket> out = new ArrayList<>();
+        for (GeneratedSpecResult spec : generated.getSpecResults()) {
+            TicketGroup whiteGroup = groupRef(spec.getWhiteGroupId());
+            TicketGroup redGroup = groupRef(spec.getRedGroupId());
+
+            for (GeneratedSpecTicket t : spec.getTickets()) {
+                Ticket ticket = Ticket.builder()
+                        .savedBatch(batch)
+                        .specNumber(spec.getSpecNumber())
+                        .ticketNumber(t.ticketNumber())
+                        .excludeLastDrawNumbers(spec.isExcludeLastDrawNumbers())
+                        .whiteGroup(whiteGroup)
+                        .redGroup(redGroup)
+                        .build();
+
+                List<TicketPick> picks = new ArrayList<>();
+                addPicks(ticket, picks, PoolType.WHITE, t.picks().white());
+                addPicks(ticket, picks, PoolType.RED, t.picks().red());
+                ticket.setPicks(picks);
+
+                out.add(ticket);
+            }
+        }
+        return out;
+    }
+
+    private boolean matches(GeneratedBatch generated, List<SavedSpecResultRequest> submitted) {
+        List<GeneratedSpecResult> specs = generated.getSpecResults();
+        if (specs.size() != submitted.size()) return false;
+
+        for (int i = 0; i < specs.size(); i++) {
+            List<GeneratedSpecTicket> tickets = specs.get(i).getTickets();
+            List<SavedTicketRequest> saved = submitted.get(i).tickets();
+            if (saved == null || tickets.size() != saved.size()) return false;
+
+            Map<Integer, SavedTicketRequest> byNumber = new HashMap<>();
+            for (SavedTicketRequest t : saved) byNumber.put(t.ticketNumber(), t);
+
+            for (GeneratedSpecTicket t : tickets) {
+                SavedTicketRequest s = byNumber.get(t.ticketNumber());
+                if (s == null || s.picks() == null) return false;
+                if (!sameValues(t.picks().white(), s.picks().white())) return false;
+                if (!sameValues(t.picks().red(), s.picks().red())) return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameValues(int[] generated, List<Integer> saved) {
+        if (saved == null || saved.size() != generated.length) return false;
+        for (int i = 0; i < generated.length; i++) {
+            if (!Objects.equals(saved.get(i), generated[i])) return false;
+        }
+        return true;
+    }
+
+    private void addPicks(Ticket ticket, List<TicketPick> picks, PoolType poolType, int[] values) {
+        int pos = 1;
+        for (int n : values) {
+            picks.add(TicketPick.builder()
+                    .ticket(ticket)
+                    .poolType(poolType)
+                    .position(pos++)
+                    .numberValue(n)
+                    .build());
+        }
+    }
+
+    private TicketGroup groupRef(Long groupId) {
+        return groupId == null ? null : TicketGroup.builder().id(groupId).build();
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize replay data.", e);
+        }
+    }
+
+    private <T> T readJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            throw new BadRequestException("Stored replay data could not be read.");
+        }
+    }
+
+    private static String sha256Hex(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // -------------------------
+    // Stored JSON shapes
+    // -------------------------
+
+    record ReplayPlan(double temperature, double alpha, TicketUniqueness uniqueness, List<SpecSnapshot> specs) {}
+
+    record ReplaySnapshot(RulesSnapshot rules, PoolSnapshot white, PoolSnapshot red) {}
+
+    record RulesSnapshot(
+            Integer whiteMin,
+            Integer whiteMax,
+            Integer whitePickCount,
+            Boolean whiteOrdered,
+            Boolean whiteAllowRepeats,
+            Integer redMin,
+            Integer redMax,
+            Integer redPickCount,
+            Boolean redOrdered,
+            Boolean redAllowRepeats
+    ) {
+        static RulesSnapshot of(Rules r) {
+            return new RulesSnapshot(
+                    r.getWhiteMin(), r.getWhiteMax(), r.getWhitePickCount(), r.getWhiteOrdered(), r.getWhiteAllowRepeats(),
+                    r.getRedMin(), r.getRedMax(), r.getRedPickCount(), r.getRedOrdered(), r.getRedAllowRepeats()
+            );
+        }
+
+        Rules toRules() {
+            return Rules.builder()
+                    .whiteMin(whiteMin).whiteMax(whiteMax).whitePickCount(whitePickCount)
+                    .whiteOrdered(whiteOrdered).whiteAllowRepeats(whiteAllowRepeats)
+                    .redMin(redMin).redMax(redMax).redPickCount(redPickCount)
+                    .redOrdered(redOrdered).redAllowRepeats(redAllowRepeats)
+                    .build();
+        }
+    }
+
+    // null pool = tier list was missing when the batch was generated
+    record PoolSnapshot(double temperature, int[] values, Tier[] tiers, double[] weights) {
+        static PoolSnapshot of(TierPool pool) {
+            if (pool == null) return null;
+            return new PoolSnapshot(pool.temperature(), pool.values(), pool.tiers(), pool.adjustedWeights());
+        }
+
+        static TierPool toPool(PoolSnapshot s) {
+            return s == null ? null : TierPool.restore(s.values(), s.tiers(), s.weights(), s.temperature());
+        }
+    }
+
+    record SpecSnapshot(
+            int ticketCount,
+            GroupSnapshot whiteGroup,
+            GroupSnapshot redGroup,
+            boolean excludeLastDrawNumbers,
+            List<Integer> excludedWhite,
+            List<Integer> excludedRed
+    ) {
+        static SpecSnapshot of(GeneratorSpec spec) {
+            return new SpecSnapshot(
+                    spec.ticketCount(),
+                    GroupSnapshot.of(spec.whiteGroup()),
+                    GroupSnapshot.of(spec.redGroup()),
+                    spec.excludeLastDrawNumbers(),
+                    sorted(spec.excludedWhiteNumbers()),
+                    sorted(spec.excludedRedNumbers())
+            );
+        }
+
+        GeneratorSpec toSpec() {
+            return new GeneratorSpec(
+                    ticketCount,
+                    whiteGroup == null ? null : whiteGroup.toGroup(),
+                    redGroup == null ? null : redGroup.toGroup(),
+                    excludeLastDrawNumbers,
+                    excludedWhite == null ? Set.of() : new LinkedHashSet<>(excludedWhite),
+                    excludedRed == null ? Set.of() : new LinkedHashSet<>(excludedRed)
+            );
+        }
+
+        private static List<Integer> sorted(Set<Integer> values) {
+            return values.stream().filter(Objects::nonNull).sorted().toList();
+        }
+    }
+}
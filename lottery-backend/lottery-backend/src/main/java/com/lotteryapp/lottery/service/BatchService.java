@@ -36,6 +36,7 @@ public class BatchService {
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final BatchCheckerService batchCheckerService;
+    private final BatchReplayService batchReplayService;
 
     @Transactional
     public SavedBatchResponse saveBatch(SaveBatchRequest request) {
@@ -65,6 +66,17 @@ public class BatchService {
             batch.setExpiresAt(null);
         }
 
+        // SEED_REPLAY keeps only seed + specs + tier snapshot when the tickets replay exactly;
+        // otherwise (or by default) the tickets themselves are stored.
+        if (request.storageMode() == BatchStorageMode.SEED_REPLAY) {
+            validateSpecs(request);
+            if (batchReplayService.recordReplay(batch, request)) {
+                SavedBatch saved = savedBatchRepository.save(batch);
+                return toSavedBatchResponse(saved, true);
+            }
+        }
+        batch.setStorageMode(BatchStorageMode.TICKETS);
+
         // Build Tickets from specResults
         int specNumber = 1;
         for (SavedSpecResultRequest spec : request.specResults()) {
@@ -185,6 +197,20 @@ public class BatchService {
         return batchCheckerService.checkBatch(request);
     }
 
+    // same checks the TICKETS path makes while building rows
+    private void validateSpecs(SaveBatchRequest request) {
+        int specNumber = 1;
+        for (SavedSpecResultRequest spec : request.specResults()) {
+            resolveGroupOrNull(spec.whiteGroupId(), request.gameModeId(), "WHITE");
+            resolveGroupOrNull(spec.redGroupId(), request.gameModeId(), "RED");
+
+            if (spec.tickets() == null || spec.tickets().isEmpty()) {
+                throw new BadRequestException("Spec " + specNumber + " must include tickets.");
+            }
+            specNumber++;
+        }
+    }
+
     private String buildBatchName(GameMode gameMode, Instant createdAt) {
         String gm = (gameMode.getDisplayName() == null || gameMode.getDisplayName().isBlank())
                 ? "Batch"
@@ -228,8 +254,13 @@ public class BatchService {
         List<TicketResponse> tickets = null;
         if (includeTickets) {
             tickets = new ArrayList<>();
-            List<Ticket> loaded = (batch.getTickets() != null) ? batch.getTickets()
-                    : ticketRepository.findBySavedBatch_IdOrderBySpecNumberAscTicketNumberAsc(batch.getId());
+            List<Ticket> loaded;
+            if (batch.isSeedReplay()) {
+                loaded = batchReplayService.replayTickets(batch);
+            } else {
+                loaded = (batch.getTickets() != null) ? batch.getTickets()
+                        : ticketRepository.findBySavedBatch_IdOrderBySpecNumberAscTicketNumberAsc(batch.getId());
+            }
 
             for (Ticket t : loaded) {
                 tickets.add(toTicketResponse(t));
@@ -245,6 +276,7 @@ public class BatchService {
                 batch.getExpiresAt(),
                 batch.getChecked(),
                 batch.getStatus() == null ? null : batch.getStatus().name(),
+                (batch.getStorageMode() == null ? BatchStorageMode.TICKETS : batch.getStorageMode()).name(),
                 tickets,
                 records
         );
@@ -0,0 +1,212 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.draw.DrawFrequencyIndex;
+import com.lotteryapp.lottery.domain.draw.DrawResult;
+import com.lotteryapp.lottery.domain.draw.PackedDrawNumbers;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.repository.DrawPackedRow;
+import com.lotteryapp.lottery.repository.DrawPickRow;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One DrawFrequencyIndex per game mode, built from the draw history on first use
+ * (packed draws in one projection query, draws not packed yet from their picks in a second,
+ * no DrawResult entities) and then kept current by DrawService:
+ * every saved draw is put into the index after its transaction commits.
+ *
+ * Versioned like GenerationPlanCache: a draw committed while an index is being built bumps the
+ * game's version, and the built index is then used for that call only and not cached. Versions
+ * come from one global sequence and exist only for games changed at least once; evict(gameModeId)
+ * drops a deleted game's. Size-bounded (lottery.draws.frequencyIndexMaxEntries), least recently
+ * used evicted first.
+ */
+@Component
+public class DrawFrequencyIndexCache {
+
+    private final DrawResultRepository drawResultRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    // absent = 0 (never changed)
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    // access-ordered; guarded by "this"
+    private final LinkedHashMap<Long, CachedIndex> indexes;
+
+    public DrawFrequencyIndexCache(
+            DrawResultRepository drawResultRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${lottery.draws.frequencyIndexMaxEntries:64}") int maxEntries
+    ) {
+        this.drawResultRepository = drawResultRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        int capacity = Math.max(1, maxEntries);
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedIndex> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the game's index, building it (read-only transaction) on a miss or stale version.
+     */
+    public DrawFrequencyIndex get(Long gameModeId) {
+        long version = currentVersion(gameModeId);
+
+        synchronized (this) {
+            CachedIndex cached = indexes.get(gameModeId);
+            if (cached != null && cached.version() == version) return cached.index();
+        }
+
+        DrawFrequencyIndex built = readOnlyTx.execute(status -> build(gameModeId));
+
+        // Only publish if no draw was recorded and nothing was invalidated while building.
+        synchronized (this) {
+            if (currentVersion(gameModeId) == version) {
+                indexes.put(gameModeId, new CachedIndex(version, built));
+            }
+        }
+        return built;
+    }
+
+    public long currentVersion(Long gameModeId) {
+        return versions.getOrDefault(gameModeId, 0L);
+    }
+
+    /**
+     * Records a saved draw's active numbers; applied after the surrounding transaction commits
+     * (immediately if there is none). Only indexes already built are updated.
+     */
+    public void recordDraw(DrawResult draw) {
+        if (draw == null || draw.getDrawDate() == null || draw.getGameMode() == null) return;
+
+        Long gameModeId = draw.getGameMode().getId();
+        if (gameModeId == null) return;
+
+        LocalDate date = draw.getDrawDate();
+        int[] white = toArray(draw.numbersOf(PoolType.WHITE));
+        int[] red = toArray(draw.numbersOf(PoolType.RED));
+
+        // the cached index takes the draw and moves to the new version; a build in progress is stale
+        afterCommit(() -> {
+            synchronized (this) {
+                long previous = currentVersion(gameModeId);
+                long version = versionSequence.incrementAndGet();
+                versions.put(gameModeId, version);
+
+                CachedIndex cached = indexes.remove(gameModeId);
+                if (cached != null && cached.version() == previous) {
+                    cached.index().put(date, white, red);
+                    indexes.put(gameModeId, new CachedIndex(version, cached.index()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops a game's index (e.g. after its draw history was rebuilt); rebuilt on next use.
+     */
+    public void invalidate(Long gameModeId) {
+        if (gameModeId == null) return;
+
+        bump(gameModeId);
+        afterCommit(() -> bump(gameModeId));
+    }
+
+    /**
+     * For a deleted game mode: drops its index now and, once the delete commits, forgets its version.
+     */
+    public void evict(Long gameModeId) {
+        if (gameModeId == null) return;
+
+        invalidate(gameModeId);
+        afterCommit(() -> forget(gameModeId));
+    }
+
+    private void bump(Long gameModeId) {
+        versions.put(gameModeId, versionSequence.incrementAndGet());
+        synchronized (this) {
+            indexes.remove(gameModeId);
+        }
+    }
+
+    private void forget(Long gameModeId) {
+        versions.remove(gameModeId);
+        synchronized (this) {
+            indexes.remove(gameModeId);
+        }
+    }
+
+    private DrawFrequencyIndex build(Long gameModeId) {
+        DrawFrequencyIndex index = new DrawFrequencyIndex();
+
+        for (DrawPackedRow row : drawResultRepository.findPackedRowsByGameModeId(gameModeId)) {
+            if (row.getDrawDate() == null) continue;
+            index.put(row.getDrawDate(), toArray(row.getWhiteOrder()), toArray(row.getRedOrder()));
+        }
+
+        // draws not packed yet (none once the packing migration has run); put handles older dates
+        List<DrawPickRow> rows = drawResultRepository.findPickRowsByGameModeId(gameModeId);
+
+        // rows are ordered by date: collect one date at a time, then append it
+        LocalDate date = null;
+        List<Integer> white = new ArrayList<>();
+        List<Integer> red = new ArrayList<>();
+        for (DrawPickRow row : rows) {
+            if (row.getDrawDate() == null || row.getNumberValue() == null) continue;
+
+            if (!row.getDrawDate().equals(date)) {
+                if (date != null) index.put(date, toArray(white), toArray(red));
+                date = row.getDrawDate();
+                white.clear();
+                red.clear();
+            }
+            if (row.getPoolType() == PoolType.WHITE) white.add(row.getNumberValue());
+            else if (row.getPoolType() == PoolType.RED) red.add(row.getNumberValue());
+        }
+        if (date != null) index.put(date, toArray(white), toArray(red));
+
+        return index;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int[] toArray(byte[] order) {
+        return toArray(PackedDrawNumbers.numbers(order));
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private record CachedIndex(long version, DrawFrequencyIndex index) {}
+}
@@ -0,0 +1,368 @@
+package com.lotteryapp.lottery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lotteryapp.common.exception.BadRequestException;
+import com.lotteryapp.lottery.domain.draw.DrawOrigin;
+import com.lotteryapp.lottery.domain.draw.DrawResult;
+import com.lotteryapp.lottery.domain.draw.PackedDrawNumbers;
+import com.lotteryapp.lottery.domain.gamemode.GameMode;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.ingestion.model.IngestedDraw;
+import com.lotteryapp.lottery.repository.DrawReadRow;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import com.lotteryapp.lottery.repository.DrawSummaryRow;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Bulk import of an official draw history (backfills, rebuilds).
+ *
+ * Instead of a find + save (+ cascaded picks) per draw, incoming draws are diffed against the
+ * stored ones in one projection query and written with multi-row statements:
+ *
+ * - new or changed draws: INSERT ... ON DUPLICATE KEY UPDATE on draw_result (uk_draw_game_date),
+ *   numbers and source (see sourceName / sourceRef) taken from the incoming row
+ * - picks (only when writePicks is set or numbers cannot be packed): one delete + multi-row inserts
+ * - manual draws the official numbers disagree with: INSERT ... ON DUPLICATE KEY UPDATE on
+ *   draw_conflict (the manual draw stays active, acknowledged is kept)
+ * - unchanged draws are not written
+ *
+ * Statements are MySQL-specific (8.0.19+ row alias syntax) and run on the JPA transaction's connection; pending JPA changes
+ * are flushed first. Because every draw row is an upsert, concurrent imports of the same date
+ * (a sync and a read both ingesting it) cannot fail on uk_draw_game_date; DrawService writes
+ * single official draws through here for that reason.
+ *
+ * A few written draws are put into the game's frequency index after commit, larger imports
+ * invalidate it; the GameMode snapshot and NumberBall counts are left to the caller (once per
+ * import, from the result).
+ */
+@Component
+public class DrawHistoryBulkImport {
+
+    // MySQL caps a prepared statement at 65535 placeholders
+    private static final int MAX_PARAMS_PER_STATEMENT = 60_000;
+
+    // pick rows per draw row when sizing pick statements (white + red of the largest formats)
+    private static final int PICKS_PER_DRAW = 8;
+
+    // DrawResult.sourceName / sourceRef column lengths
+    private static final int SOURCE_NAME_MAX = 80;
+    private static final int SOURCE_REF_MAX = 300;
+
+    // up to this many written draws are put into a built frequency index instead of dropping it
+    private static final int INDEX_RECORD_MAX_DRAWS = 16;
+
+    private final DrawResultRepository drawResultRepository;
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache;
+    private final RecentDrawsCache recentDrawsCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final int rowsPerStatement;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public DrawHistoryBulkImport(
+            DrawResultRepository drawResultRepository,
+            DrawFrequencyIndexCache drawFrequencyIndexCache,
+            RecentDrawsCache recentDrawsCache,
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            @Value("${lottery.draws.bulkRowsPerStatement:2000}") int rowsPerStatement
+    ) {
+        this.drawResultRepository = drawResultRepository;
+        this.drawFrequencyIndexCache = drawFrequencyIndexCache;
+        this.recentDrawsCache = recentDrawsCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.rowsPerStatement = Math.max(1, rowsPerStatement);
+    }
+
+    /**
+     * @param written official draws inserted or changed, oldest first (detached, for NumberBall counting)
+     * @param latest  newest incoming draw written as official, or null
+     * @param conflicts manual draws that received a conflict
+     */
+    public record Result(List<DrawResult> written, IngestedDraw latest, int conflicts) {}
+
+    /**
+     * Must run inside a transaction. Draws without drawDate are skipped; for repeated dates the
+     * last one wins.
+     */
+    public Result importOfficial(GameMode mode, List<IngestedDraw> incoming, boolean writePicks) {
+        TreeMap<LocalDate, IngestedDraw> byDate = new TreeMap<>();
+        if (incoming != null) {
+            for (IngestedDraw d : incoming) {
+                if (d != null && d.getDrawDate() != null) byDate.put(d.getDrawDate(), d);
+            }
+        }
+        if (byDate.isEmpty()) return new Result(List.of(), null, 0);
+
+        entityManager.flush();
+
+        LocalDate first = byDate.firstKey();
+        LocalDate last = byDate.lastKey();
+        Map<LocalDate, StoredDraw> stored = loadStored(mode.getId(), first, last);
+
+        List<IngestedDraw> upserts = new ArrayList<>();
+        List<Long> replacedIds = new ArrayList<>();
+        List<Object[]> conflictRows = new ArrayList<>();
+
+        for (IngestedDraw d : byDate.values()) {
+            StoredDraw s = stored.get(d.getDrawDate());
+            boolean same = s != null && sameNumbers(s.white, s.red, d.getWhiteNumbers(), d.getRedNumbers());
+
+            if (s != null && s.origin == DrawOrigin.MANUAL && !same) {
+                conflictRows.add(conflictRow(mode.getId(), s, d));
+                continue;
+            }
+            if (s != null && s.origin == DrawOrigin.OFFICIAL && same) continue;
+
+            upserts.add(d);
+            if (s != null) replacedIds.add(s.id);
+        }
+
+        Instant now = Instant.now();
+        Instant cachedUntil = OffsetDateTime.now(ZoneOffset.UTC).plusMonths(4).toInstant();
+
+        List<Object[]> drawRows = new ArrayList<>(upserts.size());
+        for (IngestedDraw d : upserts) drawRows.add(drawRow(mode.getId(), d, now, cachedUntil));
+        insertRows("""
+                insert into draw_result
+                    (game_mode_id, draw_date, created_at, cached_until, origin,
+                     white_order, red_order, white_mask, red_mask, source_name, source_ref)
+                values %s as new
+                on duplicate key update
+                    origin = new.origin,
+                    white_order = new.white_order, red_order = new.red_order,
+                    white_mask = new.white_mask, red_mask = new.red_mask,
+                    source_name = new.source_name, source_ref = new.source_ref
+                """, 11, drawRows, rowsPerStatement);
+
+        List<DrawResult> written = upserts.isEmpty() ? List.of() : writtenDraws(mode, upserts, first, last);
+
+        // picks follow DrawResult.replaceNumbers: always cleared, rewritten when kept or unpackable
+        deleteWhereIn("delete from draw_pick where draw_result_id in (%s)", replacedIds);
+        List<Object[]> pickRows = new ArrayList<>();
+        for (DrawResult draw : written) {
+            if (!writePicks && draw.isPacked()) continue;
+            addPickRows(pickRows, draw.getId(), PoolType.WHITE, draw.numbersOf(PoolType.WHITE));
+            addPickRows(pickRows, draw.getId(), PoolType.RED, draw.numbersOf(PoolType.RED));
+        }
+        insertRows("""
+                insert into draw_pick (draw_result_id, pool_type, position, number_value)
+                values %s
+                """, 4, pickRows, rowsPerStatement * PICKS_PER_DRAW);
+
+        insertRows("""
+                insert into draw_conflict
+                    (draw_result_id, game_mode_id, draw_date,
+                     manual_white_json, manual_red_json, official_white_json, official_red_json,
+                     acknowledged, created_at)
+                values %s as new
+                on duplicate key update
+                    manual_white_json = new.manual_white_json, manual_red_json = new.manual_red_json,
+                    official_white_json = new.official_white_json, official_red_json = new.official_red_json
+                """, 9, conflictRows, rowsPerStatement);
+
+        if (written.size() > INDEX_RECORD_MAX_DRAWS) {
+            drawFrequencyIndexCache.invalidate(mode.getId());
+        } else {
+            for (DrawResult draw : written) drawFrequencyIndexCache.recordDraw(draw);
+        }
+        if (!upserts.isEmpty() || !conflictRows.isEmpty()) {
+            recentDrawsCache.invalidate(mode.getId());
+        }
+
+        IngestedDraw latest = upserts.isEmpty() ? null : upserts.get(upserts.size() - 1);
+        return new Result(written, latest, conflictRows.size());
+    }
+
+    /**
+     * The stored draw of gameModeId on drawDate after an import, refreshed if the persistence
+     * context already held it (the import writes with plain SQL).
+     */
+    public DrawResult stored(Long gameModeId, LocalDate drawDate) {
+        DrawResult draw = drawResultRepository.findByGameModeIdAndDrawDate(gameModeId, drawDate)
+                .orElseThrow(() -> new IllegalStateException("Draw " + drawDate + " not stored for game mode " + gameModeId));
+        entityManager.refresh(draw);
+        return draw;
+    }
+
+    // -------------------
+    // Helpers
+    // -------------------
+
+    private record StoredDraw(Long id, LocalDate drawDate, DrawOrigin origin, List<Integer> white, List<Integer> red) {}
+
+    // one summary query, plus one pick query if some stored draws are not packed yet
+    private Map<LocalDate, StoredDraw> loadStored(Long gameModeId, LocalDate first, LocalDate last) {
+        List<DrawSummaryRow> rows = drawResultRepository.findSummaryRowsByGameModeIdAndDrawDateBetween(gameModeId, first, last);
+
+        Map<Long, List<Integer>> unpackedWhite = new HashMap<>();
+        Map<Long, List<Integer>> unpackedRed = new HashMap<>();
+        for (DrawSummaryRow row : rows) {
+            if (row.getWhiteOrder() != null && row.getRedOrder() != null) continue;
+            unpackedWhite.put(row.getDrawId(), new ArrayList<>());
+            unpackedRed.put(row.getDrawId(), new ArrayList<>());
+        }
+        if (!unpackedWhite.isEmpty()) {
+            for (DrawReadRow pick : drawResultRepository.findPickReadRowsByDrawIdIn(unpackedWhite.keySet())) {
+                if (pick.getNumberValue() == null) continue;
+                if (pick.getPoolType() == PoolType.WHITE) unpackedWhite.get(pick.getDrawId()).add(pick.getNumberValue());
+                else if (pick.getPoolType() == PoolType.RED) unpackedRed.get(pick.getDrawId()).add(pick.getNumberValue());
+            }
+        }
+
+        Map<LocalDate, StoredDraw> out = new HashMap<>();
+        for (DrawSummaryRow row : rows) {
+            boolean packed = !unpackedWhite.containsKey(row.getDrawId());
+            out.put(row.getDrawDate(), new StoredDraw(
+                    row.getDrawId(),
+                    row.getDrawDate(),
+                    row.getOrigin(),
+                    packed ? PackedDrawNumbers.numbers(row.getWhiteOrder()) : unpackedWhite.get(row.getDrawId()),
+                    packed ? PackedDrawNumbers.numbers(row.getRedOrder()) : unpackedRed.get(row.getDrawId())
+            ));
+        }
+        return out;
+    }
+
+    // ids of the upserted draws (new ones included) come from one id/date query over the range
+    private List<DrawResult> writtenDraws(GameMode mode, List<IngestedDraw> upserts, LocalDate first, LocalDate last) {
+        Map<LocalDate, Long> ids = new HashMap<>();
+        jdbcTemplate.query(
+                "select id, draw_date from draw_result where game_mode_id = ? and draw_date between ? and ?",
+                rs -> { ids.put(rs.getDate("draw_date").toLocalDate(), rs.getLong("id")); },
+                mode.getId(), Date.valueOf(first), Date.valueOf(last)
+        );
+
+        List<DrawResult> out = new ArrayList<>(upserts.size());
+        for (IngestedDraw d : upserts) {
+            DrawResult draw = DrawResult.builder()
+                    .id(ids.get(d.getDrawDate()))
+                    .gameMode(mode)
+                    .drawDate(d.getDrawDate())
+                    .origin(DrawOrigin.OFFICIAL)
+                    .sourceName(sourceName(d))
+                    .sourceRef(sourceRef(d))
+                    .build();
+            draw.replaceNumbers(d.getWhiteNumbers(), d.getRedNumbers(), false);
+            out.add(draw);
+        }
+        return out;
+    }
+
+    private Object[] drawRow(Long gameModeId, IngestedDraw d, Instant now, Instant cachedUntil) {
+        boolean packable = PackedDrawNumbers.packable(d.getWhiteNumbers()) && PackedDrawNumbers.packable(d.getRedNumbers());
+        return new Object[]{
+                gameModeId,
+                Date.valueOf(d.getDrawDate()),
+                Timestamp.from(now),
+                Timestamp.from(cachedUntil),
+                DrawOrigin.OFFICIAL.name(),
+                packable ? PackedDrawNumbers.order(d.getWhiteNumbers()) : null,
+                packable ? PackedDrawNumbers.order(d.getRedNumbers()) : null,
+                packable ? PackedDrawNumbers.mask(d.getWhiteNumbers()) : null,
+                packable ? PackedDrawNumbers.mask(d.getRedNumbers()) : null,
+                sourceName(d),
+                sourceRef(d)
+        };
+    }
+
+    // source that produced the draw: parser key, else source type
+    private static String sourceName(IngestedDraw d) {
+        Object name = meta(d, "parserKey");
+        if (name == null) name = meta(d, "sourceType");
+        return truncate(name, SOURCE_NAME_MAX);
+    }
+
+    // where it was read: final URL after redirects, else the source's URL template
+    private static String sourceRef(IngestedDraw d) {
+        Object ref = meta(d, "finalUrl");
+        if (ref == null) ref = meta(d, "url");
+        return truncate(ref, SOURCE_REF_MAX);
+    }
+
+    private static Object meta(IngestedDraw d, String key) {
+        return d.getMeta() == null ? null : d.getMeta().get(key);
+    }
+
+    private static String truncate(Object value, int max) {
+        if (value == null) return null;
+        String s = value.toString();
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+
+    private Object[] conflictRow(Long gameModeId, StoredDraw s, IngestedDraw d) {
+        return new Object[]{
+                s.id,
+                gameModeId,
+                Date.valueOf(s.drawDate),
+                writeJson(s.white),
+                writeJson(s.red),
+                writeJson(d.getWhiteNumbers()),
+                writeJson(d.getRedNumbers()),
+                false,
+                Timestamp.from(Instant.now())
+        };
+    }
+
+    private void addPickRows(List<Object[]> out, Long drawId, PoolType poolType, List<Integer> numbers) {
+        int pos = 1;
+        for (Integer n : numbers) {
+            out.add(new Object[]{drawId, poolType.name(), pos++, n});
+        }
+    }
+
+    // sqlTemplate has one %s for the value tuples; rows are written in as few statements as fit
+    private void insertRows(String sqlTemplate, int columns, List<Object[]> rows, int maxRows) {
+        if (rows.isEmpty()) return;
+
+        String tuple = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        int perStatement = Math.max(1, Math.min(maxRows, MAX_PARAMS_PER_STATEMENT / columns));
+
+        for (int from = 0; from < rows.size(); from += perStatement) {
+            List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + perStatement));
+
+            Object[] args = new Object[chunk.size() * columns];
+            for (int i = 0; i < chunk.size(); i++) System.arraycopy(chunk.get(i), 0, args, i * columns, columns);
+
+            jdbcTemplate.update(sqlTemplate.formatted(String.join(", ", Collections.nCopies(chunk.size(), tuple))), args);
+        }
+    }
+
+    private void deleteWhereIn(String sqlTemplate, List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += rowsPerStatement) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + rowsPerStatement));
+            jdbcTemplate.update(sqlTemplate.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?"))), chunk.toArray());
+        }
+    }
+
+    private String writeJson(List<Integer> nums) {
+        try {
+            if (nums == null) return null;
+            return objectMapper.writeValueAsString(nums);
+        } catch (Exception e) {
+            throw new BadRequestException("Failed to write JSON");
+        }
+    }
+
+    private static boolean sameNumbers(List<Integer> mw, List<Integer> mr, List<Integer> ow, List<Integer> orr) {
+        return normalize(mw).equals(normalize(ow)) && normalize(mr).equals(normalize(orr));
+    }
+
+    private static List<Integer> normalize(List<Integer> in) {
+        if (in == null) return List.of();
+        return in.stream().filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.lotteryapp.lottery.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.lotteryapp.lottery.domain.draw.DrawResult;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.repository.DrawConflictRepository;
+import com.lotteryapp.lottery.repository.DrawConflictRow;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes a game's draws between two dates as JSON while reading them:
+ *
+ *   {"gameModeId":1,"start":"...","end":"...","draws":[{DrawResponse fields}, ...]}
+ *
+ * Draws come from a JPA Stream (driver fetch size 500; MySQL needs useCursorFetch=true for a
+ * server-side cursor, set on every profile's datasource) in one read-only transaction, each written and then detached, so memory
+ * stays flat however long the history is. Conflicts of the range are loaded once up front.
+ */
+@Component
+public class DrawHistoryExport {
+
+    private static final int FLUSH_EVERY = 100;
+
+    // Servlet owns the response stream; the generator must not close it.
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final DrawResultRepository drawResultRepository;
+    private final DrawConflictRepository drawConflictRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTx;
+
+    public DrawHistoryExport(
+            DrawResultRepository drawResultRepository,
+            DrawConflictRepository drawConflictRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.drawResultRepository = drawResultRepository;
+        this.drawConflictRepository = drawConflictRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public void write(Long gameModeId, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeNumberField("gameModeId", gameModeId);
+            json.writeStringField("start", start.toString());
+            json.writeStringField("end", end.toString());
+            json.writeArrayFieldStart("draws");
+
+            try {
+                readOnlyTx.executeWithoutResult(status -> writeDraws(gameModeId, start, end, json));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private void writeDraws(Long gameModeId, LocalDate start, LocalDate end, JsonGenerator json) {
+        Map<Long, DrawConflictRow> conflictByDraw = new HashMap<>();
+        for (DrawConflictRow c : drawConflictRepository.findRowsByGameModeIdAndDrawDateBetween(gameModeId, start, end)) {
+            conflictByDraw.put(c.getDrawResultId(), c);
+        }
+
+        try (Stream<DrawResult> draws = drawResultRepository.streamByGameModeIdAndDrawDateBetween(gameModeId, start, end)) {
+            int written = 0;
+            for (DrawResult draw : (Iterable<DrawResult>) draws::iterator) {
+                writeDraw(json, draw, conflictByDraw.get(draw.getId()));
+                entityManager.detach(draw);
+
+                if (++written % FLUSH_EVERY == 0) json.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // same field names as DrawResponse
+    private void writeDraw(JsonGenerator json, DrawResult draw, DrawConflictRow conflict) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", draw.getId());
+        json.writeStringField("drawDate", draw.getDrawDate() == null ? null : draw.getDrawDate().toString());
+        json.writeStringField("origin", draw.getOrigin() == null ? null : draw.getOrigin().name());
+        writeNumbers(json, "whiteNumbers", draw.numbersOf(PoolType.WHITE));
+        writeNumbers(json, "redNumbers", draw.numbersOf(PoolType.RED));
+        json.writeBooleanField("hasConflict", conflict != null);
+        writeNullableLong(json, "conflictId", conflict == null ? null : conflict.getId());
+        json.writeBooleanField("conflictAcknowledged", conflict != null && Boolean.TRUE.equals(conflict.getAcknowledged()));
+        json.writeEndObject();
+    }
+
+    private void writeNullableLong(JsonGenerator json, String field, Long value) throws IOException {
+        if (value == null) json.writeNullField(field);
+        else json.writeNumberField(field, value);
+    }
+
+    private void writeNumbers(JsonGenerator json, String field, List<Integer> numbers) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (Integer n : numbers) json.writeNumber(n);
+        json.writeEndArray();
+    }
+}
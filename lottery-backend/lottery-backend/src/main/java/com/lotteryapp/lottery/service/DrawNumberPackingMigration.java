@@ -0,0 +1,72 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.draw.DrawResult;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills the packed number columns of draws saved before they existed, from their picks.
+ *
+ * Runs once at startup in batches of packBatchSize draws (one transaction per batch), walking
+ * ids upwards so draws that cannot be packed (numbers above PackedDrawNumbers.MAX_VALUE) are
+ * passed over rather than retried. Reads work before and during the migration (dual-read), and
+ * packing is idempotent, so nodes starting together may both run it.
+ */
+@Component
+public class DrawNumberPackingMigration {
+
+    private final DrawResultRepository drawResultRepository;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public DrawNumberPackingMigration(
+            DrawResultRepository drawResultRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${lottery.draws.packOnStartup:true}") boolean enabled,
+            @Value("${lottery.draws.packBatchSize:500}") int batchSize
+    ) {
+        this.drawResultRepository = drawResultRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) packAll();
+    }
+
+    /**
+     * @return number of draws packed
+     */
+    public int packAll() {
+        int packed = 0;
+        long afterId = 0L;
+
+        while (true) {
+            List<Long> ids = drawResultRepository.findUnpackedIdsAfter(afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) return packed;
+
+            Integer done = tx.execute(status -> packBatch(ids));
+            packed += (done == null) ? 0 : done;
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int packBatch(List<Long> ids) {
+        int packed = 0;
+        for (DrawResult draw : drawResultRepository.findWithPicksByIdIn(ids)) {
+            if (draw.packFromPicks()) packed++;
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,197 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.gamemode.DrawCalendar;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Fetches each game's new draw shortly after it happens, so the first reader after a draw
+ * finds it stored instead of waiting on (or triggering) the upstream fetch.
+ *
+ * Every game with draw days sits in a priority queue ordered by its next due instant:
+ *
+ * - idle: due pollDelayAfterDraw after the next draw moment (DrawCalendar.drawInstant)
+ * - due and the expected draw is stored: idle again until the following draw
+ * - due and it is not: a background sync is requested (DrawSyncService) and the game is due
+ *   again after the current backoff, which doubles from pollInitialBackoff up to pollMaxBackoff
+ * - still missing pollGiveUp after polling started: idle until the next draw (user reads and
+ *   the sync plan can still catch it up)
+ *
+ * Each wake costs one max(drawDate) query. Schedules are reloaded at startup and by
+ * pollReseedCron (games polling keep their backoff); the queue is per node, and the sync lease
+ * keeps nodes from fetching the same game at once.
+ */
+@Service
+public class DrawPollScheduler {
+
+    private final DrawSyncPlanner drawSyncPlanner;
+    private final DrawResultRepository drawResultRepository;
+    private final DrawSyncService drawSyncService;
+
+    private final boolean enabled;
+    private final Duration delayAfterDraw;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration giveUpAfter;
+
+    // guarded by this
+    private final PriorityQueue<GamePoll> queue = new PriorityQueue<>(Comparator.comparing(GamePoll::getDueAt));
+    private final Map<Long, GamePoll> games = new HashMap<>();
+
+    public DrawPollScheduler(
+            DrawSyncPlanner drawSyncPlanner,
+            DrawResultRepository drawResultRepository,
+            DrawSyncService drawSyncService,
+            @Value("${lottery.draws.pollEnabled:true}") boolean enabled,
+            @Value("${lottery.draws.pollDelayAfterDrawSeconds:300}") long delayAfterDrawSeconds,
+            @Value("${lottery.draws.pollInitialBackoffSeconds:120}") long initialBackoffSeconds,
+            @Value("${lottery.draws.pollMaxBackoffSeconds:1800}") long maxBackoffSeconds,
+            @Value("${lottery.draws.pollGiveUpHours:24}") long giveUpHours
+    ) {
+        this.drawSyncPlanner = drawSyncPlanner;
+        this.drawResultRepository = drawResultRepository;
+        this.drawSyncService = drawSyncService;
+        this.enabled = enabled;
+        this.delayAfterDraw = Duration.ofSeconds(Math.max(0, delayAfterDrawSeconds));
+        this.initialBackoff = Duration.ofSeconds(Math.max(1, initialBackoffSeconds));
+        this.maxBackoff = Duration.ofSeconds(Math.max(this.initialBackoff.getSeconds(), maxBackoffSeconds));
+        this.giveUpAfter = Duration.ofHours(Math.max(1, giveUpHours));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) reseed(Instant.now());
+    }
+
+    @Scheduled(cron = "${lottery.draws.pollReseedCron:0 0 * * * *}")
+    public void reseedSchedules() {
+        if (enabled) reseed(Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${lottery.draws.pollTickMillis:10000}")
+    public void tick() {
+        if (enabled) pollDue(Instant.now());
+    }
+
+    /**
+     * Loads every game's schedule. New games are due at once (a missed draw is caught up),
+     * known games get their new schedule and keep their due time and backoff, removed games
+     * and games without draw days leave the queue.
+     */
+    synchronized void reseed(Instant now) {
+        Set<Long> seen = new HashSet<>();
+
+        for (DrawSyncPlanner.GameSchedule s : drawSyncPlanner.schedules()) {
+            if (s.calendar().isEmpty() || s.stateCode() == null) continue;
+            seen.add(s.gameModeId());
+
+            GamePoll poll = games.get(s.gameModeId());
+            if (poll == null) {
+                poll = new GamePoll(s.gameModeId());
+                poll.dueAt = now;
+                games.put(s.gameModeId(), poll);
+                queue.add(poll);
+            }
+            poll.stateCode = s.stateCode();
+            poll.calendar = s.calendar();
+        }
+
+        games.keySet().removeIf(id -> {
+            if (seen.contains(id)) return false;
+            queue.remove(games.get(id));
+            return true;
+        });
+    }
+
+    /**
+     * Handles every game due at or before now.
+     */
+    synchronized void pollDue(Instant now) {
+        while (!queue.isEmpty() && !queue.peek().dueAt.isAfter(now)) {
+            GamePoll poll = queue.poll();
+            try {
+                poll.dueAt = poll(poll, now);
+            } catch (RuntimeException e) {
+                // database unavailable: try again after the backoff
+                poll.dueAt = now.plus(poll.backoff != null ? poll.backoff : initialBackoff);
+            }
+            queue.add(poll);
+        }
+    }
+
+    // -------------------
+    // Helpers
+    // -------------------
+
+    private Instant poll(GamePoll poll, Instant now) {
+        LocalDate expected = poll.calendar.latestExpected(LocalDate.ofInstant(now, ZoneId.systemDefault()), now);
+        LocalDate stored = drawResultRepository.findLatestDrawDateByGameModeId(poll.gameModeId);
+
+        if (stored != null && !stored.isBefore(expected)) {
+            poll.stopPolling();
+            return nextDrawDue(poll, expected, now);
+        }
+
+        if (poll.pollingSince == null) {
+            poll.pollingSince = now;
+            poll.backoff = initialBackoff;
+        } else if (Duration.between(poll.pollingSince, now).compareTo(giveUpAfter) > 0) {
+            poll.stopPolling();
+            return nextDrawDue(poll, expected, now);
+        }
+
+        drawSyncService.requestRefresh(poll.gameModeId, poll.stateCode);
+
+        Instant due = now.plus(poll.backoff);
+        Duration doubled = poll.backoff.multipliedBy(2);
+        poll.backoff = doubled.compareTo(maxBackoff) > 0 ? maxBackoff : doubled;
+        return due;
+    }
+
+    // first draw after the given date that is still ahead (zones ahead of the server's date can
+    // already be past the next calendar draw)
+    private Instant nextDrawDue(GamePoll poll, LocalDate after, Instant now) {
+        LocalDate next = poll.calendar.onOrAfter(after.plusDays(1));
+        Instant due = poll.calendar.drawInstant(next, ZoneId.systemDefault()).plus(delayAfterDraw);
+        while (!due.isAfter(now)) {
+            next = poll.calendar.onOrAfter(next.plusDays(1));
+            due = poll.calendar.drawInstant(next, ZoneId.systemDefault()).plus(delayAfterDraw);
+        }
+        return due;
+    }
+
+    private static final class GamePoll {
+        private final Long gameModeId;
+        private String stateCode;
+        private DrawCalendar calendar;
+
+        private Instant dueAt;
+
+        // set while the expected draw is missing
+        private Instant pollingSince;
+        private Duration backoff;
+
+        GamePoll(Long gameModeId) {
+            this.gameModeId = gameModeId;
+        }
+
+        Instant getDueAt() {
+            return dueAt;
+        }
+
+        void stopPolling() {
+            pollingSince = null;
+            backoff = null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.draw.PackedDrawNumbers;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.dto.draw.response.DrawResponse;
+import com.lotteryapp.lottery.repository.DrawConflictRepository;
+import com.lotteryapp.lottery.repository.DrawConflictRow;
+import com.lotteryapp.lottery.repository.DrawReadRow;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import com.lotteryapp.lottery.repository.DrawSummaryRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Read path for draw lists: DrawResponses are assembled from flat projection rows
+ * (draws with their packed numbers in one query, conflicts of all listed draws in one query),
+ * so a list costs a constant number of round trips however many draws it holds. Draws not
+ * packed yet are filled from their picks in one extra query. No entities are loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class DrawReadModel {
+
+    private final DrawResultRepository drawResultRepository;
+    private final DrawConflictRepository drawConflictRepository;
+
+    /**
+     * Draws of the game between start and end (inclusive), oldest first. 2 queries (+1 if any are unpacked).
+     */
+    public List<DrawResponse> drawsBetween(Long gameModeId, LocalDate start, LocalDate end) {
+        List<DrawSummaryRow> rows = drawResultRepository.findSummaryRowsByGameModeIdAndDrawDateBetween(gameModeId, start, end);
+        if (rows.isEmpty()) return List.of();
+
+        List<DrawConflictRow> conflicts = drawConflictRepository.findRowsByGameModeIdAndDrawDateBetween(gameModeId, start, end);
+        return assemble(rows, conflicts);
+    }
+
+    /**
+     * Up to limit draws of the game dated from..end (inclusive), oldest first. 2 queries (+1 if any are unpacked).
+     */
+    public List<DrawResponse> drawsFrom(Long gameModeId, LocalDate from, LocalDate end, int limit) {
+        List<DrawSummaryRow> rows = drawResultRepository.findSummaryPageByGameModeId(gameModeId, from, end, PageRequest.of(0, limit));
+        if (rows.isEmpty()) return List.of();
+
+        List<Long> ids = rows.stream().map(DrawSummaryRow::getDrawId).toList();
+        return assemble(rows, drawConflictRepository.findRowsByDrawResultIdIn(ids));
+    }
+
+    /**
+     * The game's latest draws, newest first. 3 queries (+1 if any are unpacked).
+     */
+    public List<DrawResponse> latestDraws(Long gameModeId, int limit) {
+        List<Long> ids = drawResultRepository.findIdsByGameModeIdOrderByDrawDateDesc(gameModeId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) return List.of();
+
+        List<DrawSummaryRow> rows = drawResultRepository.findSummaryRowsByIdInOrderByDrawDateDesc(ids);
+        List<DrawConflictRow> conflicts = drawConflictRepository.findRowsByDrawResultIdIn(ids);
+        return assemble(rows, conflicts);
+    }
+
+    // one response per summary row, in row order
+    private List<DrawResponse> assemble(List<DrawSummaryRow> rows, List<DrawConflictRow> conflicts) {
+        Map<Long, DrawConflictRow> conflictByDraw = new HashMap<>();
+        for (DrawConflictRow c : conflicts) conflictByDraw.put(c.getDrawResultId(), c);
+
+        List<DrawResponse> out = new ArrayList<>(rows.size());
+        Map<Long, DrawResponse> unpacked = new HashMap<>();
+
+        for (DrawSummaryRow row : rows) {
+            boolean packed = row.getWhiteOrder() != null && row.getRedOrder() != null;
+            DrawConflictRow conflict = conflictByDraw.get(row.getDrawId());
+
+            DrawResponse response = DrawResponse.builder()
+                    .id(row.getDrawId())
+                    .drawDate(row.getDrawDate())
+                    .origin(row.getOrigin())
+                    .whiteNumbers(packed ? PackedDrawNumbers.numbers(row.getWhiteOrder()) : new ArrayList<>())
+                    .redNumbers(packed ? PackedDrawNumbers.numbers(row.getRedOrder()) : new ArrayList<>())
+                    .hasConflict(conflict != null)
+                    .conflictId(conflict == null ? null : conflict.getId())
+                    .conflictAcknowledged(conflict != null && Boolean.TRUE.equals(conflict.getAcknowledged()))
+                    .build();
+            out.add(response);
+
+            if (!packed) unpacked.put(row.getDrawId(), response);
+        }
+
+        if (!unpacked.isEmpty()) {
+            // ordered by draw, then pool and position
+            for (DrawReadRow pick : drawResultRepository.findPickReadRowsByDrawIdIn(unpacked.keySet())) {
+                DrawResponse response = unpacked.get(pick.getDrawId());
+                if (response == null || pick.getNumberValue() == null) continue;
+
+                if (pick.getPoolType() == PoolType.WHITE) response.getWhiteNumbers().add(pick.getNumberValue());
+                else if (pick.getPoolType() == PoolType.RED) response.getRedNumbers().add(pick.getNumberValue());
+            }
+        }
+
+        return out;
+    }
+}
@@ -6,10 +6,11 @@ import com.lotteryapp.common.exception.BadRequestException;
 import com.lotteryapp.common.exception.NotFoundException;
 import com.lotteryapp.lottery.application.numbers.NumberBallLifecycleService;
 import com.lotteryapp.lottery.domain.draw.*;
-import com.lotteryapp.lottery.domain.gamemode.DrawDay;
+import com.lotteryapp.lottery.domain.gamemode.DrawCalendar;
 import com.lotteryapp.lottery.domain.gamemode.GameMode;
 import com.lotteryapp.lottery.domain.gamemode.GameModeStatus;
 import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
 import com.lotteryapp.lottery.dto.common.ApiResponse;
 import com.lotteryapp.lottery.dto.common.PageResponse;
 import com.lotteryapp.lottery.dto.draw.request.*;
@@ -21,20 +22,36 @@ import com.lotteryapp.lottery.repository.DrawConflictRepository;
 import com.lotteryapp.lottery.repository.DrawResultRepository;
 import com.lotteryapp.lottery.repository.GameModeRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.math.BigDecimal;
 
 
 import java.time.*;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Upstream fetches (IngestionService, which may wait on another node's lease) never run inside a
+ * transaction: request paths read in one transaction, fetch outside it, then save in another.
+ * Official draws are written through DrawHistoryBulkImport's upsert, so concurrent saves of the
+ * same date cannot collide on uk_draw_game_date.
+ */
 @Service
 public class DrawService {
 
     private static final int LAST_DRAWS_COUNT = 5;
     private static final int SAFE_BACKFILL_MAX_DATES = 20;
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
 
     private final GameModeRepository gameModeRepository;
     private final DrawResultRepository drawResultRepository;
@@ -43,6 +60,20 @@ public class DrawService {
 
     private final NumberBallService numberBallService;
     private final NumberBallLifecycleService numberBallLifecycleService;
+    private final TierWindowService tierWindowService;
+    private final GenerationPlanCache generationPlanCache;
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache;
+    private final DrawReadModel drawReadModel;
+    private final DrawHistoryExport drawHistoryExport;
+    private final DrawHistoryBulkImport drawHistoryBulkImport;
+    private final RecentDrawsCache recentDrawsCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // reads served from RecentDrawsCache open a transaction only when they fall back to the database
+    private final TransactionTemplate tx;
+
+    // false once all draws are packed: numbers are then stored only in DrawResult's packed columns
+    private final boolean writePicks;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -52,7 +83,17 @@ public class DrawService {
             DrawConflictRepository drawConflictRepository,
             IngestionService ingestionService,
             NumberBallService numberBallService,
-            NumberBallLifecycleService numberBallLifecycleService
+            NumberBallLifecycleService numberBallLifecycleService,
+            TierWindowService tierWindowService,
+            GenerationPlanCache generationPlanCache,
+            DrawFrequencyIndexCache drawFrequencyIndexCache,
+            DrawReadModel drawReadModel,
+            DrawHistoryExport drawHistoryExport,
+            DrawHistoryBulkImport drawHistoryBulkImport,
+            RecentDrawsCache recentDrawsCache,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${lottery.draws.writePicks:false}") boolean writePicks
     ) {
         this.gameModeRepository = gameModeRepository;
         this.drawResultRepository = drawResultRepository;
@@ -60,125 +101,256 @@ public class DrawService {
         this.ingestionService = ingestionService;
         this.numberBallService = numberBallService;
         this.numberBallLifecycleService = numberBallLifecycleService;
+        this.tierWindowService = tierWindowService;
+        this.generationPlanCache = generationPlanCache;
+        this.drawFrequencyIndexCache = drawFrequencyIndexCache;
+        this.drawReadModel = drawReadModel;
+        this.drawHistoryExport = drawHistoryExport;
+        this.drawHistoryBulkImport = drawHistoryBulkImport;
+        this.recentDrawsCache = recentDrawsCache;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.writePicks = writePicks;
     }
 
-    @Transactional
     public ApiResponse<DrawBundleResponse> getLatest(GetLatestDrawRequest request) {
-        GameMode mode = requireMode(request.getGameModeId());
-        ensureDrawsUpToDate(mode, request.getStateCode());
+        RecentDrawsCache.RecentDraws recent = recentDraws(request.getGameModeId(), request.getStateCode());
 
-        DrawResult latest = drawResultRepository.findTopByGameModeIdOrderByDrawDateDesc(mode.getId())
-                .orElseGet(() -> saveOfficialFromIngestion(mode, ingestionService.ingestLatestDraw(mode.getId(), request.getStateCode())));
+        if (!recent.draws().isEmpty()) {
+            DrawBundleResponse bundle = DrawBundleResponse.builder()
+                    .gameMode(recent.gameMode())
+                    .draw(recent.draws().get(0))
+                    .build();
 
-        DrawBundleResponse bundle = DrawBundleResponse.builder()
-                .gameMode(toGameModeResponse(mode))
-                .draw(toDrawResponse(latest))
-                .build();
+            return ApiResponse.ok("Latest draw loaded", bundle);
+        }
 
-        return ApiResponse.ok("Latest draw loaded", bundle);
+        // nothing stored yet: ingest the latest draw now
+        return storedOrIngested(
+                request.getGameModeId(),
+                mode -> drawResultRepository.findTopByGameModeIdOrderByDrawDateDesc(mode.getId()),
+                () -> ingestionService.ingestLatestDraw(request.getGameModeId(), request.getStateCode()),
+                (mode, latest) -> ApiResponse.ok("Latest draw loaded", DrawBundleResponse.builder()
+                        .gameMode(toGameModeResponse(mode))
+                        .draw(toDrawResponse(latest))
+                        .build())
+        );
     }
 
-    @Transactional
     public ApiResponse<DrawBundleResponse> getLast5(GetLastDrawsRequest request) {
-        GameMode mode = requireMode(request.getGameModeId());
-        ensureDrawsUpToDate(mode, request.getStateCode());
+        RecentDrawsCache.RecentDraws recent = recentDraws(request.getGameModeId(), request.getStateCode());
 
-        List<DrawResult> draws = drawResultRepository.findByGameModeIdOrderByDrawDateDesc(
-                mode.getId(),
-                PageRequest.of(0, LAST_DRAWS_COUNT)
-        );
+        List<DrawResponse> draws = recent.newest(LAST_DRAWS_COUNT);
+        if (draws == null) {
+            draws = tx.execute(status -> drawReadModel.latestDraws(request.getGameModeId(), LAST_DRAWS_COUNT));
+        }
 
         DrawBundleResponse bundle = DrawBundleResponse.builder()
-                .gameMode(toGameModeResponse(mode))
-                .draws(draws.stream().map(this::toDrawResponse).toList())
+                .gameMode(recent.gameMode())
+                .draws(draws)
                 .build();
 
         return ApiResponse.ok("Last 5 draws loaded", bundle);
     }
 
-    @Transactional
     public ApiResponse<DrawBundleResponse> getByDate(GetDrawByDateRequest request) {
-        GameMode mode = requireMode(request.getGameModeId());
-        ensureDrawsUpToDate(mode, request.getStateCode());
+        return storedOrIngested(
+                request.getGameModeId(),
+                mode -> {
+                    refreshIfStale(mode, request.getStateCode());
+                    return drawResultRepository.findByGameModeIdAndDrawDate(mode.getId(), request.getDrawDate());
+                },
+                () -> ingestionService.ingestDrawByDate(request.getGameModeId(), request.getStateCode(), request.getDrawDate()),
+                (mode, draw) -> ApiResponse.ok("Draw loaded", DrawBundleResponse.builder()
+                        .gameMode(toGameModeResponse(mode))
+                        .draw(toDrawResponse(draw))
+                        .build())
+        );
+    }
 
-        DrawResult draw = drawResultRepository.findByGameModeIdAndDrawDate(mode.getId(), request.getDrawDate())
-                .orElseGet(() -> saveOfficialFromIngestion(mode,
-                        ingestionService.ingestDrawByDate(mode.getId(), request.getStateCode(), request.getDrawDate())
-                ));
+    public ApiResponse<DrawBundleResponse> getCurrentFormat(GetCurrentFormatDrawsRequest request) {
+        FormatRange range = currentFormatRange(request.getGameModeId(), request.getStateCode());
+        ensureCurrentFormatHistory(range, request.getStateCode());
 
-        DrawBundleResponse bundle = DrawBundleResponse.builder()
-                .gameMode(toGameModeResponse(mode))
-                .draw(toDrawResponse(draw))
-                .build();
+        return tx.execute(status -> {
+            GameMode mode = requireMode(range.gameModeId());
+
+            DrawBundleResponse bundle = DrawBundleResponse.builder()
+                    .gameMode(toGameModeResponse(mode))
+                    .draws(drawReadModel.drawsBetween(mode.getId(), range.start(), range.end()))
+                    .build();
 
-        return ApiResponse.ok("Draw loaded", bundle);
+            return ApiResponse.ok("Current format draws loaded", bundle);
+        });
     }
 
-    @Transactional
-    public ApiResponse<DrawBundleResponse> getCurrentFormat(GetCurrentFormatDrawsRequest request) {
-        GameMode mode = requireMode(request.getGameModeId());
-        if (mode.getRules() == null || mode.getRules().getFormatStartDate() == null) {
-            throw new BadRequestException("Rules.formatStartDate is required for current format draws");
+    /**
+     * One page of the current-format history, oldest first, keyed on drawDate:
+     * pass nextCursor back as afterDate until hasMore is false.
+     */
+    public ApiResponse<DrawHistoryPageResponse> getHistory(GetDrawHistoryRequest request) {
+        int limit = (request.getLimit() == null) ? DEFAULT_HISTORY_PAGE_SIZE : request.getLimit();
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
         }
 
-        ensureDrawsUpToDate(mode, request.getStateCode());
+        FormatRange range = currentFormatRange(request.getGameModeId(), request.getStateCode());
+        if (request.getAfterDate() == null) ensureCurrentFormatHistory(range, request.getStateCode());
 
-        LocalDate start = mode.getRules().getFormatStartDate();
-        LocalDate end = computeLatestExpectedDrawDate(mode);
+        LocalDate from = (request.getAfterDate() == null || request.getAfterDate().isBefore(range.start()))
+                ? range.start()
+                : request.getAfterDate().plusDays(1);
 
-        // For initial history, we ingest history if DB empty in this range.
-        List<DrawResult> existing = drawResultRepository
-                .findByGameModeIdAndDrawDateBetweenOrderByDrawDateAsc(mode.getId(), start, end);
+        // one extra row tells whether another page exists
+        List<DrawResponse> draws = new ArrayList<>(tx.execute(status ->
+                drawReadModel.drawsFrom(range.gameModeId(), from, range.end(), limit + 1)
+        ));
+        boolean hasMore = draws.size() > limit;
+        if (hasMore) draws = draws.subList(0, limit);
 
-        if (existing.isEmpty()) {
-            List<IngestedDraw> history = ingestionService.ingestDrawHistory(mode.getId(), request.getStateCode());
+        DrawHistoryPageResponse page = DrawHistoryPageResponse.builder()
+                .draws(draws)
+                .nextCursor(hasMore ? draws.get(draws.size() - 1).getDrawDate() : null)
+                .hasMore(hasMore)
+                .build();
 
-            List<DrawResult> updatedDraws = new ArrayList<>();
+        return ApiResponse.ok("Draw history page loaded", page);
+    }
 
-            for (IngestedDraw d : history) {
-                DrawResult saved = saveOfficialFromIngestion(mode, d);
+    /**
+     * Validates the request and brings the history up to date; the returned body then streams the
+     * current-format draws as JSON in its own read-only transaction (see DrawHistoryExport).
+     */
+    public StreamingResponseBody exportCurrentFormat(GetCurrentFormatDrawsRequest request) {
+        FormatRange range = currentFormatRange(request.getGameModeId(), request.getStateCode());
+        ensureCurrentFormatHistory(range, request.getStateCode());
 
-                if (saved != null && saved.getOrigin() == DrawOrigin.OFFICIAL) {
-                    updatedDraws.add(saved);
-                }
-            }
+        return out -> drawHistoryExport.write(range.gameModeId(), range.start(), range.end(), out);
+    }
+
+    // current-format draws run from Rules.formatStartDate to the latest expected draw date
+    private record FormatRange(Long gameModeId, LocalDate start, LocalDate end) {}
+
+    private FormatRange currentFormatRange(Long gameModeId, String stateCode) {
+        return tx.execute(status -> {
+            GameMode mode = requireMode(gameModeId);
+            LocalDate start = requireFormatStartDate(mode);
+
+            refreshIfStale(mode, stateCode);
+
+            return new FormatRange(mode.getId(), start, computeLatestExpectedDrawDate(mode));
+        });
+    }
+
+    private LocalDate requireFormatStartDate(GameMode mode) {
+        if (mode.getRules() == null || mode.getRules().getFormatStartDate() == null) {
+            throw new BadRequestException("Rules.formatStartDate is required for current format draws");
+        }
+        return mode.getRules().getFormatStartDate();
+    }
+
+    // For initial history, we ingest history if DB empty in this range (fetched outside any transaction).
+    private void ensureCurrentFormatHistory(FormatRange range, String stateCode) {
+        Boolean stored = tx.execute(status ->
+                drawResultRepository.existsByGameModeIdAndDrawDateBetween(range.gameModeId(), range.start(), range.end())
+        );
+        if (Boolean.TRUE.equals(stored)) return;
+
+        List<IngestedDraw> history = ingestionService.ingestDrawHistory(range.gameModeId(), stateCode);
+
+        tx.executeWithoutResult(status -> {
+            GameMode mode = requireMode(range.gameModeId());
+            List<DrawResult> updatedDraws = importOfficialHistory(mode, history);
 
             if (!updatedDraws.isEmpty()) {
                 onDrawActiveForNumberBalls(mode, updatedDraws);
             }
+        });
+    }
 
-            existing = drawResultRepository
-                    .findByGameModeIdAndDrawDateBetweenOrderByDrawDateAsc(mode.getId(), start, end);
-        }
-
-        DrawBundleResponse bundle = DrawBundleResponse.builder()
-                .gameMode(toGameModeResponse(mode))
-                .draws(existing.stream().map(this::toDrawResponse).toList())
-                .build();
+    /**
+     * Writes a whole ingested history in bulk (see DrawHistoryBulkImport) and updates the
+     * GameMode snapshot once. Returns the official draws that were inserted or changed.
+     */
+    private List<DrawResult> importOfficialHistory(GameMode mode, List<IngestedDraw> history) {
+        DrawHistoryBulkImport.Result result = drawHistoryBulkImport.importOfficial(mode, history, writePicks);
 
-        return ApiResponse.ok("Current format draws loaded", bundle);
+        if (result.latest() != null) {
+            updateGameModeLatestSnapshotIfLatest(mode, result.latest().getDrawDate(), result.latest());
+        }
+        return result.written();
     }
 
-    @Transactional
     public DrawResponse getWinningNumbersForCheck(Long gameModeId, String stateCode, LocalDate drawDate) {
         if (gameModeId == null) throw new BadRequestException("gameModeId is required");
         if (stateCode == null || stateCode.isBlank()) throw new BadRequestException("stateCode is required");
 
-        GameMode mode = requireMode(gameModeId);
-        ensureDrawsUpToDate(mode, stateCode);
+        RecentDrawsCache.RecentDraws recent = recentDraws(gameModeId, stateCode);
+
+        DrawResponse cached = (drawDate == null)
+                ? (recent.draws().isEmpty() ? null : recent.draws().get(0))
+                : recent.onDate(drawDate);
+        if (cached != null) return cached;
 
-        DrawResult draw;
+        // older than the cached draws, or not stored yet (ingested now)
         if (drawDate == null) {
-            draw = drawResultRepository.findTopByGameModeIdOrderByDrawDateDesc(mode.getId())
-                    .orElseGet(() -> saveOfficialFromIngestion(mode, ingestionService.ingestLatestDraw(mode.getId(), stateCode)));
-        } else {
-            draw = drawResultRepository.findByGameModeIdAndDrawDate(mode.getId(), drawDate)
-                    .orElseGet(() -> saveOfficialFromIngestion(mode,
-                            ingestionService.ingestDrawByDate(mode.getId(), stateCode, drawDate)
-                    ));
+            return storedOrIngested(
+                    gameModeId,
+                    mode -> drawResultRepository.findTopByGameModeIdOrderByDrawDateDesc(mode.getId()),
+                    () -> ingestionService.ingestLatestDraw(gameModeId, stateCode),
+                    (mode, draw) -> toDrawResponse(draw)
+            );
         }
+        return storedOrIngested(
+                gameModeId,
+                mode -> drawResultRepository.findByGameModeIdAndDrawDate(mode.getId(), drawDate),
+                () -> ingestionService.ingestDrawByDate(gameModeId, stateCode, drawDate),
+                (mode, draw) -> toDrawResponse(draw)
+        );
+    }
 
-        return toDrawResponse(draw);
+    /**
+     * Returns respond(mode, draw) for the draw find locates, or when it finds nothing, fetches the
+     * draw and saves it. find and respond run in short transactions; the fetch runs outside any.
+     *
+     * A read does not wait for a running DrawSyncService sync of the game: IngestionSingleFlight
+     * already coalesces the fetch (with a bounded wait on another node's lease) and the save is
+     * an upsert, so racing the sync costs at most one extra upstream fetch.
+     */
+    private <T> T storedOrIngested(
+            Long gameModeId,
+            Function<GameMode, Optional<DrawResult>> find,
+            Supplier<IngestedDraw> fetch,
+            BiFunction<GameMode, DrawResult, T> respond
+    ) {
+        T stored = tx.execute(status -> {
+            GameMode mode = requireMode(gameModeId);
+            return find.apply(mode).map(draw -> respond.apply(mode, draw)).orElse(null);
+        });
+        if (stored != null) return stored;
+
+        IngestedDraw ingested = fetch.get();
+        return tx.execute(status -> {
+            GameMode mode = requireMode(gameModeId);
+            return respond.apply(mode, saveOfficialFromIngestion(mode, ingested));
+        });
+    }
+
+    // cached GameMode snapshot + newest draws; the staleness check uses the cached dates too
+    private RecentDrawsCache.RecentDraws recentDraws(Long gameModeId, String stateCode) {
+        if (gameModeId == null) throw new BadRequestException("gameModeId is required");
+
+        RecentDrawsCache.RecentDraws recent = recentDrawsCache.get(gameModeId, () -> loadRecentDraws(gameModeId));
+        refreshIfStale(gameModeId, recent.calendar(), recent.latestDrawDate(), stateCode);
+        return recent;
+    }
+
+    private RecentDrawsCache.RecentDraws loadRecentDraws(Long gameModeId) {
+        GameMode mode = requireMode(gameModeId);
+        int depth = recentDrawsCache.depth();
+
+        List<DrawResponse> draws = drawReadModel.latestDraws(gameModeId, depth);
+        return new RecentDrawsCache.RecentDraws(toGameModeResponse(mode), DrawCalendar.of(mode), draws, draws.size() < depth);
     }
 
 
@@ -197,13 +369,12 @@ public class DrawService {
         LocalDate start = mode.getRules().getFormatStartDate();
         LocalDate end = LocalDate.now();
 
-        List<IngestedDraw> ingestedHistory = ingestionService.ingestDrawHistory(mode.getId(), stateCode);
-        for (IngestedDraw ingested : ingestedHistory) {
-            if (ingested == null || ingested.getDrawDate() == null) continue;
-            if (ingested.getDrawDate().isBefore(start) || ingested.getDrawDate().isAfter(end)) continue;
+        List<IngestedDraw> ingestedHistory = ingestionService.ingestDrawHistory(mode.getId(), stateCode).stream()
+                .filter(ingested -> ingested != null && ingested.getDrawDate() != null)
+                .filter(ingested -> !ingested.getDrawDate().isBefore(start) && !ingested.getDrawDate().isAfter(end))
+                .toList();
 
-            saveOfficialFromIngestion(mode, ingested);
-        }
+        importOfficialHistory(mode, ingestedHistory);
 
         List<DrawResult> draws = drawResultRepository
                 .findByGameModeIdAndDrawDateBetweenOrderByDrawDateAsc(mode.getId(), start, end);
@@ -254,31 +425,34 @@ public class DrawService {
     // UPSERT (manual vs real-data)
     // -----------------------------
 
-    @Transactional
     public ApiResponse<DrawBundleResponse> upsert(UpsertDrawRequest request) {
-        GameMode mode = requireMode(request.getGameModeId());
+        if (!isManualRequest(request)) return upsertOfficial(request);
+        return tx.execute(status -> upsertManual(request));
+    }
 
-        boolean manual = isManualRequest(request);
+    // Real data mode: ingest date or latest (fetched outside any transaction)
+    private ApiResponse<DrawBundleResponse> upsertOfficial(UpsertDrawRequest request) {
+        Long gameModeId = tx.execute(status -> requireMode(request.getGameModeId()).getId());
 
-        if (!manual) {
-            // Real data mode: ingest date or latest
-            IngestedDraw ingested = (request.getDrawDate() == null)
-                    ? ingestionService.ingestLatestDraw(mode.getId(), request.getStateCode())
-                    : ingestionService.ingestDrawByDate(mode.getId(), request.getStateCode(), request.getDrawDate());
+        IngestedDraw ingested = (request.getDrawDate() == null)
+                ? ingestionService.ingestLatestDraw(gameModeId, request.getStateCode())
+                : ingestionService.ingestDrawByDate(gameModeId, request.getStateCode(), request.getDrawDate());
 
+        return tx.execute(status -> {
+            GameMode mode = requireMode(gameModeId);
             DrawResult saved = saveOfficialFromIngestion(mode, ingested);
 
-            if (saved != null && saved.getOrigin() == DrawOrigin.OFFICIAL) {
-                onDrawActiveForNumberBalls(mode, List.of(saved));
-            }
-
             DrawBundleResponse bundle = DrawBundleResponse.builder()
                     .gameMode(toGameModeResponse(mode))
                     .draw(toDrawResponse(saved))
                     .build();
 
             return ApiResponse.ok("Official draw ingested", bundle);
-        }
+        });
+    }
+
+    private ApiResponse<DrawBundleResponse> upsertManual(UpsertDrawRequest request) {
+        GameMode mode = requireMode(request.getGameModeId());
 
         // Manual mode requires drawDate + at least one pool
         if (request.getDrawDate() == null) throw new BadRequestException("drawDate is required for manual upsert");
@@ -303,8 +477,8 @@ public class DrawService {
 
         if (priorOrigin == DrawOrigin.OFFICIAL) {
             // Capture official numbers BEFORE we mutate picks.
-            priorOfficialW = picksToList(draw, "WHITE");
-            priorOfficialR = picksToList(draw, "RED");
+            priorOfficialW = draw.numbersOf(PoolType.WHITE);
+            priorOfficialR = draw.numbersOf(PoolType.RED);
         }
 
         boolean differsFromPriorOfficial = (priorOrigin == DrawOrigin.OFFICIAL)
@@ -312,17 +486,15 @@ public class DrawService {
 
         if (differsFromPriorOfficial) {
             draw.setOrigin(DrawOrigin.MANUAL);
-            draw.getPicks().clear();
-            addPicks(draw, request.getWhiteNumbers(), request.getRedNumbers());
+            draw.replaceNumbers(request.getWhiteNumbers(), request.getRedNumbers(), writePicks);
         } else if (priorOrigin == DrawOrigin.OFFICIAL) {
             // Manual numbers match official: keep OFFICIAL active and do not overwrite picks.
         } else {
             draw.setOrigin(DrawOrigin.MANUAL);
-            draw.getPicks().clear();
-            addPicks(draw, request.getWhiteNumbers(), request.getRedNumbers());
+            draw.replaceNumbers(request.getWhiteNumbers(), request.getRedNumbers(), writePicks);
         }
 
-        DrawResult saved = drawResultRepository.save(draw);
+        DrawResult saved = saveDraw(draw);
 
         onDrawActiveForNumberBalls(mode, List.of(saved));
 
@@ -393,6 +565,7 @@ public class DrawService {
 
         conflict.setAcknowledged(true);
         drawConflictRepository.save(conflict);
+        recentDrawsCache.invalidate(conflict.getGameModeId());
 
         return ApiResponse.ok("Conflict acknowledged", null);
     }
@@ -415,10 +588,9 @@ public class DrawService {
 
         if (request.getResolution() == ResolveDrawConflictRequest.Resolution.OFFICIAL) {
             draw.setOrigin(DrawOrigin.OFFICIAL);
-            draw.getPicks().clear();
-            addPicks(draw, officialW, officialR);
+            draw.replaceNumbers(officialW, officialR, writePicks);
 
-            DrawResult saved = drawResultRepository.save(draw);
+            DrawResult saved = saveDraw(draw);
 
             onDrawActiveForNumberBalls(saved.getGameMode(), List.of(saved));
 
@@ -426,7 +598,7 @@ public class DrawService {
         } else {
             draw.setOrigin(DrawOrigin.MANUAL);
 
-            DrawResult saved = drawResultRepository.save(draw);
+            DrawResult saved = saveDraw(draw);
 
             onDrawActiveForNumberBalls(saved.getGameMode(), List.of(saved));
 
@@ -444,48 +616,88 @@ public class DrawService {
     // ensure up-to-date
     // -----------------------------
 
-    private void ensureDrawsUpToDate(GameMode mode, String stateCode) {
-        LocalDate latestExpected = computeLatestExpectedDrawDate(mode);
+    /**
+     * Ingests draws missing since the latest stored one (up to SAFE_BACKFILL_MAX_DATES) and
+     * refreshes GameMode status / nextDrawDate. Run by DrawSyncService in the background;
+     * read endpoints only check staleness (refreshIfStale) and never wait on upstream sites.
+     */
+    public void syncMissingDraws(Long gameModeId, String stateCode) {
+        ensureDrawsUpToDate(gameModeId, stateCode);
+    }
 
+    // Reads serve what is stored; a stale game only gets a background refresh requested.
+    private void refreshIfStale(GameMode mode, String stateCode) {
         LocalDate latestStored = drawResultRepository.findTopByGameModeIdOrderByDrawDateDesc(mode.getId())
                 .map(DrawResult::getDrawDate)
                 .orElse(null);
 
-        int missing = estimateMissingDrawCount(mode, latestStored, latestExpected);
+        refreshIfStale(mode.getId(), DrawCalendar.of(mode), latestStored, stateCode);
+    }
 
-        if (missing == 0) {
-            if (mode.getStatus() != GameModeStatus.UP_TO_DATE) {
-                mode.setStatus(GameModeStatus.UP_TO_DATE);
-                gameModeRepository.save(mode);
-            }
-            return;
+    private void refreshIfStale(Long gameModeId, DrawCalendar calendar, LocalDate latestStored, String stateCode) {
+        LocalDate latestExpected = calendar.latestExpected(LocalDate.now(), Instant.now());
+        int missing = (latestStored == null) ? 1 : calendar.countBetween(latestStored, latestExpected);
+
+        if (missing > 0) {
+            eventPublisher.publishEvent(new DrawsStaleEvent(gameModeId, stateCode));
         }
+    }
 
-        mode.setStatus(GameModeStatus.OUT_OF_DATE);
-        gameModeRepository.save(mode);
+    // missing dates are found in one transaction, fetched outside it and saved in a second one
+    private void ensureDrawsUpToDate(Long gameModeId, String stateCode) {
+        List<LocalDate> missingDates = tx.execute(status -> {
+            GameMode mode = requireMode(gameModeId);
+            LocalDate latestExpected = computeLatestExpectedDrawDate(mode);
 
-        // ingest missing dates, safe limit
-        List<LocalDate> missingDates = computeMissingDrawDates(mode, latestStored, latestExpected)
-                .stream()
-                .limit(SAFE_BACKFILL_MAX_DATES)
-                .toList();
+            LocalDate latestStored = drawResultRepository.findTopByGameModeIdOrderByDrawDateDesc(mode.getId())
+                    .map(DrawResult::getDrawDate)
+                    .orElse(null);
+
+            int missing = estimateMissingDrawCount(mode, latestStored, latestExpected);
+
+            if (missing == 0) {
+                if (mode.getStatus() != GameModeStatus.UP_TO_DATE) {
+                    mode.setStatus(GameModeStatus.UP_TO_DATE);
+                    gameModeRepository.save(mode);
+                    recentDrawsCache.invalidate(mode.getId());
+                }
+                return List.<LocalDate>of();
+            }
+
+            mode.setStatus(GameModeStatus.OUT_OF_DATE);
+            gameModeRepository.save(mode);
 
-        List<DrawResult> updatedDraws = new ArrayList<>();
+            // ingest missing dates, safe limit
+            return computeMissingDrawDates(mode, latestStored, latestExpected)
+                    .stream()
+                    .limit(SAFE_BACKFILL_MAX_DATES)
+                    .toList();
+        });
+        if (missingDates == null || missingDates.isEmpty()) return;
 
+        List<IngestedDraw> fetched = new ArrayList<>(missingDates.size());
         for (LocalDate d : missingDates) {
-            IngestedDraw ingested = ingestionService.ingestDrawByDate(mode.getId(), stateCode, d);
+            fetched.add(ingestionService.ingestDrawByDate(gameModeId, stateCode, d));
+        }
 
-            DrawResult saved = saveOfficialFromIngestion(mode, ingested);
+        tx.executeWithoutResult(status -> saveMissingDraws(requireMode(gameModeId), fetched));
+    }
 
-            if (saved != null && saved.getOrigin() == DrawOrigin.OFFICIAL) {
-                updatedDraws.add(saved);
+    private void saveMissingDraws(GameMode mode, List<IngestedDraw> fetched) {
+        for (IngestedDraw ingested : fetched) {
+            if (ingested == null || ingested.getDrawDate() == null) {
+                throw new BadRequestException("Ingested draw missing drawDate");
             }
         }
 
+        List<DrawResult> updatedDraws = importOfficialHistory(mode, fetched);
+
         if (!updatedDraws.isEmpty()) {
             onDrawActiveForNumberBalls(mode, updatedDraws);
         }
 
+        LocalDate latestExpected = computeLatestExpectedDrawDate(mode);
+
         // after ingest, recompute status
         LocalDate newest = drawResultRepository.findTopByGameModeIdOrderByDrawDateDesc(mode.getId())
                 .map(DrawResult::getDrawDate)
@@ -498,52 +710,43 @@ public class DrawService {
         mode.setNextDrawDate(computeNextDrawDate(mode));
 
         gameModeRepository.save(mode);
+        recentDrawsCache.invalidate(mode.getId());
     }
 
     // -----------------------------
     // save / map helpers
     // -----------------------------
 
+    // every DrawResult write goes through here so the frequency index sees the active numbers
+    // and the game's cached recent draws are dropped
+    private DrawResult saveDraw(DrawResult draw) {
+        DrawResult saved = drawResultRepository.save(draw);
+        drawFrequencyIndexCache.recordDraw(saved);
+        recentDrawsCache.invalidate(saved.getGameMode().getId());
+        return saved;
+    }
+
+    /**
+     * Writes one ingested official draw through the bulk upsert (a differing manual draw stays
+     * active and gets a conflict), counts it for NumberBalls when it was written, and returns the
+     * stored draw.
+     */
     private DrawResult saveOfficialFromIngestion(GameMode mode, IngestedDraw ingested) {
         if (ingested == null || ingested.getDrawDate() == null) {
             throw new BadRequestException("Ingested draw missing drawDate");
         }
 
-        DrawResult draw = drawResultRepository.findByGameModeIdAndDrawDate(mode.getId(), ingested.getDrawDate())
-                .orElseGet(() -> DrawResult.builder()
-                        .gameMode(mode)
-                        .drawDate(ingested.getDrawDate())
-                        .build());
-
-        // if there is an active manual draw and official differs, store official snapshot as conflict instead of overwriting
-        if (draw.getId() != null && draw.getOrigin() == DrawOrigin.MANUAL) {
-            List<Integer> manualW = picksToList(draw, "WHITE");
-            List<Integer> manualR = picksToList(draw, "RED");
-
-            if (!sameNumbers(manualW, manualR, ingested.getWhiteNumbers(), ingested.getRedNumbers())) {
-                createOrUpdateConflict(mode, draw, manualW, manualR, ingested.getWhiteNumbers(), ingested.getRedNumbers());
-                return draw; // keep manual active
-            }
+        List<DrawResult> written = importOfficialHistory(mode, List.of(ingested));
+        if (!written.isEmpty()) {
+            onDrawActiveForNumberBalls(mode, written);
         }
 
-        // otherwise write official into draw result
-        draw.setOrigin(DrawOrigin.OFFICIAL);
-        draw.getPicks().clear();
-        addPicks(draw, ingested.getWhiteNumbers(), ingested.getRedNumbers());
-
-        boolean isNewOfficialDraw = (draw.getId() == null);
-
-        DrawResult saved = drawResultRepository.save(draw);
-
-        // update GameMode snapshot if newest
-        updateGameModeLatestSnapshotIfLatest(mode, saved, ingested);
-
-        return saved;
+        return drawHistoryBulkImport.stored(mode.getId(), ingested.getDrawDate());
     }
 
-    private void updateGameModeLatestSnapshotIfLatest(GameMode mode, DrawResult draw, IngestedDraw ingested) {
-        if (isLatest(mode, draw.getDrawDate())) {
-            mode.setLatestDrawDate(draw.getDrawDate());
+    private void updateGameModeLatestSnapshotIfLatest(GameMode mode, LocalDate drawDate, IngestedDraw ingested) {
+        if (isLatest(mode, drawDate)) {
+            mode.setLatestDrawDate(drawDate);
             mode.setLatestWhiteWinningCsv(csv(ingested.getWhiteNumbers()));
             mode.setLatestRedWinningCsv(csv(ingested.getRedNumbers()));
 
@@ -553,6 +756,8 @@ public class DrawService {
 
             // drawTimeLocal/drawTimeZoneId could come from schedule ingestion later; keep as-is here
             gameModeRepository.save(mode);
+            generationPlanCache.invalidate(mode.getId());
+            recentDrawsCache.invalidate(mode.getId());
         }
     }
 
@@ -568,6 +773,8 @@ public class DrawService {
             if (req.getDrawTimeZoneId() != null) mode.setDrawTimeZoneId(req.getDrawTimeZoneId());
 
             gameModeRepository.save(mode);
+            generationPlanCache.invalidate(mode.getId());
+            recentDrawsCache.invalidate(mode.getId());
         }
     }
 
@@ -577,6 +784,8 @@ public class DrawService {
             mode.setLatestWhiteWinningCsv(csv(white));
             mode.setLatestRedWinningCsv(csv(red));
             gameModeRepository.save(mode);
+            generationPlanCache.invalidate(mode.getId());
+            recentDrawsCache.invalidate(mode.getId());
         }
     }
 
@@ -630,50 +839,14 @@ public class DrawService {
 
         // If new official arrives later, re-surface conflict (optional); for now keep ack state.
         drawConflictRepository.save(conflict);
-    }
-
-    private void addPicks(DrawResult draw, List<Integer> white, List<Integer> red) {
-        int pos = 1;
-        if (white != null) {
-            for (Integer n : white) {
-                if (n == null) continue;
-                draw.getPicks().add(DrawPick.builder()
-                        .drawResult(draw)
-                        .poolType(com.lotteryapp.lottery.domain.numbers.PoolType.WHITE)
-                        .position(pos++)
-                        .numberValue(n)
-                        .build());
-            }
-        }
-
-        pos = 1;
-        if (red != null) {
-            for (Integer n : red) {
-                if (n == null) continue;
-                draw.getPicks().add(DrawPick.builder()
-                        .drawResult(draw)
-                        .poolType(com.lotteryapp.lottery.domain.numbers.PoolType.RED)
-                        .position(pos++)
-                        .numberValue(n)
-                        .build());
-            }
-        }
+        recentDrawsCache.invalidate(mode.getId());
     }
 
     private DrawResponse toDrawResponse(DrawResult draw) {
         DrawConflict conflict = (draw.getId() == null) ? null : drawConflictRepository.findByDrawResultId(draw.getId()).orElse(null);
 
-        List<Integer> white = draw.getPicks().stream()
-                .filter(p -> p.getPoolType() == com.lotteryapp.lottery.domain.numbers.PoolType.WHITE)
-                .sorted(Comparator.comparingInt(DrawPick::getPosition))
-                .map(DrawPick::getNumberValue)
-                .toList();
-
-        List<Integer> red = draw.getPicks().stream()
-                .filter(p -> p.getPoolType() == com.lotteryapp.lottery.domain.numbers.PoolType.RED)
-                .sorted(Comparator.comparingInt(DrawPick::getPosition))
-                .map(DrawPick::getNumberValue)
-                .toList();
+        List<Integer> white = draw.numbersOf(PoolType.WHITE);
+        List<Integer> red = draw.numbersOf(PoolType.RED);
 
         return DrawResponse.builder()
                 .id(draw.getId())
@@ -715,50 +888,15 @@ public class DrawService {
         List<NumberBall> balls = numberBallService.getBallsByGameModeId(mode.getId());
         numberBallLifecycleService.applydraw(mode, draws, balls);
         numberBallService.saveAll(balls);
+        tierWindowService.advanceAfterCommitIfStale(mode);
     }
 
     private LocalDate computeLatestExpectedDrawDate(GameMode mode) {
-        LocalDate today = LocalDate.now();
-
-        Set<DrawDay> drawDays = mode.getDrawDays();
-        if (drawDays == null || drawDays.isEmpty()) return today;
-
-        ZoneId zone = safeZone(mode.getDrawTimeZoneId());
-        LocalTime time = mode.getDrawTimeLocal();
-
-        // If time+zone are available, only count today's draw if draw time has passed in that zone.
-        if (time != null && zone != null) {
-            ZonedDateTime nowZ = ZonedDateTime.now(zone);
-
-            LocalDate candidate = today;
-            for (int i = 0; i < 14; i++) { // look back up to 2 weeks
-                if (drawDays.contains(mapDay(candidate.getDayOfWeek()))) {
-                    ZonedDateTime drawMoment = candidate.atTime(time).atZone(zone);
-                    if (!drawMoment.isAfter(nowZ)) return candidate;
-                }
-                candidate = candidate.minusDays(1);
-            }
-        }
-
-        // fallback: most recent scheduled day on/before today
-        LocalDate d = today;
-        for (int i = 0; i < 14; i++) {
-            if (drawDays.contains(mapDay(d.getDayOfWeek()))) return d;
-            d = d.minusDays(1);
-        }
-        return today;
+        return DrawCalendar.of(mode).latestExpected(LocalDate.now(), Instant.now());
     }
 
     private LocalDate computeNextDrawDate(GameMode mode) {
-        Set<DrawDay> drawDays = mode.getDrawDays();
-        if (drawDays == null || drawDays.isEmpty()) return null;
-
-        LocalDate start = LocalDate.now();
-        for (int i = 0; i < 14; i++) {
-            LocalDate d = start.plusDays(i);
-            if (drawDays.contains(mapDay(d.getDayOfWeek()))) return d;
-        }
-        return null;
+        return DrawCalendar.of(mode).onOrAfter(LocalDate.now());
     }
 
     private int estimateMissingDrawCount(GameMode mode, LocalDate latestStored, LocalDate latestExpected) {
@@ -767,47 +905,14 @@ public class DrawService {
             // missing from formatStartDate? keep it simple here
             return 1;
         }
-        if (!latestStored.isBefore(latestExpected)) return 0;
-
-        return (int) computeMissingDrawDates(mode, latestStored, latestExpected).size();
+        return DrawCalendar.of(mode).countBetween(latestStored, latestExpected);
     }
 
     private List<LocalDate> computeMissingDrawDates(GameMode mode, LocalDate latestStored, LocalDate latestExpected) {
         if (latestExpected == null) return List.of();
         if (latestStored == null) return List.of(latestExpected);
 
-        if (!latestStored.isBefore(latestExpected)) return List.of();
-
-        Set<DrawDay> drawDays = mode.getDrawDays();
-        LocalDate d = latestStored.plusDays(1);
-
-        List<LocalDate> out = new ArrayList<>();
-        while (!d.isAfter(latestExpected)) {
-            if (drawDays.contains(mapDay(d.getDayOfWeek()))) out.add(d);
-            d = d.plusDays(1);
-        }
-        return out;
-    }
-
-    private static DrawDay mapDay(DayOfWeek dow) {
-        return switch (dow) {
-            case MONDAY -> DrawDay.MONDAY;
-            case TUESDAY -> DrawDay.TUESDAY;
-            case WEDNESDAY -> DrawDay.WEDNESDAY;
-            case THURSDAY -> DrawDay.THURSDAY;
-            case FRIDAY -> DrawDay.FRIDAY;
-            case SATURDAY -> DrawDay.SATURDAY;
-            case SUNDAY -> DrawDay.SUNDAY;
-        };
-    }
-
-    private static ZoneId safeZone(String zoneId) {
-        if (zoneId == null || zoneId.isBlank()) return null;
-        try {
-            return ZoneId.of(zoneId);
-        } catch (Exception e) {
-            return null;
-        }
+        return DrawCalendar.of(mode).datesBetween(latestStored, latestExpected);
     }
 
     // -----------------------------
@@ -897,18 +1002,6 @@ public class DrawService {
         return in.stream().filter(Objects::nonNull).toList();
     }
 
-    private static List<Integer> picksToList(DrawResult draw, String pool) {
-        var pt = "WHITE".equals(pool)
-                ? com.lotteryapp.lottery.domain.numbers.PoolType.WHITE
-                : com.lotteryapp.lottery.domain.numbers.PoolType.RED;
-
-        return draw.getPicks().stream()
-                .filter(p -> p.getPoolType() == pt)
-                .sorted(Comparator.comparingInt(DrawPick::getPosition))
-                .map(DrawPick::getNumberValue)
-                .toList();
-    }
-
     private GameModeResponse toGameModeResponse(GameMode m) {
         return GameModeResponse.builder()
                 .id(m.getId())
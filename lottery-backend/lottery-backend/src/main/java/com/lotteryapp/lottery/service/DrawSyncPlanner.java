@@ -0,0 +1,160 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.gamemode.DrawCalendar;
+import com.lotteryapp.lottery.domain.gamemode.DrawDay;
+import com.lotteryapp.lottery.domain.gamemode.GameModeStatus;
+import com.lotteryapp.lottery.dto.common.ApiResponse;
+import com.lotteryapp.lottery.dto.draw.response.DrawSyncPlanEntryResponse;
+import com.lotteryapp.lottery.dto.draw.response.DrawSyncPlanResponse;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import com.lotteryapp.lottery.repository.GameModeLatestDrawRow;
+import com.lotteryapp.lottery.repository.GameModeRepository;
+import com.lotteryapp.lottery.repository.GameModeScheduleRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Draw freshness of every game mode at once.
+ *
+ * Two queries cover all games (schedules; latest stored draw date per game, grouped), and the
+ * expected dates and missing counts are computed with DrawCalendar, so no game or draw entity
+ * is loaded and the cost does not depend on how far behind a game is.
+ *
+ * Backfill priority: out-of-date games whose latest expected draw is most recent first (those
+ * are the results users ask for), then fewer missing draws first (quick to close), then id.
+ * Running the plan hands the out-of-date games to DrawSyncService in that order, which bounds
+ * concurrency, drops duplicates and throttles retries.
+ */
+@Service
+public class DrawSyncPlanner {
+
+    private static final Comparator<DrawSyncPlanEntryResponse> PRIORITY = Comparator
+            .comparing((DrawSyncPlanEntryResponse e) -> e.getStatus() == GameModeStatus.OUT_OF_DATE ? 0 : 1)
+            .thenComparing(DrawSyncPlanEntryResponse::getLatestExpectedDrawDate, Comparator.reverseOrder())
+            .thenComparingInt(DrawSyncPlanEntryResponse::getMissingDrawCountEstimate)
+            .thenComparing(DrawSyncPlanEntryResponse::getGameModeId);
+
+    private final GameModeRepository gameModeRepository;
+    private final DrawResultRepository drawResultRepository;
+    private final DrawSyncService drawSyncService;
+
+    // used for games without a jurisdiction (multi-state); blank = such games are not queued
+    private final String defaultStateCode;
+
+    public DrawSyncPlanner(
+            GameModeRepository gameModeRepository,
+            DrawResultRepository drawResultRepository,
+            DrawSyncService drawSyncService,
+            @Value("${lottery.draws.planDefaultStateCode:}") String defaultStateCode
+    ) {
+        this.gameModeRepository = gameModeRepository;
+        this.drawResultRepository = drawResultRepository;
+        this.drawSyncService = drawSyncService;
+        this.defaultStateCode = (defaultStateCode == null || defaultStateCode.isBlank()) ? null : defaultStateCode.trim();
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<DrawSyncPlanResponse> getPlan() {
+        return ApiResponse.ok("Draw sync plan loaded", toResponse(plan(), 0));
+    }
+
+    /**
+     * Queues background syncs for out-of-date games in priority order. Games already syncing,
+     * synced within the refresh interval, or beyond the sync queue's capacity are not queued.
+     */
+    public ApiResponse<DrawSyncPlanResponse> runPlan() {
+        List<DrawSyncPlanEntryResponse> entries = plan();
+
+        int queued = 0;
+        for (DrawSyncPlanEntryResponse e : entries) {
+            if (e.getStatus() != GameModeStatus.OUT_OF_DATE || e.getStateCode() == null) continue;
+            if (drawSyncService.requestRefresh(e.getGameModeId(), e.getStateCode())) {
+                e.setQueued(true);
+                queued++;
+            }
+        }
+
+        return ApiResponse.ok("Draw sync plan queued", toResponse(entries, queued));
+    }
+
+    /**
+     * Every game mode's freshness, in backfill priority order.
+     */
+    public List<DrawSyncPlanEntryResponse> plan() {
+        LocalDate today = LocalDate.now();
+        Instant now = Instant.now();
+
+        Map<Long, LocalDate> latestStored = new HashMap<>();
+        for (GameModeLatestDrawRow row : drawResultRepository.findLatestDrawDates()) {
+            latestStored.put(row.getGameModeId(), row.getLatestDrawDate());
+        }
+
+        List<DrawSyncPlanEntryResponse> entries = new ArrayList<>();
+        for (GameSchedule s : schedules()) {
+            DrawCalendar calendar = s.calendar();
+
+            LocalDate stored = latestStored.get(s.gameModeId());
+            LocalDate expected = calendar.latestExpected(today, now);
+            int missing = (stored == null) ? 1 : calendar.countBetween(stored, expected);
+
+            entries.add(DrawSyncPlanEntryResponse.builder()
+                    .gameModeId(s.gameModeId())
+                    .stateCode(s.stateCode())
+                    .status(missing == 0 ? GameModeStatus.UP_TO_DATE : GameModeStatus.OUT_OF_DATE)
+                    .latestStoredDrawDate(stored)
+                    .latestExpectedDrawDate(expected)
+                    .nextDrawDate(calendar.onOrAfter(today))
+                    .missingDrawCountEstimate(missing)
+                    .build());
+        }
+
+        entries.sort(PRIORITY);
+        return entries;
+    }
+
+    /**
+     * @param stateCode jurisdiction code, else planDefaultStateCode, else null (cannot be synced)
+     */
+    public record GameSchedule(Long gameModeId, String stateCode, DrawCalendar calendar) {}
+
+    /**
+     * Draw schedule of every game mode, from one projection query.
+     */
+    public List<GameSchedule> schedules() {
+        List<GameSchedule> out = new ArrayList<>();
+
+        // rows come one per (game, draw day), ordered by game
+        List<GameModeScheduleRow> rows = gameModeRepository.findScheduleRows();
+        for (int i = 0; i < rows.size(); ) {
+            GameModeScheduleRow first = rows.get(i);
+
+            Set<DrawDay> drawDays = EnumSet.noneOf(DrawDay.class);
+            for (; i < rows.size() && rows.get(i).getGameModeId().equals(first.getGameModeId()); i++) {
+                if (rows.get(i).getDrawDay() != null) drawDays.add(rows.get(i).getDrawDay());
+            }
+
+            out.add(new GameSchedule(
+                    first.getGameModeId(),
+                    first.getStateCode() != null ? first.getStateCode() : defaultStateCode,
+                    DrawCalendar.of(drawDays, first.getDrawTimeLocal(), first.getDrawTimeZoneId())
+            ));
+        }
+        return out;
+    }
+
+    private DrawSyncPlanResponse toResponse(List<DrawSyncPlanEntryResponse> entries, int queued) {
+        int outOfDate = (int) entries.stream().filter(e -> e.getStatus() == GameModeStatus.OUT_OF_DATE).count();
+
+        return DrawSyncPlanResponse.builder()
+                .gameCount(entries.size())
+                .outOfDateCount(outOfDate)
+                .queuedCount(queued)
+                .entries(entries)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.ingestion.IngestionLeases;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background draw synchronization (stale-while-revalidate).
+ *
+ * DrawService reads serve stored draws and publish DrawsStaleEvent when a game is behind;
+ * this service runs DrawService.syncMissingDraws for it on a small bounded pool, off the
+ * request thread and in its own transaction.
+ *
+ * - at most one refresh per game mode is queued or running; further requests are dropped
+ * - a game is not retried within minRefreshInterval of its last attempt (upstream down or slow)
+ * - a full queue drops the request; the next stale read asks again
+ * - across nodes, a sync runs under the game's IngestionLeases row; a node that finds it held
+ *   skips the sync (the holder is saving the same draws)
+ */
+@Service
+public class DrawSyncService {
+
+    private final DrawService drawService;
+    private final IngestionLeases leases;
+    private final Duration syncLeaseTtl;
+    private final long minRefreshIntervalNanos;
+    private final ThreadPoolExecutor executor;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> lastAttemptNanos = new ConcurrentHashMap<>();
+
+    public DrawSyncService(
+            DrawService drawService,
+            IngestionLeases leases,
+            @Value("${lottery.draws.syncThreads:2}") int threads,
+            @Value("${lottery.draws.syncQueueCapacity:100}") int queueCapacity,
+            @Value("${lottery.draws.minRefreshIntervalSeconds:60}") long minRefreshIntervalSeconds,
+            @Value("${lottery.draws.syncLeaseSeconds:300}") long syncLeaseSeconds
+    ) {
+        this.drawService = drawService;
+        this.leases = leases;
+        this.syncLeaseTtl = Duration.ofSeconds(Math.max(1, syncLeaseSeconds));
+        this.minRefreshIntervalNanos = Duration.ofSeconds(Math.max(0, minRefreshIntervalSeconds)).toNanos();
+
+        AtomicInteger threadNo = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "draw-sync-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @EventListener
+    public void onDrawsStale(DrawsStaleEvent event) {
+        requestRefresh(event.gameModeId(), event.stateCode());
+    }
+
+    /**
+     * Queues a background sync for the game mode.
+     *
+     * @return true if a refresh was queued by this call
+     */
+    public boolean requestRefresh(Long gameModeId, String stateCode) {
+        if (gameModeId == null) return false;
+
+        long now = System.nanoTime();
+        Long last = lastAttemptNanos.get(gameModeId);
+        if (last != null && now - last < minRefreshIntervalNanos) return false;
+
+        if (!inFlight.add(gameModeId)) return false;
+        lastAttemptNanos.put(gameModeId, now);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    syncUnderLease(gameModeId, stateCode);
+                } catch (RuntimeException ignored) {
+                    // upstream or data failure: the game stays stale and is retried after the interval
+                } finally {
+                    inFlight.remove(gameModeId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(gameModeId);
+            lastAttemptNanos.remove(gameModeId, now);
+            return false;
+        }
+    }
+
+    private void syncUnderLease(Long gameModeId, String stateCode) {
+        String leaseKey = "DRAW_SYNC:" + gameModeId;
+        if (!leases.acquire(leaseKey, syncLeaseTtl).acquired()) return;
+
+        try {
+            drawService.syncMissingDraws(gameModeId, stateCode);
+        } finally {
+            leases.release(leaseKey);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,7 @@
+package com.lotteryapp.lottery.service;
+
+/**
+ * Published by DrawService reads when a game mode is missing expected draws.
+ */
+public record DrawsStaleEvent(Long gameModeId, String stateCode) {
+}
@@ -27,10 +27,22 @@ public class GameModeService {
 
     private final GameModeRepository gameModeRepository;
     private final JurisdictionRepository jurisdictionRepository;
-
-    public GameModeService(GameModeRepository gameModeRepository, JurisdictionRepository jurisdictionRepository) {
+    private final RecentDrawsCache recentDrawsCache;
+    private final GenerationPlanCache generationPlanCache;
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache;
+
+    public GameModeService(
+            GameModeRepository gameModeRepository,
+            JurisdictionRepository jurisdictionRepository,
+            RecentDrawsCache recentDrawsCache,
+            GenerationPlanCache generationPlanCache,
+            DrawFrequencyIndexCache drawFrequencyIndexCache
+    ) {
         this.gameModeRepository = gameModeRepository;
         this.jurisdictionRepository = jurisdictionRepository;
+        this.recentDrawsCache = recentDrawsCache;
+        this.generationPlanCache = generationPlanCache;
+        this.drawFrequencyIndexCache = drawFrequencyIndexCache;
     }
 
     @Transactional
@@ -85,6 +97,7 @@ public class GameModeService {
         }
 
         GameMode saved = gameModeRepository.save(gm);
+        recentDrawsCache.invalidate(saved.getId());
         return ApiResponse.ok("GameMode updated", toResponse(saved));
     }
 
@@ -97,6 +110,9 @@ public class GameModeService {
                 .orElseThrow(() -> new NotFoundException("GameMode not found"));
 
         gameModeRepository.delete(gm);
+        recentDrawsCache.evict(gm.getId());
+        generationPlanCache.evict(gm.getId());
+        drawFrequencyIndexCache.evict(gm.getId());
         return ApiResponse.ok("GameMode deleted", null);
     }
 
@@ -0,0 +1,205 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.common.exception.BadRequestException;
+import com.lotteryapp.common.exception.NotFoundException;
+import com.lotteryapp.lottery.domain.batch.generator.GenerationPlan;
+import com.lotteryapp.lottery.domain.batch.generator.GeneratorContext;
+import com.lotteryapp.lottery.domain.batch.generator.GeneratorOptions;
+import com.lotteryapp.lottery.domain.batch.generator.GroupSnapshot;
+import com.lotteryapp.lottery.domain.gamemode.GameMode;
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+import com.lotteryapp.lottery.domain.group.TicketGroup;
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.repository.GameModeRepository;
+import com.lotteryapp.lottery.repository.NumberBallRepository;
+import com.lotteryapp.lottery.repository.TicketGroupRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory GenerationPlan per game mode (size-bounded, least recently used evicted first).
+ *
+ * Every game mode has a tier version. Anything that changes generation inputs
+ * (tiers, latest winning numbers, rules, ticket groups) calls invalidate(gameModeId), which
+ * bumps the version now and again after the surrounding transaction commits. A cached plan is
+ * only served while its version is current, so a plan loaded from pre-commit data is never reused.
+ * Versions come from one global sequence (a bumped game never returns to an old value) and exist
+ * only for games invalidated at least once; evict(gameModeId) drops a deleted game's entry.
+ *
+ * Cache hits do not touch the database.
+ */
+@Component
+public class GenerationPlanCache {
+
+    private final GameModeRepository gameModeRepository;
+    private final NumberBallRepository numberBallRepository;
+    private final TicketGroupRepository ticketGroupRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    // absent = 0 (never invalidated)
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    // access-ordered; guarded by "this"
+    private final LinkedHashMap<Long, CachedPlan> plans;
+
+    public GenerationPlanCache(
+            GameModeRepository gameModeRepository,
+            NumberBallRepository numberBallRepository,
+            TicketGroupRepository ticketGroupRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${lottery.generation.planCacheMaxEntries:64}") int maxEntries
+    ) {
+        this.gameModeRepository = gameModeRepository;
+        this.numberBallRepository = numberBallRepository;
+        this.ticketGroupRepository = ticketGroupRepository;
+
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        int capacity = Math.max(1, maxEntries);
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPlan> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the current plan, loading it (read-only transaction) on a miss or stale version.
+     */
+    public GenerationPlan get(Long gameModeId) {
+        long version = currentVersion(gameModeId);
+
+        synchronized (this) {
+            CachedPlan cached = plans.get(gameModeId);
+            if (cached != null && cached.version() == version) return cached.plan();
+        }
+
+        GenerationPlan loaded = readOnlyTx.execute(status -> load(gameModeId));
+
+        // Only publish if nothing was invalidated while loading.
+        synchronized (this) {
+            if (currentVersion(gameModeId) == version) {
+                plans.put(gameModeId, new CachedPlan(version, loaded));
+            }
+        }
+        return loaded;
+    }
+
+    public long currentVersion(Long gameModeId) {
+        return versions.getOrDefault(gameModeId, 0L);
+    }
+
+    public void invalidate(Long gameModeId) {
+        if (gameModeId == null) return;
+
+        bump(gameModeId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(gameModeId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<Long> gameModeIds) {
+        if (gameModeIds == null) return;
+        new LinkedHashSet<>(gameModeIds).forEach(this::invalidate);
+    }
+
+    /**
+     * For a deleted game mode: invalidates now and, once the delete commits, forgets its version.
+     */
+    public void evict(Long gameModeId) {
+        if (gameModeId == null) return;
+
+        invalidate(gameModeId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(gameModeId);
+                }
+            });
+        } else {
+            forget(gameModeId);
+        }
+    }
+
+    private void bump(Long gameModeId) {
+        versions.put(gameModeId, versionSequence.incrementAndGet());
+        synchronized (this) {
+            plans.remove(gameModeId);
+        }
+    }
+
+    private void forget(Long gameModeId) {
+        versions.remove(gameModeId);
+        synchronized (this) {
+            plans.remove(gameModeId);
+        }
+    }
+
+    private GenerationPlan load(Long gameModeId) {
+        GameMode gameMode = gameModeRepository.findById(gameModeId)
+                .orElseThrow(() -> new NotFoundException("GameMode not found: " + gameModeId));
+
+        Rules rules = (Rules) Hibernate.unproxy(gameMode.getRules());
+        if (rules == null) {
+            throw new BadRequestException("Rules are not set for gameModeId: " + gameModeId);
+        }
+
+        Sort byNumberAsc = Sort.by(Sort.Direction.ASC, "numberValue");
+
+        List<NumberBall> whiteBalls = numberBallRepository.findByGameModeIdAndPoolType(gameModeId, PoolType.WHITE, byNumberAsc);
+        List<NumberBall> redBalls = numberBallRepository.findByGameModeIdAndPoolType(gameModeId, PoolType.RED, byNumberAsc);
+
+        Map<Long, GroupSnapshot> groupsById = new HashMap<>();
+        for (TicketGroup g : ticketGroupRepository.findAllByGameMode_IdOrderByIdAsc(gameModeId)) {
+            groupsById.put(g.getId(), GroupSnapshot.of(g));
+        }
+
+        return new GenerationPlan(
+                gameModeId,
+                new GeneratorContext(rules, whiteBalls, redBalls, GeneratorOptions.defaults()),
+                groupsById,
+                parseCsvInts(gameMode.getLatestWhiteWinningCsv()),
+                parseCsvInts(gameMode.getLatestRedWinningCsv())
+        );
+    }
+
+    private Set<Integer> parseCsvInts(String csv) {
+        if (csv == null || csv.isBlank()) return Set.of();
+        String[] parts = csv.split(",");
+        Set<Integer> out = new LinkedHashSet<>();
+        for (String p : parts) {
+            String s = p == null ? "" : p.trim();
+            if (s.isEmpty()) continue;
+            try {
+                out.add(Integer.parseInt(s));
+            } catch (NumberFormatException ignored) {
+                // ignore bad token
+            }
+        }
+        return out;
+    }
+
+    private record CachedPlan(long version, GenerationPlan plan) {}
+}
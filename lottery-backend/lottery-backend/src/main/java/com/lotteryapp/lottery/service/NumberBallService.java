@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +31,7 @@ public class NumberBallService {
 
     private final GameModeRepository gameModeRepository;
     private final NumberBallRepository numberBallRepository;
+    private final GenerationPlanCache generationPlanCache;
 
     private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.asc("numberValue"));
 
@@ -115,7 +117,9 @@ public class NumberBallService {
             created.addAll(createPool(gameMode, PoolType.RED, rules.getRedMin(), rules.getRedMax()));
         }
 
-        return numberBallRepository.saveAll(created);
+        List<NumberBall> saved = numberBallRepository.saveAll(created);
+        generationPlanCache.invalidate(gameMode.getId());
+        return saved;
     }
 
     public List<NumberBall> getBallsByGameModeId(Long gameModeId) {
@@ -138,6 +142,12 @@ public class NumberBallService {
     }
     public void saveAll(List<NumberBall> balls) {
         numberBallRepository.saveAll(balls);
+
+        generationPlanCache.invalidateAll(balls.stream()
+                .map(NumberBall::getGameMode)
+                .filter(Objects::nonNull)
+                .map(GameMode::getId)
+                .toList());
     }
 
     private List<NumberBall> createPool(GameMode gameMode, PoolType poolType, Integer min, Integer max) {
@@ -0,0 +1,189 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.gamemode.DrawCalendar;
+import com.lotteryapp.lottery.dto.draw.response.DrawResponse;
+import com.lotteryapp.lottery.dto.gamemode.response.GameModeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory latest draws per game mode: the GameMode snapshot, its DrawCalendar and its newest
+ * `depth` DrawResponses (newest first). Serves getLatest / getLast5 / getWinningNumbersForCheck
+ * and their staleness check without touching the database.
+ *
+ * Versioned like GenerationPlanCache: every write to a game's draws, conflicts or GameMode row
+ * calls invalidate(gameModeId), which bumps the version now and again after commit, and an
+ * entry is only served while its version is current. Versions come from one global sequence and
+ * exist only for games invalidated at least once; evict(gameModeId) drops a deleted game's.
+ * Size-bounded, least recently used evicted.
+ *
+ * Hits and misses are counted in lottery.draws.recent.cache{result=hit|miss}.
+ * Cached responses are shared between requests and must not be modified.
+ */
+@Component
+public class RecentDrawsCache {
+
+    private final TransactionTemplate readOnlyTx;
+    private final int depth;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    // absent = 0 (never invalidated)
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    // access-ordered; guarded by "this"
+    private final LinkedHashMap<Long, CachedDraws> entries;
+
+    public RecentDrawsCache(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${lottery.draws.recentCacheDepth:10}") int depth,
+            @Value("${lottery.draws.recentCacheMaxEntries:256}") int maxEntries
+    ) {
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.depth = Math.max(1, depth);
+
+        this.hits = Counter.builder("lottery.draws.recent.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("lottery.draws.recent.cache").tag("result", "miss").register(meterRegistry);
+
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedDraws> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Number of newest draws each entry holds; loaders must return at most this many.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the current entry, running loader (read-only transaction) on a miss or stale version.
+     */
+    public RecentDraws get(Long gameModeId, Supplier<RecentDraws> loader) {
+        long version = currentVersion(gameModeId);
+
+        synchronized (this) {
+            CachedDraws cached = entries.get(gameModeId);
+            if (cached != null && cached.version() == version) {
+                hits.increment();
+                return cached.draws();
+            }
+        }
+
+        misses.increment();
+        RecentDraws loaded = readOnlyTx.execute(status -> loader.get());
+
+        // Only publish if nothing was invalidated while loading.
+        synchronized (this) {
+            if (currentVersion(gameModeId) == version) {
+                entries.put(gameModeId, new CachedDraws(version, loaded));
+            }
+        }
+        return loaded;
+    }
+
+    public long currentVersion(Long gameModeId) {
+        return versions.getOrDefault(gameModeId, 0L);
+    }
+
+    public void invalidate(Long gameModeId) {
+        if (gameModeId == null) return;
+
+        bump(gameModeId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(gameModeId);
+                }
+            });
+        }
+    }
+
+    /**
+     * For a deleted game mode: invalidates now and, once the delete commits, forgets its version.
+     */
+    public void evict(Long gameModeId) {
+        if (gameModeId == null) return;
+
+        invalidate(gameModeId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(gameModeId);
+                }
+            });
+        } else {
+            forget(gameModeId);
+        }
+    }
+
+    private void bump(Long gameModeId) {
+        versions.put(gameModeId, versionSequence.incrementAndGet());
+        synchronized (this) {
+            entries.remove(gameModeId);
+        }
+    }
+
+    private void forget(Long gameModeId) {
+        versions.remove(gameModeId);
+        synchronized (this) {
+            entries.remove(gameModeId);
+        }
+    }
+
+    /**
+     * @param draws    newest first, at most depth()
+     * @param complete true when draws is the game's whole history (fewer than depth() stored)
+     */
+    public record RecentDraws(GameModeResponse gameMode, DrawCalendar calendar, List<DrawResponse> draws, boolean complete) {
+
+        public LocalDate latestDrawDate() {
+            return draws.isEmpty() ? null : draws.get(0).getDrawDate();
+        }
+
+        /**
+         * The newest count draws, or null when fewer are cached but more may be stored.
+         */
+        public List<DrawResponse> newest(int count) {
+            if (draws.size() >= count) return draws.subList(0, count);
+            return complete ? draws : null;
+        }
+
+        /**
+         * The cached draw on drawDate, or null when it is not among the cached ones.
+         */
+        public DrawResponse onDate(LocalDate drawDate) {
+            for (DrawResponse d : draws) {
+                if (drawDate.equals(d.getDrawDate())) return d;
+            }
+            return null;
+        }
+    }
+
+    private record CachedDraws(long version, RecentDraws draws) {}
+}
@@ -29,19 +29,28 @@ public class RulesService {
     private final IngestionService ingestionService;
     private final NumberBallLifecycleService numberBallLifecycleService;
     private final DrawService drawService;
+    private final GenerationPlanCache generationPlanCache;
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache;
+    private final RecentDrawsCache recentDrawsCache;
 
     public RulesService(
             GameModeRepository gameModeRepository,
             RulesRepository rulesRepository,
             IngestionService ingestionService,
             NumberBallLifecycleService numberBallLifecycleService,
-            DrawService drawService
+            DrawService drawService,
+            GenerationPlanCache generationPlanCache,
+            DrawFrequencyIndexCache drawFrequencyIndexCache,
+            RecentDrawsCache recentDrawsCache
     ) {
         this.gameModeRepository = gameModeRepository;
         this.rulesRepository = rulesRepository;
         this.ingestionService = ingestionService;
         this.numberBallLifecycleService = numberBallLifecycleService;
         this.drawService = drawService;
+        this.generationPlanCache = generationPlanCache;
+        this.drawFrequencyIndexCache = drawFrequencyIndexCache;
+        this.recentDrawsCache = recentDrawsCache;
     }
 
     @Transactional
@@ -72,6 +81,8 @@ public class RulesService {
 
         mode.setRules(newRules);
         gameModeRepository.save(mode);
+        generationPlanCache.invalidate(mode.getId());
+        recentDrawsCache.invalidate(mode.getId());
 
         // diff vs null (create)
         meta.put("rulesChanged", true);
@@ -119,6 +130,7 @@ public class RulesService {
             applyAll(existing, synced);
 
             rulesRepository.save(existing);
+            generationPlanCache.invalidate(mode.getId());
 
             message = "Rules updated from official data";
             meta.put("sourceId", ing.getSourceId());
@@ -130,6 +142,7 @@ public class RulesService {
             validateRules(existing);
 
             rulesRepository.save(existing);
+            generationPlanCache.invalidate(mode.getId());
 
             message = "Rules updated (manual)";
             meta.put("rulesChanged", true);
@@ -407,6 +420,7 @@ public class RulesService {
 
     private void triggerRebuild(GameMode mode) {
         numberBallLifecycleService.rebuildForGameMode(mode);
+        drawFrequencyIndexCache.invalidate(mode.getId());
         drawService.syncCurrentFormatHistoryForRebuild(mode);
     }
 }
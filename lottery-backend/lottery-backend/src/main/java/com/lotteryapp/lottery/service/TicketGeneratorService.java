@@ -1,12 +1,12 @@
 package com.lotteryapp.lottery.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.lotteryapp.common.exception.BadRequestException;
 import com.lotteryapp.common.exception.NotFoundException;
 import com.lotteryapp.lottery.domain.batch.generator.*;
-import com.lotteryapp.lottery.domain.gamemode.GameMode;
-import com.lotteryapp.lottery.domain.gamemode.Rules;
 import com.lotteryapp.lottery.domain.group.TicketGroup;
-import com.lotteryapp.lottery.domain.numbers.NumberBall;
 import com.lotteryapp.lottery.domain.numbers.PoolType;
 import com.lotteryapp.lottery.dto.ticketgen.request.GenerateBatchRequest;
 import com.lotteryapp.lottery.dto.ticketgen.request.TicketSpecRequest;
@@ -14,29 +14,45 @@ import com.lotteryapp.lottery.dto.ticketgen.response.GeneratedBatchResponse;
 import com.lotteryapp.lottery.dto.ticketgen.response.GeneratedPicksResponse;
 import com.lotteryapp.lottery.dto.ticketgen.response.GeneratedSpecResultResponse;
 import com.lotteryapp.lottery.dto.ticketgen.response.GeneratedTicketResponse;
-import com.lotteryapp.lottery.repository.GameModeRepository;
-import com.lotteryapp.lottery.repository.NumberBallRepository;
-import com.lotteryapp.lottery.repository.RulesRepository;
 import com.lotteryapp.lottery.repository.TicketGroupRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class TicketGeneratorService {
 
-    private final GameModeRepository gameModeRepository;
     private final TicketGroupRepository ticketGroupRepository;
-    private final NumberBallRepository numberBallRepository;
+    private final GenerationPlanCache generationPlanCache;
+
+    private static final int STREAM_FLUSH_EVERY = 1024;
+
+    // Servlet owns the response stream; the generator must not close it.
+    private static final JsonFactory NDJSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
 
     private final TicketGeneratorEngine engine = new TicketGeneratorEngine();
 
-    @Transactional(readOnly = true)
     public GeneratedBatchResponse generate(GenerateBatchRequest request) {
+        PreparedGeneration prepared = prepare(request);
+
+        GeneratedBatch generated = engine.generate(prepared.ctx(), prepared.specs());
+        return mapToResponse(generated);
+    }
+
+    /**
+     * Validates the request against the game's cached GenerationPlan.
+     * Only a plan miss (or an unknown group id) reads the database.
+     * The result holds no lazy proxies, so it can be used outside any transaction
+     * (e.g. by a streaming response written on another thread).
+     */
+    public PreparedGeneration prepare(GenerateBatchRequest request) {
         if (request == null) throw new BadRequestException("Request is required.");
 
         Long gameModeId = request.gameModeId();
@@ -45,23 +61,7 @@ public class TicketGeneratorService {
             throw new BadRequestException("ticketSpecs must contain at least one spec.");
         }
 
-        GameMode gameMode = gameModeRepository.findById(gameModeId)
-                .orElseThrow(() -> new NotFoundException("GameMode not found: " + gameModeId));
-
-        Rules rules = gameMode.getRules();
-        if (rules == null) {
-            throw new BadRequestException("Rules are not set for gameModeId: " + gameModeId);
-        }
-
-        Sort byNumberAsc = Sort.by(Sort.Direction.ASC, "numberValue");
-
-        List<NumberBall> whiteBalls = numberBallRepository.findByGameModeIdAndPoolType(gameModeId, PoolType.WHITE, byNumberAsc);
-        List<NumberBall> redBalls = numberBallRepository.findByGameModeIdAndPoolType(gameModeId, PoolType.RED, byNumberAsc);
-
-        Set<Integer> latestWhite = parseCsvInts(gameMode.getLatestWhiteWinningCsv());
-        Set<Integer> latestRed = parseCsvInts(gameMode.getLatestRedWinningCsv());
-
-        GeneratorContext ctx = new GeneratorContext(rules, whiteBalls, redBalls, GeneratorOptions.defaults());
+        GenerationPlan plan = generationPlanCache.get(gameModeId);
 
         List<GeneratorSpec> specs = new ArrayList<>();
 
@@ -70,8 +70,8 @@ public class TicketGeneratorService {
                 throw new BadRequestException("ticketCount must be > 0 for every spec.");
             }
 
-            TicketGroup whiteGroup = resolveGroupOrNull(specReq.whiteGroupId(), gameModeId, PoolType.WHITE);
-            TicketGroup redGroup = resolveGroupOrNull(specReq.redGroupId(), gameModeId, PoolType.RED);
+            TicketGroup whiteGroup = resolveGroupOrNull(plan, specReq.whiteGroupId(), PoolType.WHITE);
+            TicketGroup redGroup = resolveGroupOrNull(plan, specReq.redGroupId(), PoolType.RED);
 
             boolean excludeLastDrawNumbers = specReq.excludeLastDrawNumbers();
 
@@ -80,48 +80,94 @@ public class TicketGeneratorService {
                     whiteGroup,
                     redGroup,
                     excludeLastDrawNumbers,
-                    excludeLastDrawNumbers ? latestWhite : Set.of(),
-                    excludeLastDrawNumbers ? latestRed : Set.of()
+                    excludeLastDrawNumbers ? plan.latestWhite() : Set.of(),
+                    excludeLastDrawNumbers ? plan.latestRed() : Set.of()
             ));
         }
 
-        GeneratedBatch generated = engine.generate(ctx, specs);
-        return mapToResponse(generated);
-    }
-
-    private TicketGroup resolveGroupOrNull(Long groupId, Long gameModeId, PoolType expectedPool) {
-        if (groupId == null) return null;
+        GeneratorContext ctx = plan.ctx();
+        if (request.uniqueness() != null) {
+            ctx = ctx.withOptions(ctx.options().withUniqueness(request.uniqueness()));
+        }
 
-        TicketGroup group = ticketGroupRepository.findById(groupId)
-                .orElseThrow(() -> new NotFoundException("TicketGroup not found: " + groupId));
+        return new PreparedGeneration(ctx, specs);
+    }
 
-        if (group.getGameMode() == null || group.getGameMode().getId() == null) {
-            throw new BadRequestException("TicketGroup is missing gameMode link: " + groupId);
-        }
-        if (!Objects.equals(group.getGameMode().getId(), gameModeId)) {
-            throw new BadRequestException("TicketGroup " + groupId + " does not belong to gameModeId " + gameModeId + ".");
+    /**
+     * Streams a prepared generation as NDJSON (one JSON object per line) while the engine runs.
+     * Tickets are never collected, so heap stays flat for any ticketCount.
+     *
+     * Records, in order:
+     * - {"type":"ticket","specNumber":1,"ticketNumber":1,"white":[...],"red":[...]} per ticket
+     * - {"type":"spec",...,"warnings":[...]} per spec, after all tickets (trailing)
+     * - {"type":"batch","randomSeed":...,"warnings":[...]} once, last
+     */
+    public void streamNdjson(PreparedGeneration prepared, OutputStream out) throws IOException {
+        JsonGenerator json = NDJSON_FACTORY.createGenerator(out);
+
+        GeneratedBatch batch;
+        try {
+            batch = engine.generate(prepared.ctx(), prepared.specs(), (specNumber, ticketNumber, white, whiteLen, red, redLen) -> {
+                try {
+                    writeTicket(json, specNumber, ticketNumber, white, whiteLen, red, redLen);
+                    if (ticketNumber % STREAM_FLUSH_EVERY == 1) json.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        if (group.getPoolType() != expectedPool) {
-            throw new BadRequestException("TicketGroup " + groupId + " is for " + group.getPoolType() + " but expected " + expectedPool + ".");
+
+        for (GeneratedSpecResult spec : batch.getSpecResults()) {
+            json.writeStartObject();
+            json.writeStringField("type", "spec");
+            json.writeNumberField("specNumber", spec.getSpecNumber());
+            json.writeNumberField("ticketCount", spec.getTicketCount());
+            writeNullableLong(json, "whiteGroupId", spec.getWhiteGroupId());
+            writeNullableLong(json, "redGroupId", spec.getRedGroupId());
+            json.writeBooleanField("excludeLastDrawNumbers", spec.isExcludeLastDrawNumbers());
+            writeStrings(json, "warnings", spec.getWarnings());
+            json.writeEndObject();
+            json.writeRaw('\n');
         }
 
-        return group;
+        json.writeStartObject();
+        json.writeStringField("type", "batch");
+        writeNullableLong(json, "randomSeed", batch.getRandomSeed());
+        writeStrings(json, "warnings", batch.getWarnings());
+        json.writeEndObject();
+        json.writeRaw('\n');
+
+        json.close();
     }
 
-    private Set<Integer> parseCsvInts(String csv) {
-        if (csv == null || csv.isBlank()) return Set.of();
-        String[] parts = csv.split(",");
-        Set<Integer> out = new LinkedHashSet<>();
-        for (String p : parts) {
-            String s = p == null ? "" : p.trim();
-            if (s.isEmpty()) continue;
-            try {
-                out.add(Integer.parseInt(s));
-            } catch (NumberFormatException ignored) {
-                // ignore bad token
+    /**
+     * Validated, transaction-free input for the engine.
+     */
+    public record PreparedGeneration(GeneratorContext ctx, List<GeneratorSpec> specs) {}
+
+    private TicketGroup resolveGroupOrNull(GenerationPlan plan, Long groupId, PoolType expectedPool) {
+        if (groupId == null) return null;
+
+        Long gameModeId = plan.gameModeId();
+        GroupSnapshot group = plan.groupsById().get(groupId);
+
+        if (group == null) {
+            // Not one of this game's groups: look it up only to report the right error.
+            TicketGroup other = ticketGroupRepository.findById(groupId)
+                    .orElseThrow(() -> new NotFoundException("TicketGroup not found: " + groupId));
+            if (other.getGameMode() == null || other.getGameMode().getId() == null) {
+                throw new BadRequestException("TicketGroup is missing gameMode link: " + groupId);
             }
+            throw new BadRequestException("TicketGroup " + groupId + " does not belong to gameModeId " + gameModeId + ".");
         }
-        return out;
+        if (group.poolType() != expectedPool) {
+            throw new BadRequestException("TicketGroup " + groupId + " is for " + group.poolType() + " but expected " + expectedPool + ".");
+        }
+
+        // a fresh copy per request; the cached plan is shared
+        return group.toGroup();
     }
 
     private GeneratedBatchResponse mapToResponse(GeneratedBatch batch) {
@@ -130,7 +176,7 @@ public class TicketGeneratorService {
                     List<GeneratedTicketResponse> tickets = spec.getTickets().stream()
                             .map(t -> new GeneratedTicketResponse(
                                     t.ticketNumber(),
-                                    new GeneratedPicksResponse(t.picks().white(), t.picks().red())
+                                    new GeneratedPicksResponse(boxed(t.picks().white()), boxed(t.picks().red()))
                             ))
                             .toList();
 
@@ -146,6 +192,44 @@ public class TicketGeneratorService {
                 })
                 .toList();
 
-        return new GeneratedBatchResponse(specResults, batch.getWarnings());
+        return new GeneratedBatchResponse(specResults, batch.getWarnings(), batch.getRandomSeed());
+    }
+
+    private void writeTicket(
+            JsonGenerator json,
+            int specNumber,
+            int ticketNumber,
+            int[] white,
+            int whiteLen,
+            int[] red,
+            int redLen
+    ) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "ticket");
+        json.writeNumberField("specNumber", specNumber);
+        json.writeNumberField("ticketNumber", ticketNumber);
+        json.writeFieldName("white");
+        json.writeArray(white, 0, whiteLen);
+        json.writeFieldName("red");
+        json.writeArray(red, 0, redLen);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeNullableLong(JsonGenerator json, String field, Long value) throws IOException {
+        if (value == null) json.writeNullField(field);
+        else json.writeNumberField(field, value);
+    }
+
+    private void writeStrings(JsonGenerator json, String field, List<String> values) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (String v : values) json.writeString(v);
+        json.writeEndArray();
+    }
+
+    private List<Integer> boxed(int[] values) {
+        List<Integer> out = new ArrayList<>(values.length);
+        for (int v : values) out.add(v);
+        return out;
     }
 }
@@ -24,6 +24,7 @@ public class TicketGroupService {
 
     private final TicketGroupRepository ticketGroupRepository;
     private final GameModeRepository gameModeRepository;
+    private final GenerationPlanCache generationPlanCache;
 
     @Transactional(readOnly = true)
     public GetTicketGroupsResponse getAllForGame(GetTicketGroupsRequest request) {
@@ -83,6 +84,7 @@ public class TicketGroupService {
         group.setGroupKey(groupKey);
 
         TicketGroup saved = ticketGroupRepository.save(group);
+        generationPlanCache.invalidate(saved.getGameMode().getId());
 
         return CreateTicketGroupResponse.builder()
                 .group(toResponse(saved))
@@ -111,6 +113,7 @@ public class TicketGroupService {
         group.setGroupKey(newGroupKey);
 
         TicketGroup saved = ticketGroupRepository.save(group);
+        generationPlanCache.invalidate(saved.getGameMode().getId());
 
         return UpdateTicketGroupResponse.builder()
                 .group(toResponse(saved))
@@ -122,11 +125,13 @@ public class TicketGroupService {
         Long groupId = request.getGroupId();
         if (groupId == null) throw new BadRequestException("groupId is required");
 
-        if (!ticketGroupRepository.existsById(groupId)) {
-            throw new NotFoundException("TicketGroup not found: " + groupId);
-        }
+        TicketGroup group = ticketGroupRepository.findById(groupId)
+                .orElseThrow(() -> new NotFoundException("TicketGroup not found: " + groupId));
+
+        Long gameModeId = group.getGameMode() == null ? null : group.getGameMode().getId();
 
         ticketGroupRepository.deleteById(groupId);
+        generationPlanCache.invalidate(gameModeId);
 
         return DeleteTicketGroupResponse.builder()
                 .deletedGroupId(groupId)
@@ -3,29 +3,35 @@ package com.lotteryapp.lottery.service;
 import com.lotteryapp.common.exception.BadRequestException;
 import com.lotteryapp.common.exception.NotFoundException;
 import com.lotteryapp.lottery.application.numbers.GameModeTierWindowResolver;
-import com.lotteryapp.lottery.application.numbers.NumberBallLifecycleService;
-import com.lotteryapp.lottery.domain.draw.DrawResult;
+import com.lotteryapp.lottery.domain.draw.DrawFrequencyIndex;
 import com.lotteryapp.lottery.domain.gamemode.GameMode;
 import com.lotteryapp.lottery.domain.numbers.NumberBall;
 import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.StatusChange;
 import com.lotteryapp.lottery.domain.numbers.Tier;
+import com.lotteryapp.lottery.domain.numbers.tier.NumberBallTierEngine;
+import com.lotteryapp.lottery.domain.numbers.tier.TierCutoffs;
 import com.lotteryapp.lottery.domain.numbers.tier.TierWindow;
 import com.lotteryapp.lottery.dto.common.ApiResponse;
 import com.lotteryapp.lottery.dto.numberball.response.NumberBallResponse;
 import com.lotteryapp.lottery.dto.tier.request.GetTierListRequest;
 import com.lotteryapp.lottery.dto.tier.request.GetTierMatrixRequest;
+import com.lotteryapp.lottery.dto.tier.request.PreviewTierRequest;
 import com.lotteryapp.lottery.dto.tier.request.UpdateTierRangeRequest;
 import com.lotteryapp.lottery.dto.tier.response.TierMatrixResponse;
 import com.lotteryapp.lottery.dto.tier.response.TierPoolResponse;
+import com.lotteryapp.lottery.dto.tier.response.TierPreviewPoolResponse;
+import com.lotteryapp.lottery.dto.tier.response.TierPreviewResponse;
 import com.lotteryapp.lottery.dto.tier.response.UpdateTierRangeResponse;
-import com.lotteryapp.lottery.repository.DrawResultRepository;
 import com.lotteryapp.lottery.repository.GameModeRepository;
 import com.lotteryapp.lottery.repository.NumberBallRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -34,11 +40,11 @@ import java.util.Map;
 public class TierService {
 
     private final GameModeRepository gameModeRepository;
-    private final DrawResultRepository drawResultRepository;
     private final NumberBallRepository numberBallRepository;
 
-    private final NumberBallService numberBallService;
-    private final NumberBallLifecycleService numberBallLifecycleService;
+    private final TierWindowService tierWindowService;
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache;
+    private final RecentDrawsCache recentDrawsCache;
 
     private static final Sort TIER_SORT = Sort.by(
             Sort.Order.desc("tierCount"),
@@ -86,11 +92,8 @@ public class TierService {
     /**
      * Category 5 hook:
      * TierController updates GameMode tier range dates through this service,
-     * then we trigger lifecycle.recalculateTiers(...) with:
-     * - GameMode (must have Rules)
-     * - draw history (service loads)
-     * - whiteBalls/redBalls (service loads)
-     * Then we save mutated balls (service persists).
+     * then TierWindowService moves the counted window to the new range
+     * (window counts are read from the game's DrawFrequencyIndex).
      */
     public ApiResponse<UpdateTierRangeResponse> updateTierRange(UpdateTierRangeRequest request) {
         Long gameModeId = request.getGameModeId();
@@ -109,24 +112,129 @@ public class TierService {
         gm.setTierRangeEndDate(request.getTierRangeEndDate());
 
         GameMode saved = gameModeRepository.save(gm);
+        recentDrawsCache.invalidate(saved.getId());
 
-        TierWindow window = GameModeTierWindowResolver.resolve(saved, LocalDate.now());
+        tierWindowService.advance(saved.getId(), LocalDate.now());
 
-        List<DrawResult> history = drawResultRepository
-                .findByGameModeIdAndDrawDateBetweenOrderByDrawDateAsc(saved.getId(), window.start(), window.end());
+        return ApiResponse.ok(
+                "Tier range updated",
+                new UpdateTierRangeResponse(saved.getId(), saved.getTierRangeStartDate(), saved.getTierRangeEndDate())
+        );
+    }
+
+    /**
+     * What-if tiers for an arbitrary range and cutoffs, without touching stored data.
+     * Window counts come from the cached DrawFrequencyIndex and tiers are assigned on copies of
+     * the game's balls, so statusChange in the result is the move from each ball's stored tier.
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<TierPreviewResponse> previewTiers(PreviewTierRequest request) {
+        Long gameModeId = request.getGameModeId();
+
+        GameMode gm = gameModeRepository.findById(gameModeId).orElseThrow(() ->
+                new NotFoundException(
+                        "GameMode not found",
+                        "GAME_MODE_NOT_FOUND",
+                        Map.of("gameModeId", gameModeId)
+                )
+        );
 
-        List<NumberBall> balls = numberBallService.getBallsByGameModeId(saved.getId());
+        if (gm.getRules() == null) {
+            throw new BadRequestException(
+                    "Rules are required before previewing tiers",
+                    "RULES_REQUIRED",
+                    Map.of("gameModeId", gameModeId)
+            );
+        }
 
-        numberBallLifecycleService.recalculateTiers(saved, history, balls);
+        validateTierRangeDates(request.getTierRangeStartDate(), request.getTierRangeEndDate());
+        TierCutoffs cutoffs = toCutoffs(request.getHotPct(), request.getMidPct());
 
-        numberBallService.saveAll(balls);
+        TierWindow window = GameModeTierWindowResolver.resolve(
+                gm, request.getTierRangeStartDate(), request.getTierRangeEndDate(), LocalDate.now()
+        );
+        DrawFrequencyIndex index = drawFrequencyIndexCache.get(gameModeId);
+
+        List<NumberBall> preview = new ArrayList<>();
+        for (NumberBall b : numberBallRepository.findByGameModeId(gameModeId)) {
+            if (b.getPoolType() == null || b.getNumberValue() == null) continue;
+            preview.add(previewCopy(b, window, index));
+        }
+        NumberBallTierEngine.assignTiers(preview, cutoffs);
+        preview.sort(NumberBallTierEngine.TIER_ORDER);
 
         return ApiResponse.ok(
-                "Tier range updated",
-                new UpdateTierRangeResponse(saved.getId(), saved.getTierRangeStartDate(), saved.getTierRangeEndDate())
+                "Tier preview computed",
+                new TierPreviewResponse(
+                        gameModeId,
+                        window.start(),
+                        window.end(),
+                        cutoffs.hotPct(),
+                        cutoffs.midPct(),
+                        buildPreviewPool(gameModeId, preview, PoolType.WHITE),
+                        buildPreviewPool(gameModeId, preview, PoolType.RED)
+                )
         );
     }
 
+    private TierCutoffs toCutoffs(Integer hotPct, Integer midPct) {
+        TierCutoffs defaults = TierCutoffs.defaultCutoffs();
+        int hot = hotPct == null ? defaults.hotPct() : hotPct;
+        int mid = midPct == null ? defaults.midPct() : midPct;
+
+        try {
+            return new TierCutoffs(hot, mid);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(
+                    e.getMessage(),
+                    "INVALID_TIER_CUTOFFS",
+                    Map.of("hotPct", hot, "midPct", mid)
+            );
+        }
+    }
+
+    // detached copy carrying the stored tier (for statusChange) and the previewed window's counts
+    private NumberBall previewCopy(NumberBall b, TierWindow window, DrawFrequencyIndex index) {
+        LocalDate lastDrawn = b.getLastDrawnDate();
+        LocalDate indexed = index.lastDrawn(b.getPoolType(), b.getNumberValue(), window.end());
+        if (indexed != null && (lastDrawn == null || indexed.isAfter(lastDrawn))) lastDrawn = indexed;
+
+        return NumberBall.builder()
+                .id(b.getId())
+                .poolType(b.getPoolType())
+                .numberValue(b.getNumberValue())
+                .totalCount(b.getTotalCount())
+                .tierCount(index.count(b.getPoolType(), b.getNumberValue(), window.start(), window.end()))
+                .lastDrawnDate(lastDrawn)
+                .tier(b.getTier())
+                .statusChange(b.getStatusChange())
+                .build();
+    }
+
+    private TierPreviewPoolResponse buildPreviewPool(Long gameModeId, List<NumberBall> preview, PoolType poolType) {
+        List<NumberBallResponse> hot = new ArrayList<>();
+        List<NumberBallResponse> mid = new ArrayList<>();
+        List<NumberBallResponse> cold = new ArrayList<>();
+        int promoted = 0;
+        int demoted = 0;
+
+        for (NumberBall b : preview) {
+            if (b.getPoolType() != poolType) continue;
+
+            NumberBallResponse r = toResponse(b);
+            r.setGameModeId(gameModeId);
+
+            if (b.getTier() == Tier.HOT) hot.add(r);
+            else if (b.getTier() == Tier.MID) mid.add(r);
+            else cold.add(r);
+
+            if (b.getStatusChange() == StatusChange.PROMOTED) promoted++;
+            else if (b.getStatusChange() == StatusChange.DEMOTED) demoted++;
+        }
+
+        return new TierPreviewPoolResponse(hot, mid, cold, promoted, demoted);
+    }
+
     private void validateTierRangeDates(LocalDate start, LocalDate end) {
         LocalDate today = LocalDate.now();
 
@@ -0,0 +1,185 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.common.exception.BadRequestException;
+import com.lotteryapp.common.exception.NotFoundException;
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+import com.lotteryapp.lottery.domain.numbers.TierSnapshot;
+import com.lotteryapp.lottery.domain.numbers.tier.TierBitmaps;
+import com.lotteryapp.lottery.dto.common.ApiResponse;
+import com.lotteryapp.lottery.dto.tier.request.GetTiersAsOfRequest;
+import com.lotteryapp.lottery.dto.tier.response.TierSnapshotPoolResponse;
+import com.lotteryapp.lottery.dto.tier.response.TierSnapshotResponse;
+import com.lotteryapp.lottery.repository.GameModeRepository;
+import com.lotteryapp.lottery.repository.TierSnapshotRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * History of tier assignments: one TierSnapshot per date the tiers changed on, and tiers on any
+ * date are one indexed lookup plus bitmap reads.
+ *
+ * Snapshots are written after the transaction that changed the tiers commits, in a transaction
+ * of their own: a snapshot failure never rolls back a draw write, and the tiers of each date are
+ * computed from data that is already committed.
+ */
+@Service
+public class TierSnapshotService {
+
+    private static final int WRITE_ATTEMPTS = 3;
+
+    private final GameModeRepository gameModeRepository;
+    private final TierSnapshotRepository tierSnapshotRepository;
+    private final TransactionTemplate snapshotTx;
+
+    public TierSnapshotService(
+            GameModeRepository gameModeRepository,
+            TierSnapshotRepository tierSnapshotRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.gameModeRepository = gameModeRepository;
+        this.tierSnapshotRepository = tierSnapshotRepository;
+        this.snapshotTx = new TransactionTemplate(transactionManager);
+        this.snapshotTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Once the current transaction commits (at once without one), replaces the game's snapshots
+     * dated fromDate or later: tiersOn gets the dates of the snapshots being replaced and returns
+     * the TierBitmaps in force from each date it wants snapshotted (null keeps the snapshots as
+     * they are). Dates are written oldest first, skipping those whose tiers equal the ones in
+     * force the day before.
+     *
+     * Versions are max + 1; a version taken by a concurrent writer retries the whole rewrite.
+     * Any other failure leaves the snapshots as they were.
+     */
+    public void rewriteAfterCommit(
+            Long gameModeId,
+            LocalDate fromDate,
+            Function<Set<LocalDate>, SortedMap<LocalDate, byte[]>> tiersOn
+    ) {
+        if (gameModeId == null || fromDate == null) return;
+
+        Runnable rewrite = () -> {
+            for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+                try {
+                    snapshotTx.executeWithoutResult(status -> rewrite(gameModeId, fromDate, tiersOn));
+                    return;
+                } catch (DataIntegrityViolationException e) {
+                    // version taken by a concurrent writer: re-read and try again
+                } catch (RuntimeException e) {
+                    return;
+                }
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rewrite.run();
+                }
+            });
+        } else {
+            rewrite.run();
+        }
+    }
+
+    private void rewrite(
+            Long gameModeId,
+            LocalDate fromDate,
+            Function<Set<LocalDate>, SortedMap<LocalDate, byte[]>> tiersOn
+    ) {
+        List<TierSnapshot> replaced = tierSnapshotRepository.findByGameModeIdAndEffectiveDateGreaterThanEqual(gameModeId, fromDate);
+        Set<LocalDate> replacedDates = new TreeSet<>();
+        for (TierSnapshot s : replaced) replacedDates.add(s.getEffectiveDate());
+
+        SortedMap<LocalDate, byte[]> tiers = tiersOn.apply(replacedDates);
+        if (tiers == null) return;
+
+        tierSnapshotRepository.deleteAll(replaced);
+        tierSnapshotRepository.flush();
+
+        long version = tierSnapshotRepository.findTopByGameModeIdOrderByVersionDesc(gameModeId)
+                .map(TierSnapshot::getVersion)
+                .orElse(0L);
+        byte[] inForce = tierSnapshotRepository
+                .findTopByGameModeIdAndEffectiveDateLessThanEqualOrderByEffectiveDateDescVersionDesc(gameModeId, fromDate.minusDays(1))
+                .map(TierSnapshot::getBitmaps)
+                .orElse(null);
+
+        List<TierSnapshot> written = new ArrayList<>();
+        for (Map.Entry<LocalDate, byte[]> e : tiers.tailMap(fromDate).entrySet()) {
+            if (Arrays.equals(inForce, e.getValue())) continue;
+            inForce = e.getValue();
+
+            written.add(TierSnapshot.builder()
+                    .gameModeId(gameModeId)
+                    .version(++version)
+                    .effectiveDate(e.getKey())
+                    .bitmaps(e.getValue())
+                    .build());
+        }
+        tierSnapshotRepository.saveAll(written);
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<TierSnapshotResponse> getTiersAsOf(GetTiersAsOfRequest request) {
+        Long gameModeId = request.getGameModeId();
+        LocalDate asOfDate = request.getAsOfDate();
+
+        gameModeRepository.findById(gameModeId).orElseThrow(() ->
+                new NotFoundException(
+                        "GameMode not found",
+                        "GAME_MODE_NOT_FOUND",
+                        Map.of("gameModeId", gameModeId)
+                )
+        );
+
+        if (asOfDate == null) {
+            throw new BadRequestException("asOfDate is required", "AS_OF_DATE_REQUIRED", Map.of());
+        }
+
+        TierSnapshot snapshot = tierSnapshotRepository
+                .findTopByGameModeIdAndEffectiveDateLessThanEqualOrderByEffectiveDateDescVersionDesc(gameModeId, asOfDate)
+                .orElseThrow(() -> new NotFoundException(
+                        "No tier snapshot on or before date",
+                        "TIER_SNAPSHOT_NOT_FOUND",
+                        Map.of("gameModeId", gameModeId, "asOfDate", asOfDate)
+                ));
+
+        Tier tier = null;
+        if (request.getPoolType() != null && request.getNumberValue() != null) {
+            tier = TierBitmaps.tierOf(snapshot.getBitmaps(), request.getPoolType(), request.getNumberValue());
+        }
+
+        return ApiResponse.ok(
+                "Tier snapshot loaded",
+                new TierSnapshotResponse(
+                        gameModeId,
+                        asOfDate,
+                        snapshot.getVersion(),
+                        snapshot.getEffectiveDate(),
+                        toPool(snapshot.getBitmaps(), PoolType.WHITE),
+                        toPool(snapshot.getBitmaps(), PoolType.RED),
+                        tier
+                )
+        );
+    }
+
+    private TierSnapshotPoolResponse toPool(byte[] bitmaps, PoolType poolType) {
+        Map<Tier, List<Integer>> tiers = TierBitmaps.decode(bitmaps, poolType);
+        return new TierSnapshotPoolResponse(tiers.get(Tier.HOT), tiers.get(Tier.MID), tiers.get(Tier.COLD));
+    }
+}
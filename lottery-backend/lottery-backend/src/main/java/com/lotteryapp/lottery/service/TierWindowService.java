@@ -0,0 +1,160 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.common.exception.NotFoundException;
+import com.lotteryapp.lottery.application.numbers.GameModeTierWindowResolver;
+import com.lotteryapp.lottery.application.numbers.NumberBallLifecycleService;
+import com.lotteryapp.lottery.domain.draw.DrawFrequencyIndex;
+import com.lotteryapp.lottery.domain.gamemode.GameMode;
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.tier.TierWindow;
+import com.lotteryapp.lottery.repository.GameModeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps NumberBall.tierCount in step with each game's tier window.
+ *
+ * The window resolved for "today" moves (open-ended ranges end today), so every game mode records
+ * the window its counts reflect. Advancing reads the new window's counts from the game's
+ * DrawFrequencyIndex (no draw history is loaded) and re-tiers only pools whose counts changed.
+ *
+ * Windows are advanced at startup (a node that was down over a rollover catches up), at day
+ * rollover, whenever a game's tier range is changed, and right after draws are saved for a game
+ * whose counted window is no longer today's.
+ */
+@Service
+public class TierWindowService {
+
+    private final GameModeRepository gameModeRepository;
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache;
+    private final NumberBallService numberBallService;
+    private final NumberBallLifecycleService numberBallLifecycleService;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate afterCommitTx;
+
+    public TierWindowService(
+            GameModeRepository gameModeRepository,
+            DrawFrequencyIndexCache drawFrequencyIndexCache,
+            NumberBallService numberBallService,
+            NumberBallLifecycleService numberBallLifecycleService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.gameModeRepository = gameModeRepository;
+        this.drawFrequencyIndexCache = drawFrequencyIndexCache;
+        this.numberBallService = numberBallService;
+        this.numberBallLifecycleService = numberBallLifecycleService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.afterCommitTx = new TransactionTemplate(transactionManager);
+        this.afterCommitTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            advanceAllWindows();
+        } catch (RuntimeException ignored) {
+            // failing game modes keep their counted window and are retried by the rollover run
+        }
+    }
+
+    /**
+     * Advances every game mode's tier window to today.
+     * A failing game mode does not stop the others; its counted window is left as it was,
+     * so the next run retries from the same state. The first failure is rethrown at the end.
+     */
+    @Scheduled(cron = "${lottery.tiers.windowRolloverCron:0 1 0 * * *}")
+    public void advanceAllWindows() {
+        LocalDate today = LocalDate.now();
+        RuntimeException firstFailure = null;
+
+        List<Long> ids = gameModeRepository.findAll().stream()
+                .map(GameMode::getId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        for (Long id : ids) {
+            try {
+                advance(id, today);
+            } catch (RuntimeException e) {
+                if (firstFailure == null) firstFailure = e;
+            }
+        }
+
+        if (firstFailure != null) throw firstFailure;
+    }
+
+    /**
+     * Brings one game's tierCounts (and tiers of changed pools) to the window resolved for today.
+     * Game modes without Rules are skipped.
+     */
+    public void advance(Long gameModeId, LocalDate today) {
+        tx.executeWithoutResult(status -> advanceInTx(gameModeId, today));
+    }
+
+    /**
+     * For draws just applied to mode: if the window its tierCounts reflect is not today's (the day
+     * rolled over before the rollover run), advances it once the current transaction commits, so
+     * the window's counts come from an index that already holds the new draws.
+     * Runs at once without a transaction. A failure leaves the window for the next run.
+     */
+    public void advanceAfterCommitIfStale(GameMode mode) {
+        if (mode.getId() == null || mode.getRules() == null) return;
+
+        TierWindow counted = NumberBallLifecycleService.countedWindow(mode);
+        if (counted == null || counted.equals(GameModeTierWindowResolver.resolve(mode, LocalDate.now()))) return;
+
+        Long gameModeId = mode.getId();
+        Runnable advance = () -> {
+            try {
+                afterCommitTx.executeWithoutResult(status -> advanceInTx(gameModeId, LocalDate.now()));
+            } catch (RuntimeException ignored) {
+                // the draws are committed; the window is moved by the next rollover or startup run
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance.run();
+                }
+            });
+        } else {
+            advance.run();
+        }
+    }
+
+    private void advanceInTx(Long gameModeId, LocalDate today) {
+        GameMode mode = gameModeRepository.findById(gameModeId).orElseThrow(() ->
+                new NotFoundException(
+                        "GameMode not found",
+                        "GAME_MODE_NOT_FOUND",
+                        Map.of("gameModeId", gameModeId)
+                )
+        );
+        if (mode.getRules() == null) return;
+
+        TierWindow target = GameModeTierWindowResolver.resolve(mode, today);
+        TierWindow counted = NumberBallLifecycleService.countedWindow(mode);
+        if (target.equals(counted)) return;
+
+        List<NumberBall> balls = numberBallService.getBallsByGameModeId(gameModeId);
+        DrawFrequencyIndex index = drawFrequencyIndexCache.get(gameModeId);
+
+        if (!numberBallLifecycleService.applyWindowCounts(mode, target, index, balls).isEmpty()) {
+            numberBallService.saveAll(balls);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LongHashSet behaves like a Set&lt;Long&gt; of non-negative values, across rehashes.
+ */
+class LongHashSetTest {
+
+    @Test
+    void matchesHashSetWhileGrowing() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> reference = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(7L);
+
+        for (int i = 0; i < 50_000; i++) {
+            // dense small ranks collide often, huge ones exercise the hash spread
+            long value = (i % 2 == 0) ? random.nextLong(20_000) : random.nextLong(Long.MAX_VALUE - 1);
+            assertEquals(reference.add(value), set.add(value), "add " + value);
+        }
+
+        assertEquals(reference.size(), set.size());
+        for (long value : reference) assertTrue(set.contains(value));
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong(40_000);
+            assertEquals(reference.contains(value), set.contains(value), "contains " + value);
+        }
+    }
+
+    @Test
+    void storesZeroAndLargestValue() {
+        LongHashSet set = new LongHashSet(16);
+
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+
+        assertTrue(set.add(Long.MAX_VALUE - 1));
+        assertTrue(set.contains(Long.MAX_VALUE - 1));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void rejectsValuesOutOfRange() {
+        LongHashSet set = new LongHashSet(16);
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> set.add(Long.MAX_VALUE));
+    }
+}
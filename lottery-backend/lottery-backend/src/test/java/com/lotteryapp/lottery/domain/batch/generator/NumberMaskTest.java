@@ -0,0 +1,124 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NumberMask set semantics across word boundaries, and values outside 0..maxValue ignored.
+ */
+class NumberMaskTest {
+
+    @Test
+    void addRemoveContainsAcrossWords() {
+        NumberMask mask = new NumberMask(130);
+        int[] values = {0, 1, 63, 64, 65, 127, 128, 130};
+        for (int v : values) mask.add(v);
+
+        for (int v : values) assertTrue(mask.contains(v), "contains " + v);
+        assertFalse(mask.contains(2));
+        assertFalse(mask.contains(129));
+        assertEquals(values.length, mask.cardinality());
+        assertArrayEquals(values, mask.toArray());
+        assertEquals(3, mask.wordCount());
+
+        mask.remove(64);
+        mask.remove(64);
+        assertFalse(mask.contains(64));
+        assertEquals(values.length - 1, mask.cardinality());
+
+        mask.clear();
+        assertEquals(0, mask.cardinality());
+        assertArrayEquals(new int[0], mask.toArray());
+    }
+
+    @Test
+    void ignoresValuesOutOfRange() {
+        NumberMask mask = new NumberMask(10);
+        mask.add(-1);
+        mask.add(11);
+        mask.add(64);
+
+        assertEquals(0, mask.cardinality());
+        assertFalse(mask.contains(-1));
+        assertFalse(mask.contains(11));
+
+        NumberMask empty = new NumberMask(-5);
+        assertEquals(-1, empty.maxValue());
+        empty.add(0);
+        assertFalse(empty.contains(0));
+    }
+
+    @Test
+    void rangeAndOf() {
+        assertArrayEquals(new int[]{0, 1, 2, 3}, NumberMask.range(-3, 3).toArray());
+        assertArrayEquals(new int[]{60, 61, 62, 63, 64, 65, 66, 67, 68, 69}, NumberMask.range(60, 69).toArray());
+        assertEquals(69, NumberMask.range(60, 69).maxValue());
+
+        Set<Integer> values = new HashSet<>();
+        values.add(5);
+        values.add(null);
+        values.add(99);
+        values.add(-4);
+        NumberMask mask = NumberMask.of(values);
+        assertEquals(99, mask.maxValue());
+        assertArrayEquals(new int[]{5, 99}, mask.toArray());
+
+        assertEquals(0, NumberMask.of(null).cardinality());
+        assertEquals(0, NumberMask.of(Set.of()).cardinality());
+    }
+
+    @Test
+    void andNotMatchesSetDifference() {
+        NumberMask a = NumberMask.range(1, 150);
+        NumberMask b = new NumberMask(70);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int v = 1; v <= 150; v++) expected.add(v);
+        for (int v = 0; v <= 70; v += 3) {
+            b.add(v);
+            expected.remove(v);
+        }
+
+        // b is shorter than a: words beyond it are left alone
+        assertSame(a, a.andNot(b));
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), a.toArray());
+    }
+
+    @Test
+    void copyIsIndependent() {
+        NumberMask original = NumberMask.range(1, 5);
+        NumberMask copy = original.copy();
+        copy.remove(3);
+        copy.add(0);
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, original.toArray());
+        assertArrayEquals(new int[]{0, 1, 2, 4, 5}, copy.toArray());
+        assertEquals(original.maxValue(), copy.maxValue());
+    }
+
+    @Test
+    void intersectionWordsMatchSetIntersection() {
+        NumberMask a = new NumberMask(200);
+        NumberMask b = new NumberMask(100);
+        for (int v = 0; v <= 200; v += 2) a.add(v);
+        for (int v = 0; v <= 100; v += 5) b.add(v);
+
+        TreeSet<Integer> walked = new TreeSet<>();
+        for (int w = 0; w < a.wordCount(); w++) {
+            long bits = a.intersectionWord(b, w);
+            while (bits != 0) {
+                walked.add((w << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int v = 0; v <= 100; v += 10) expected.add(v);
+        assertEquals(expected, walked);
+        assertEquals(0L, a.intersectionWord(b, 3));
+    }
+}
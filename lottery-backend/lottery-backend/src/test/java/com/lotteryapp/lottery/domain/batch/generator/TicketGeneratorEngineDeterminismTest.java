@@ -0,0 +1,135 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+import com.lotteryapp.lottery.domain.group.GroupMode;
+import com.lotteryapp.lottery.domain.group.TicketGroup;
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A seeded batch is the same ticket for ticket whether its specs run serially, in parallel on
+ * any pool size, or streamed to a sink.
+ */
+class TicketGeneratorEngineDeterminismTest {
+
+    private static final long SEED = 20261017L;
+
+    private static final Rules RULES = Rules.builder()
+            .whiteMin(1).whiteMax(69).whitePickCount(5)
+            .whiteOrdered(true).whiteAllowRepeats(false)
+            .redMin(1).redMax(26).redPickCount(1)
+            .redOrdered(true).redAllowRepeats(false)
+            .build();
+
+    private final List<NumberBall> whiteBalls = balls(PoolType.WHITE, 69, 1L);
+    private final List<NumberBall> redBalls = balls(PoolType.RED, 26, 2L);
+
+    @Test
+    void parallelRunsMatchSerialRunWithSameSeed() {
+        List<String> serial = tickets(new TicketGeneratorEngine().generate(context(SEED, false), specs()));
+
+        assertEquals(specs().stream().mapToInt(GeneratorSpec::ticketCount).sum(), serial.size());
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (int run = 0; run < 3; run++) {
+                    GeneratedBatch parallel = new TicketGeneratorEngine(pool).generate(context(SEED, true), specs());
+                    assertEquals(serial, tickets(parallel), threads + " threads, run " + run);
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void streamingMatchesStoredTickets() {
+        List<String> stored = tickets(new TicketGeneratorEngine().generate(context(SEED, true), specs()));
+
+        List<String> streamed = new ArrayList<>();
+        GeneratedBatch batch = new TicketGeneratorEngine().generate(context(SEED, true), specs(),
+                (spec, ticket, white, whiteLen, red, redLen) -> streamed.add(spec + ":" + ticket + " "
+                        + Arrays.toString(Arrays.copyOf(white, whiteLen)) + Arrays.toString(Arrays.copyOf(red, redLen))));
+
+        assertEquals(stored, streamed);
+        assertEquals(SEED, batch.getRandomSeed());
+        assertTrue(batch.getSpecResults().stream().allMatch(r -> r.getTickets().isEmpty()));
+    }
+
+    @Test
+    void unseededRunReplaysFromReportedSeed() {
+        GeneratedBatch first = new TicketGeneratorEngine().generate(context(null, true), specs());
+        assertNotNull(first.getRandomSeed());
+
+        GeneratedBatch replay = new TicketGeneratorEngine().generate(context(first.getRandomSeed(), false), specs());
+        assertEquals(tickets(first), tickets(replay));
+    }
+
+    @Test
+    void differentSeedsGiveDifferentTickets() {
+        TicketGeneratorEngine engine = new TicketGeneratorEngine();
+        assertNotEquals(tickets(engine.generate(context(SEED, true), specs())),
+                tickets(engine.generate(context(SEED + 1, true), specs())));
+    }
+
+    private GeneratorContext context(Long seed, boolean parallel) {
+        return new GeneratorContext(RULES, whiteBalls, redBalls,
+                new GeneratorOptions(1.75, 0.30, seed, parallel, TicketUniqueness.NONE));
+    }
+
+    // one spec per generation mode, plus exclusions
+    private static List<GeneratorSpec> specs() {
+        return List.of(
+                new GeneratorSpec(40, null, null, false, null, null),
+                new GeneratorSpec(40, countGroup(1L), percentGroup(2L), false, null, null),
+                new GeneratorSpec(40, percentGroup(3L), null, false, Set.of(1, 2, 3, 10, 20), Set.of(7)),
+                new GeneratorSpec(40, countGroup(4L), countGroup(5L), false, Set.of(69), null)
+        );
+    }
+
+    private static List<String> tickets(GeneratedBatch batch) {
+        List<String> out = new ArrayList<>();
+        for (GeneratedSpecResult result : batch.getSpecResults()) {
+            for (GeneratedSpecTicket t : result.getTickets()) {
+                out.add(result.getSpecNumber() + ":" + t.ticketNumber() + " "
+                        + Arrays.toString(t.picks().white()) + Arrays.toString(t.picks().red()));
+            }
+        }
+        return out;
+    }
+
+    private static TicketGroup countGroup(long id) {
+        return TicketGroup.builder().id(id).groupMode(GroupMode.COUNT).hotCount(2).midCount(2).coldCount(1).build();
+    }
+
+    private static TicketGroup percentGroup(long id) {
+        return TicketGroup.builder().id(id).groupMode(GroupMode.PERCENT).hotPct(40).midPct(40).coldPct(20).build();
+    }
+
+    private static List<NumberBall> balls(PoolType poolType, int max, long seed) {
+        Random random = new Random(seed);
+        List<NumberBall> out = new ArrayList<>(max);
+        for (int v = 1; v <= max; v++) {
+            NumberBall b = new NumberBall();
+            b.setPoolType(poolType);
+            b.setNumberValue(v);
+            b.setTierCount(random.nextInt(30));
+
+            int roll = random.nextInt(10);
+            b.setTier(roll < 2 ? Tier.HOT : roll < 7 ? Tier.MID : Tier.COLD);
+            out.add(b);
+        }
+        return out;
+    }
+}
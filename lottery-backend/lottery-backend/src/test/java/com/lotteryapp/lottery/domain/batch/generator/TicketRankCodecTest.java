@@ -0,0 +1,112 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TicketRankCodec is a bijection between the valid tickets of each pool shape and [0, space()).
+ */
+class TicketRankCodecTest {
+
+    @Test
+    void roundTripsEveryTicketOfEachPoolShape() {
+        for (boolean ordered : new boolean[]{true, false}) {
+            for (boolean repeats : new boolean[]{true, false}) {
+                // white 1..7 pick 3 of the shape, red 1..4 pick 2 of the same shape
+                TicketRankCodec codec = TicketRankCodec.forRules(rules(1, 7, 3, ordered, repeats, 1, 4, 2));
+                long expected = poolSpace(7, 3, ordered, repeats) * poolSpace(4, 2, ordered, repeats);
+                assertEquals(expected, codec.space(), shape(ordered, repeats));
+
+                Set<String> seen = new HashSet<>();
+                for (long rank = 0; rank < codec.space(); rank++) {
+                    GeneratedPicks picks = codec.unrank(rank);
+                    assertEquals(rank, codec.rank(picks), shape(ordered, repeats) + " rank " + rank);
+                    assertTrue(seen.add(Arrays.toString(picks.white()) + Arrays.toString(picks.red())));
+                }
+            }
+        }
+    }
+
+    @Test
+    void roundTripsRandomRanksOfALargeGame() {
+        // 5 of 69 sorted + 1 of 26
+        TicketRankCodec codec = TicketRankCodec.forRules(rules(1, 69, 5, true, false, 1, 26, 1));
+        assertEquals(11_238_513L * 26, codec.space());
+
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < 10_000; i++) {
+            long rank = random.nextLong(codec.space());
+            assertEquals(rank, codec.rank(codec.unrank(rank)));
+        }
+        assertEquals(codec.space() - 1, codec.rank(codec.unrank(codec.space() - 1)));
+    }
+
+    @Test
+    void rejectsTicketsTheRulesDoNotAllow() {
+        TicketRankCodec sorted = TicketRankCodec.forRules(rules(1, 69, 5, true, false, 1, 26, 1));
+        int[] red = {10};
+
+        assertEquals(-1, sorted.rank(new int[]{1, 2, 3, 4}, 4, red, 1));
+        assertEquals(-1, sorted.rank(new int[]{0, 2, 3, 4, 5}, 5, red, 1));
+        assertEquals(-1, sorted.rank(new int[]{1, 2, 3, 4, 70}, 5, red, 1));
+        assertEquals(-1, sorted.rank(new int[]{1, 2, 2, 4, 5}, 5, red, 1));
+        assertEquals(-1, sorted.rank(new int[]{2, 1, 3, 4, 5}, 5, red, 1));
+        assertEquals(-1, sorted.rank(new int[]{1, 2, 3, 4, 5}, 5, new int[]{27}, 1));
+        assertTrue(sorted.rank(new int[]{1, 2, 3, 4, 5}, 5, red, 1) >= 0);
+
+        TicketRankCodec unordered = TicketRankCodec.forRules(rules(0, 9, 3, false, false, 0, 0, 0));
+        assertEquals(-1, unordered.rank(new int[]{4, 1, 4}, 3, new int[0], 0));
+        assertTrue(unordered.rank(new int[]{4, 1, 7}, 3, new int[0], 0) >= 0);
+    }
+
+    @Test
+    void rejectsRanksOutsideTheSpace() {
+        TicketRankCodec codec = TicketRankCodec.forRules(rules(1, 7, 3, true, false, 1, 4, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> codec.unrank(-1));
+        assertThrows(IllegalArgumentException.class, () -> codec.unrank(codec.space()));
+    }
+
+    @Test
+    void rejectsGamesWhoseSpaceDoesNotFitInALong() {
+        // 100^12 unordered tickets with repeats
+        assertThrows(IllegalArgumentException.class,
+                () -> TicketRankCodec.forRules(rules(0, 99, 12, false, true, 0, 99, 12)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TicketRankCodec.forRules(rules(1, 4, 5, true, false, 0, 0, 0)));
+    }
+
+    private static long poolSpace(int n, int k, boolean ordered, boolean repeats) {
+        if (ordered) return binomial(repeats ? n + k - 1 : n, k);
+        long space = 1;
+        for (int i = 0; i < k; i++) space *= repeats ? n : n - i;
+        return space;
+    }
+
+    private static long binomial(int n, int k) {
+        long c = 1;
+        for (int i = 1; i <= k; i++) c = c * (n - k + i) / i;
+        return c;
+    }
+
+    private static String shape(boolean ordered, boolean repeats) {
+        return "ordered=" + ordered + " repeats=" + repeats;
+    }
+
+    private static Rules rules(int whiteMin, int whiteMax, int whitePick, boolean ordered, boolean repeats,
+                               int redMin, int redMax, int redPick) {
+        return Rules.builder()
+                .whiteMin(whiteMin).whiteMax(whiteMax).whitePickCount(whitePick)
+                .whiteOrdered(ordered).whiteAllowRepeats(repeats)
+                .redMin(redMin).redMax(redMax).redPickCount(redPick)
+                .redOrdered(ordered).redAllowRepeats(repeats)
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.lotteryapp.lottery.domain.batch.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WeightedSampler picks by effective weight, never returns a taken number, and keeps its
+ * Fenwick tree in step with diminishing-returns updates across rebuilds.
+ */
+class WeightedSamplerTest {
+
+    private static final double ALPHA = 0.5;
+
+    @Test
+    void sortsValuesAndMapsThemBackToIndexes() {
+        WeightedSampler sampler = WeightedSampler.of(new int[]{9, 3, 70}, new double[]{1.0, 2.0, 3.0}, ALPHA);
+
+        assertEquals(3, sampler.size());
+        assertArrayEquals(new int[]{3, 9, 70}, new int[]{sampler.valueAt(0), sampler.valueAt(1), sampler.valueAt(2)});
+        assertEquals(2, sampler.indexOf(70));
+        assertEquals(-1, sampler.indexOf(4));
+        assertEquals(-1, sampler.indexOf(71));
+        assertEquals(6.0, sampler.totalWeight(), 1e-12);
+    }
+
+    @Test
+    void picksInProportionToWeight() {
+        double[] weights = {1.0, 0.0, 2.0, 3.0, 4.0};
+        WeightedSampler sampler = WeightedSampler.of(new int[]{1, 2, 3, 4, 5}, weights, ALPHA);
+
+        int[] counts = pickMany(sampler, new NumberMask(5), 100_000, new SplittableRandom(11L));
+
+        assertEquals(0, counts[1]);
+        assertFrequencies(counts, weights);
+    }
+
+    @Test
+    void excludingNeverReturnsATakenNumberAndRenormalizes() {
+        double[] weights = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+        WeightedSampler sampler = WeightedSampler.of(new int[]{10, 20, 30, 40, 50, 60}, weights, ALPHA);
+
+        NumberMask taken = new NumberMask(60);
+        taken.add(20);
+        taken.add(50);
+        // outside the bucket: must not disturb it
+        taken.add(21);
+
+        int[] counts = pickMany(sampler, taken, 100_000, new SplittableRandom(12L));
+
+        assertEquals(0, counts[1]);
+        assertEquals(0, counts[4]);
+        assertFrequencies(counts, new double[]{1.0, 0.0, 3.0, 4.0, 0.0, 6.0});
+
+        // weights are restored after every draw
+        assertEquals(21.0, sampler.totalWeight(), 1e-9);
+    }
+
+    @Test
+    void excludingEverythingReturnsMinusOne() {
+        WeightedSampler sampler = WeightedSampler.of(new int[]{1, 2, 3}, new double[]{1.0, 1.0, 1.0}, ALPHA);
+
+        assertEquals(-1, sampler.pickIndexExcluding(NumberMask.range(1, 3), new SplittableRandom(1L)));
+
+        NumberMask onlyWeightLeftTaken = new NumberMask(3);
+        onlyWeightLeftTaken.add(1);
+        WeightedSampler skewed = WeightedSampler.of(new int[]{1, 2}, new double[]{1.0, 0.0}, ALPHA);
+        assertEquals(-1, skewed.pickIndexExcluding(onlyWeightLeftTaken, new SplittableRandom(1L)));
+    }
+
+    @Test
+    void excludingNeverLandsOnATakenNumberAtTheTopOfTheRange() {
+        WeightedSampler sampler = WeightedSampler.of(new int[]{1, 2, 3}, new double[]{1.0, 1.0, 1.0}, ALPHA);
+        NumberMask taken = new NumberMask(3);
+        taken.add(3);
+
+        // r just below the remaining total: the descent can run onto the removed last entry
+        int idx = sampler.pickIndexExcluding(taken, fixed(Math.nextDown(1.0)));
+        assertTrue(idx == 0 || idx == 1, "picked " + idx);
+    }
+
+    @Test
+    void markAndUnmarkUsedApplyDiminishingReturns() {
+        WeightedSampler sampler = WeightedSampler.of(new int[]{1, 2, 3}, new double[]{2.0, 4.0, 6.0}, ALPHA);
+
+        sampler.markUsed(1);
+        sampler.markUsed(1);
+        double reduced = WeightedPicker.applyDiminishingReturns(4.0, 2, ALPHA);
+        assertEquals(8.0 + reduced, sampler.totalWeight(), 1e-12);
+
+        sampler.unmarkUsed(1);
+        sampler.unmarkUsed(1);
+        // never below zero uses
+        sampler.unmarkUsed(1);
+        assertEquals(12.0, sampler.totalWeight(), 1e-12);
+    }
+
+    @Test
+    void staysInStepWithNaiveWeightsAcrossRebuilds() {
+        int n = 80;
+        int[] values = new int[n];
+        double[] weights = new double[n];
+        SplittableRandom random = new SplittableRandom(13L);
+        for (int i = 0; i < n; i++) {
+            values[i] = i + 1;
+            weights[i] = 0.1 + random.nextDouble() * 10.0;
+        }
+        WeightedSampler sampler = WeightedSampler.of(values, weights, ALPHA);
+        int[] used = new int[n];
+
+        // several times the rebuild interval of point updates
+        for (int step = 0; step < 20_000; step++) {
+            int idx = random.nextInt(n);
+            if (random.nextInt(3) == 0 && used[idx] > 0) {
+                sampler.unmarkUsed(idx);
+                used[idx]--;
+            } else {
+                sampler.markUsed(idx);
+                used[idx]++;
+            }
+        }
+
+        double expected = 0.0;
+        double[] effective = new double[n];
+        for (int i = 0; i < n; i++) {
+            effective[i] = WeightedPicker.applyDiminishingReturns(weights[i], used[i], ALPHA);
+            expected += effective[i];
+        }
+        assertEquals(expected, sampler.totalWeight(), 1e-9);
+
+        int[] counts = pickMany(sampler, new NumberMask(n), 200_000, random);
+        assertFrequencies(counts, effective);
+    }
+
+    private static int[] pickMany(WeightedSampler sampler, NumberMask taken, int draws, RandomGenerator rng) {
+        int[] counts = new int[sampler.size()];
+        for (int i = 0; i < draws; i++) {
+            int idx = sampler.pickIndexExcluding(taken, rng);
+            assertFalse(taken.contains(sampler.valueAt(idx)));
+            counts[idx]++;
+        }
+        return counts;
+    }
+
+    // each observed share within 0.01 of its expected share
+    private static void assertFrequencies(int[] counts, double[] weights) {
+        double total = 0.0;
+        long draws = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += weights[i];
+            draws += counts[i];
+        }
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals(weights[i] / total, (double) counts[i] / draws, 0.01, "index " + i);
+        }
+    }
+
+    private static RandomGenerator fixed(double value) {
+        return new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public double nextDouble() {
+                return value;
+            }
+        };
+    }
+}
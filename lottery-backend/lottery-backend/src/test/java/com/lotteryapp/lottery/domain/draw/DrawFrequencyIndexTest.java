@@ -0,0 +1,125 @@
+package com.lotteryapp.lottery.domain.draw;
+
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DrawFrequencyIndex prefix counts must equal a plain count over the draws, however the draws
+ * arrive: in date order, out of order, replacing earlier dates or widening the pools.
+ */
+class DrawFrequencyIndexTest {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void matchesNaiveCountsUnderRandomPuts() {
+        Random random = new Random(13L);
+        DrawFrequencyIndex index = new DrawFrequencyIndex();
+        TreeMap<LocalDate, int[][]> draws = new TreeMap<>();
+
+        for (int step = 0; step < 400; step++) {
+            // mostly appends, some older dates and replacements; pools widen as max grows
+            LocalDate date = random.nextInt(4) == 0
+                    ? BASE_DATE.plusDays(random.nextInt(step + 1))
+                    : BASE_DATE.plusDays(step);
+            int whiteMax = 20 + step / 4;
+            int[] white = randomNumbers(random, 5, whiteMax);
+            int[] red = random.nextInt(5) == 0 ? new int[0] : randomNumbers(random, 1, 26);
+
+            index.put(date, white, red);
+            draws.put(date, new int[][]{white, red});
+
+            if (step % 40 == 39) assertMatches(index, draws, random, whiteMax + 5);
+        }
+        assertEquals(draws.size(), index.drawCount());
+    }
+
+    @Test
+    void replacingADateMovesItsCounts() {
+        DrawFrequencyIndex index = new DrawFrequencyIndex();
+        LocalDate d1 = BASE_DATE;
+        LocalDate d2 = BASE_DATE.plusDays(3);
+        index.put(d1, new int[]{1, 2, 3}, new int[]{4});
+        index.put(d2, new int[]{3, 4, 5}, new int[]{4});
+
+        index.put(d1, new int[]{7, 8, 9}, new int[]{1});
+
+        assertEquals(2, index.drawCount());
+        assertEquals(0, index.count(PoolType.WHITE, 1, d1, d2));
+        assertEquals(1, index.count(PoolType.WHITE, 3, d1, d2));
+        assertEquals(1, index.count(PoolType.WHITE, 7, d1, d2));
+        assertEquals(1, index.count(PoolType.RED, 4, d1, d2));
+        assertEquals(1, index.count(PoolType.RED, 1, d1, d1));
+    }
+
+    @Test
+    void ignoresNegativeNumbersAndEmptyRanges() {
+        DrawFrequencyIndex index = new DrawFrequencyIndex();
+        index.put(BASE_DATE, new int[]{-1, 3}, null);
+
+        assertEquals(1, index.count(PoolType.WHITE, 3, BASE_DATE, BASE_DATE));
+        assertEquals(0, index.count(PoolType.WHITE, -1, BASE_DATE, BASE_DATE));
+        assertEquals(0, index.count(PoolType.WHITE, 99, BASE_DATE, BASE_DATE));
+        assertEquals(0, index.count(PoolType.WHITE, 3, BASE_DATE.plusDays(1), BASE_DATE));
+        assertEquals(0, index.count(PoolType.RED, 0, BASE_DATE, BASE_DATE));
+        assertArrayEquals(new int[]{0, 0, 0, 1, 0}, index.counts(PoolType.WHITE, 4, BASE_DATE, BASE_DATE));
+        assertArrayEquals(new int[0], index.counts(PoolType.WHITE, -1, BASE_DATE, BASE_DATE));
+        assertThrows(IllegalArgumentException.class, () -> index.put(null, new int[]{1}, null));
+    }
+
+    @Test
+    void datesFromListsDrawDatesOldestFirst() {
+        DrawFrequencyIndex index = new DrawFrequencyIndex();
+        index.put(BASE_DATE.plusDays(7), new int[]{1}, null);
+        index.put(BASE_DATE, new int[]{1}, null);
+        index.put(BASE_DATE.plusDays(3), new int[]{1}, null);
+
+        assertEquals(List.of(BASE_DATE, BASE_DATE.plusDays(3), BASE_DATE.plusDays(7)), index.datesFrom(BASE_DATE.minusDays(1)));
+        assertEquals(List.of(BASE_DATE.plusDays(3), BASE_DATE.plusDays(7)), index.datesFrom(BASE_DATE.plusDays(3)));
+        assertEquals(List.of(), index.datesFrom(BASE_DATE.plusDays(8)));
+    }
+
+    private static void assertMatches(DrawFrequencyIndex index, TreeMap<LocalDate, int[][]> draws, Random random, int maxValue) {
+        LocalDate last = draws.lastKey();
+        for (int q = 0; q < 30; q++) {
+            LocalDate start = BASE_DATE.plusDays(random.nextInt((int) (last.toEpochDay() - BASE_DATE.toEpochDay()) + 3) - 1);
+            LocalDate end = start.plusDays(random.nextInt(120));
+
+            for (int pool = 0; pool < 2; pool++) {
+                PoolType poolType = pool == 0 ? PoolType.WHITE : PoolType.RED;
+                int[] expected = new int[maxValue + 1];
+                for (Map.Entry<LocalDate, int[][]> e : draws.subMap(start, true, end, true).entrySet()) {
+                    for (int n : e.getValue()[pool]) expected[n]++;
+                }
+
+                assertArrayEquals(expected, index.counts(poolType, maxValue, start, end), start + ".." + end);
+                int value = random.nextInt(maxValue + 1);
+                assertEquals(expected[value], index.count(poolType, value, start, end));
+                assertEquals(naiveLastDrawn(draws, pool, value, end), index.lastDrawn(poolType, value, end), "lastDrawn " + value);
+            }
+        }
+    }
+
+    private static LocalDate naiveLastDrawn(TreeMap<LocalDate, int[][]> draws, int pool, int value, LocalDate onOrBefore) {
+        for (Map.Entry<LocalDate, int[][]> e : draws.headMap(onOrBefore, true).descendingMap().entrySet()) {
+            for (int n : e.getValue()[pool]) {
+                if (n == value) return e.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static int[] randomNumbers(Random random, int count, int max) {
+        int[] out = new int[count];
+        for (int i = 0; i < count; i++) out[i] = 1 + random.nextInt(max);
+        return out;
+    }
+}
@@ -0,0 +1,100 @@
+package com.lotteryapp.lottery.domain.draw;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Packed order and mask columns round-trip a pool's numbers, and mask matches count exactly the
+ * numbers two draws share.
+ */
+class PackedDrawNumbersTest {
+
+    @Test
+    void orderRoundTripsDrawnPositions() {
+        List<Integer> numbers = Arrays.asList(69, 1, null, 255, 0, 128);
+
+        byte[] order = PackedDrawNumbers.order(numbers);
+
+        assertEquals(5, order.length);
+        assertEquals(List.of(69, 1, 255, 0, 128), PackedDrawNumbers.numbers(order));
+        assertEquals(List.of(), PackedDrawNumbers.numbers(PackedDrawNumbers.order(null)));
+        assertEquals(List.of(), PackedDrawNumbers.numbers(null));
+    }
+
+    @Test
+    void onlyZeroTo255IsPackable() {
+        assertTrue(PackedDrawNumbers.packable(null));
+        assertTrue(PackedDrawNumbers.packable(Arrays.asList(0, 255, null)));
+        assertFalse(PackedDrawNumbers.packable(List.of(1, 256)));
+        assertFalse(PackedDrawNumbers.packable(List.of(-1)));
+
+        assertThrows(IllegalArgumentException.class, () -> PackedDrawNumbers.order(List.of(300)));
+    }
+
+    @Test
+    void maskBytesAndWordsAgree() {
+        Random random = new Random(20L);
+        for (int round = 0; round < 1_000; round++) {
+            List<Integer> numbers = randomDraw(random, 1 + random.nextInt(20), 1 + random.nextInt(255));
+
+            long[] words = PackedDrawNumbers.words(numbers);
+            byte[] mask = PackedDrawNumbers.mask(numbers);
+
+            assertEquals(words.length * 8, mask.length);
+            assertArrayEquals(words, PackedDrawNumbers.words(mask));
+
+            Set<Integer> drawn = new HashSet<>(numbers);
+            for (int n = -1; n <= 256; n++) {
+                assertEquals(drawn.contains(n), PackedDrawNumbers.contains(words, n), "round " + round + " n " + n);
+            }
+        }
+    }
+
+    @Test
+    void emptyAndNegativeNumbersGiveEmptyMasks() {
+        assertArrayEquals(new long[0], PackedDrawNumbers.words((List<Integer>) null));
+        assertArrayEquals(new long[0], PackedDrawNumbers.words(Arrays.asList(-3, null)));
+        assertArrayEquals(new byte[0], PackedDrawNumbers.mask(List.of()));
+        assertArrayEquals(new long[0], PackedDrawNumbers.words((byte[]) null));
+        assertFalse(PackedDrawNumbers.contains(new long[0], 0));
+
+        // one word covers 0..63; 64 needs a second
+        assertEquals(1, PackedDrawNumbers.words(List.of(63)).length);
+        assertEquals(2, PackedDrawNumbers.words(List.of(64)).length);
+    }
+
+    @Test
+    void matchesCountsSharedNumbers() {
+        Random random = new Random(21L);
+        for (int round = 0; round < 1_000; round++) {
+            List<Integer> drawn = randomDraw(random, 1 + random.nextInt(20), 1 + random.nextInt(100));
+            List<Integer> picked = randomDraw(random, 1 + random.nextInt(20), 1 + random.nextInt(100));
+
+            Set<Integer> shared = new HashSet<>(drawn);
+            shared.retainAll(new HashSet<>(picked));
+
+            // masks of different lengths, in either order, stored or computed
+            long[] a = PackedDrawNumbers.words(PackedDrawNumbers.mask(drawn));
+            long[] b = PackedDrawNumbers.words(picked);
+            assertEquals(shared.size(), PackedDrawNumbers.matches(a, b), "round " + round);
+            assertEquals(shared.size(), PackedDrawNumbers.matches(b, a), "round " + round);
+        }
+    }
+
+    // distinct numbers 0..max in random order
+    private static List<Integer> randomDraw(Random random, int count, int max) {
+        List<Integer> pool = new ArrayList<>();
+        for (int v = 0; v <= max; v++) pool.add(v);
+        Collections.shuffle(pool, random);
+        return new ArrayList<>(pool.subList(0, Math.min(count, pool.size())));
+    }
+}
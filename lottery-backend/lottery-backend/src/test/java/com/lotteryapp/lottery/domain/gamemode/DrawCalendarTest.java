@@ -0,0 +1,105 @@
+package com.lotteryapp.lottery.domain.gamemode;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DrawCalendar must answer exactly what LegacyDrawSchedule's day-walking loops answered, for
+ * random schedules, draw times, zones (including DST changes and invalid ids) and dates.
+ */
+class DrawCalendarTest {
+
+    private static final String[] ZONES = {
+            "America/New_York", "America/Los_Angeles", "Europe/London", "Australia/Sydney",
+            "Pacific/Kiritimati", "UTC", "Not/AZone", "", null
+    };
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void matchesLegacyScheduleOnRandomGames() {
+        Random random = new Random(23L);
+
+        for (int round = 0; round < 20_000; round++) {
+            Set<DrawDay> drawDays = randomDays(random);
+            LocalTime time = random.nextInt(5) == 0 ? null : LocalTime.of(random.nextInt(24), random.nextInt(4) * 15);
+            String zoneId = ZONES[random.nextInt(ZONES.length)];
+            DrawCalendar calendar = DrawCalendar.of(drawDays, time, zoneId);
+
+            LocalDate today = BASE_DATE.plusDays(random.nextInt(3 * 365));
+            // "now" within a day either side of today's start in UTC, so zone offsets matter
+            Instant now = today.atStartOfDay(ZoneOffset.UTC).toInstant().plusSeconds(random.nextInt(3 * 86_400) - 86_400);
+            String label = "round " + round + " " + drawDays + " " + time + " " + zoneId + " " + today + " " + now;
+
+            LocalDate expected = LegacyDrawSchedule.computeLatestExpectedDrawDate(drawDays, time, zoneId, today, now);
+            assertEquals(expected, calendar.latestExpected(today, now), label);
+            assertEquals(LegacyDrawSchedule.computeNextDrawDate(drawDays, today), calendar.onOrAfter(today), label);
+
+            LocalDate latestStored = expected.minusDays(random.nextInt(120) - 5);
+            List<LocalDate> missing = drawDays.isEmpty()
+                    ? List.of()
+                    : LegacyDrawSchedule.computeMissingDrawDates(drawDays, latestStored, expected);
+            assertEquals(missing, calendar.datesBetween(latestStored, expected), label + " from " + latestStored);
+            assertEquals(missing.size(), calendar.countBetween(latestStored, expected), label + " from " + latestStored);
+        }
+    }
+
+    @Test
+    void onOrBeforeAndIsDrawDay() {
+        DrawCalendar calendar = DrawCalendar.of(EnumSet.of(DrawDay.MONDAY, DrawDay.WEDNESDAY, DrawDay.SATURDAY), null, null);
+        LocalDate monday = LocalDate.of(2026, 10, 12);
+
+        assertTrue(calendar.isDrawDay(monday));
+        assertFalse(calendar.isDrawDay(monday.plusDays(1)));
+        assertEquals(monday, calendar.onOrBefore(monday.plusDays(1)));
+        assertEquals(monday.minusDays(2), calendar.onOrBefore(monday.minusDays(1)));
+        assertEquals(monday.plusDays(2), calendar.onOrAfter(monday.plusDays(1)));
+        assertEquals(3 * 52, calendar.countBetween(monday, monday.plusWeeks(52)));
+        assertEquals(0, calendar.countBetween(monday, monday));
+        assertEquals(0, calendar.countBetween(monday, monday.minusDays(3)));
+    }
+
+    @Test
+    void emptyScheduleHasNoDraws() {
+        DrawCalendar calendar = DrawCalendar.of(Set.of(), LocalTime.NOON, "UTC");
+        LocalDate today = LocalDate.of(2026, 10, 17);
+
+        assertTrue(calendar.isEmpty());
+        assertNull(calendar.onOrBefore(today));
+        assertNull(calendar.onOrAfter(today));
+        assertEquals(today, calendar.latestExpected(today, Instant.now()));
+        assertEquals(0, calendar.countBetween(today.minusDays(30), today));
+        assertEquals(List.of(), calendar.datesBetween(today.minusDays(30), today));
+        assertTrue(DrawCalendar.of(null, null, null).isEmpty());
+    }
+
+    @Test
+    void drawInstantUsesGameZoneOrFallback() {
+        LocalDate date = LocalDate.of(2026, 10, 17);
+        DrawCalendar timed = DrawCalendar.of(EnumSet.of(DrawDay.SATURDAY), LocalTime.of(22, 59), "America/New_York");
+        DrawCalendar untimed = DrawCalendar.of(EnumSet.of(DrawDay.SATURDAY), null, "America/New_York");
+
+        assertEquals(Instant.parse("2026-10-18T02:59:00Z"), timed.drawInstant(date, ZoneOffset.UTC));
+        assertEquals(Instant.parse("2026-10-17T00:00:00Z"), untimed.drawInstant(date, ZoneOffset.UTC));
+    }
+
+    private static Set<DrawDay> randomDays(Random random) {
+        Set<DrawDay> days = EnumSet.noneOf(DrawDay.class);
+        // mostly 1-3 draw days a week, sometimes none or every day
+        int roll = random.nextInt(20);
+        if (roll == 0) return days;
+        if (roll == 1) return EnumSet.allOf(DrawDay.class);
+
+        int count = 1 + random.nextInt(3);
+        DrawDay[] all = DrawDay.values();
+        while (days.size() < count) days.add(all[random.nextInt(all.length)]);
+        return days;
+    }
+}
@@ -0,0 +1,88 @@
+package com.lotteryapp.lottery.domain.gamemode;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DrawService's day-walking schedule loops as they were before DrawCalendar, with "today" and
+ * "now" passed in instead of read from the clock; the reference for DrawCalendarTest.
+ */
+final class LegacyDrawSchedule {
+
+    private LegacyDrawSchedule() {}
+
+    static LocalDate computeLatestExpectedDrawDate(Set<DrawDay> drawDays, LocalTime time, String zoneId,
+                                                   LocalDate today, Instant now) {
+        if (drawDays == null || drawDays.isEmpty()) return today;
+
+        ZoneId zone = safeZone(zoneId);
+
+        // If time+zone are available, only count today's draw if draw time has passed in that zone.
+        if (time != null && zone != null) {
+            ZonedDateTime nowZ = now.atZone(zone);
+
+            LocalDate candidate = today;
+            for (int i = 0; i < 14; i++) { // look back up to 2 weeks
+                if (drawDays.contains(mapDay(candidate.getDayOfWeek()))) {
+                    ZonedDateTime drawMoment = candidate.atTime(time).atZone(zone);
+                    if (!drawMoment.isAfter(nowZ)) return candidate;
+                }
+                candidate = candidate.minusDays(1);
+            }
+        }
+
+        // fallback: most recent scheduled day on/before today
+        LocalDate d = today;
+        for (int i = 0; i < 14; i++) {
+            if (drawDays.contains(mapDay(d.getDayOfWeek()))) return d;
+            d = d.minusDays(1);
+        }
+        return today;
+    }
+
+    static LocalDate computeNextDrawDate(Set<DrawDay> drawDays, LocalDate start) {
+        if (drawDays == null || drawDays.isEmpty()) return null;
+
+        for (int i = 0; i < 14; i++) {
+            LocalDate d = start.plusDays(i);
+            if (drawDays.contains(mapDay(d.getDayOfWeek()))) return d;
+        }
+        return null;
+    }
+
+    static List<LocalDate> computeMissingDrawDates(Set<DrawDay> drawDays, LocalDate latestStored, LocalDate latestExpected) {
+        if (!latestStored.isBefore(latestExpected)) return List.of();
+
+        LocalDate d = latestStored.plusDays(1);
+
+        List<LocalDate> out = new ArrayList<>();
+        while (!d.isAfter(latestExpected)) {
+            if (drawDays.contains(mapDay(d.getDayOfWeek()))) out.add(d);
+            d = d.plusDays(1);
+        }
+        return out;
+    }
+
+    private static DrawDay mapDay(DayOfWeek dow) {
+        return switch (dow) {
+            case MONDAY -> DrawDay.MONDAY;
+            case TUESDAY -> DrawDay.TUESDAY;
+            case WEDNESDAY -> DrawDay.WEDNESDAY;
+            case THURSDAY -> DrawDay.THURSDAY;
+            case FRIDAY -> DrawDay.FRIDAY;
+            case SATURDAY -> DrawDay.SATURDAY;
+            case SUNDAY -> DrawDay.SUNDAY;
+        };
+    }
+
+    private static ZoneId safeZone(String zoneId) {
+        if (zoneId == null || zoneId.isBlank()) return null;
+        try {
+            return ZoneId.of(zoneId);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lotteryapp.lottery.domain.numbers.tier;
+
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * NumberBallTierEngine must assign exactly what LegacyNumberBallTierEngine assigned
+ * (tier, statusChange, tierCount) for every ball, including tie-heavy pools and null fields.
+ */
+class NumberBallTierEngineDifferentialTest {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void matchesLegacyEngineOnRandomPools() {
+        Random random = new Random(20240101L);
+
+        for (int round = 0; round < 2_000; round++) {
+            int whiteSize = random.nextInt(91);
+            int redSize = random.nextInt(31);
+            int maxCount = 1 + random.nextInt(12);
+            int dateSpread = 1 + random.nextInt(30);
+
+            List<NumberBall> original = new ArrayList<>();
+            addPool(original, PoolType.WHITE, whiteSize, maxCount, dateSpread, random);
+            addPool(original, PoolType.RED, redSize, maxCount, dateSpread, random);
+
+            int hotPct = random.nextInt(101);
+            TierCutoffs cutoffs = new TierCutoffs(hotPct, random.nextInt(101 - hotPct));
+
+            assertSameAssignment(original, cutoffs, "round " + round + " " + cutoffs);
+        }
+    }
+
+    @Test
+    void matchesLegacyEngineOnEdgeCutoffs() {
+        Random random = new Random(7L);
+        TierCutoffs[] cutoffs = {
+                new TierCutoffs(0, 0),
+                new TierCutoffs(100, 0),
+                new TierCutoffs(0, 100),
+                new TierCutoffs(50, 50),
+                TierCutoffs.defaultCutoffs()
+        };
+
+        for (TierCutoffs c : cutoffs) {
+            for (int size : new int[]{1, 2, 3, 26, 69}) {
+                List<NumberBall> original = new ArrayList<>();
+                addPool(original, PoolType.WHITE, size, 3, 4, random);
+                assertSameAssignment(original, c, "size " + size + " " + c);
+            }
+        }
+    }
+
+    @Test
+    void matchesLegacyEngineWhenAllCountsAreZero() {
+        Random random = new Random(11L);
+        List<NumberBall> original = new ArrayList<>();
+        addPool(original, PoolType.WHITE, 69, 0, 10, random);
+        addPool(original, PoolType.RED, 26, 0, 10, random);
+
+        assertSameAssignment(original, TierCutoffs.defaultCutoffs(), "all zero");
+    }
+
+    private void assertSameAssignment(List<NumberBall> original, TierCutoffs cutoffs, String label) {
+        List<NumberBall> expected = copyOf(original);
+        List<NumberBall> actual = copyOf(original);
+
+        LegacyNumberBallTierEngine.assignTiers(expected, cutoffs);
+        NumberBallTierEngine.assignTiers(actual, cutoffs);
+
+        for (int i = 0; i < original.size(); i++) {
+            NumberBall e = expected.get(i);
+            NumberBall a = actual.get(i);
+            String where = label + " " + e.getPoolType() + " #" + e.getNumberValue();
+
+            assertEquals(e.getTier(), a.getTier(), where + " tier");
+            assertEquals(e.getStatusChange(), a.getStatusChange(), where + " statusChange");
+            assertEquals(e.getTierCount(), a.getTierCount(), where + " tierCount");
+        }
+    }
+
+    // maxCount 0 => every tierCount is 0 (or null)
+    private void addPool(List<NumberBall> out, PoolType poolType, int size, int maxCount, int dateSpread, Random random) {
+        Tier[] tiers = Tier.values();
+
+        for (int v = 1; v <= size; v++) {
+            out.add(NumberBall.builder()
+                    .poolType(poolType)
+                    .numberValue(v)
+                    .tierCount(random.nextInt(10) == 0 ? null : random.nextInt(maxCount + 1))
+                    .lastDrawnDate(random.nextInt(5) == 0 ? null : BASE_DATE.plusDays(random.nextInt(dateSpread)))
+                    .tier(random.nextInt(4) == 0 ? null : tiers[random.nextInt(tiers.length)])
+                    .build());
+        }
+    }
+
+    private List<NumberBall> copyOf(List<NumberBall> balls) {
+        List<NumberBall> out = new ArrayList<>(balls.size());
+        for (NumberBall b : balls) {
+            out.add(NumberBall.builder()
+                    .poolType(b.getPoolType())
+                    .numberValue(b.getNumberValue())
+                    .tierCount(b.getTierCount())
+                    .lastDrawnDate(b.getLastDrawnDate())
+                    .tier(b.getTier())
+                    .statusChange(b.getStatusChange())
+                    .build());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,111 @@
+package com.lotteryapp.lottery.domain.numbers.tier;
+
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TierBitmaps must decode to exactly the tiers it was encoded from, per pool and per number.
+ */
+class TierBitmapsTest {
+
+    private static final Tier[] TIERS = {Tier.HOT, Tier.MID, Tier.COLD};
+
+    @Test
+    void roundTripsRandomPools() {
+        Random random = new Random(15L);
+
+        for (int round = 0; round < 500; round++) {
+            List<NumberBall> balls = new ArrayList<>();
+            int whiteMin = random.nextInt(3);
+            addPool(balls, PoolType.WHITE, whiteMin, whiteMin + random.nextInt(90), random);
+            if (random.nextBoolean()) addPool(balls, PoolType.RED, 1, 1 + random.nextInt(30), random);
+
+            byte[] data = TierBitmaps.encode(balls);
+
+            for (PoolType poolType : PoolType.values()) {
+                assertEquals(expected(balls, poolType), TierBitmaps.decode(data, poolType), "round " + round + " " + poolType);
+            }
+            for (NumberBall b : balls) {
+                assertEquals(b.getTier(), TierBitmaps.tierOf(data, b.getPoolType(), b.getNumberValue()),
+                        "round " + round + " " + b.getPoolType() + " " + b.getNumberValue());
+            }
+        }
+    }
+
+    @Test
+    void unknownNumbersAndPoolsHaveNoTier() {
+        List<NumberBall> balls = new ArrayList<>();
+        balls.add(ball(PoolType.WHITE, 5, Tier.HOT));
+        balls.add(ball(PoolType.WHITE, 9, null));
+        balls.add(ball(PoolType.WHITE, 12, Tier.COLD));
+        balls.add(ball(null, 3, Tier.HOT));
+
+        byte[] data = TierBitmaps.encode(balls);
+
+        assertEquals(Tier.HOT, TierBitmaps.tierOf(data, PoolType.WHITE, 5));
+        assertNull(TierBitmaps.tierOf(data, PoolType.WHITE, 9));
+        assertNull(TierBitmaps.tierOf(data, PoolType.WHITE, 4));
+        assertNull(TierBitmaps.tierOf(data, PoolType.WHITE, 13));
+        assertNull(TierBitmaps.tierOf(data, PoolType.RED, 5));
+        assertEquals(List.of(), TierBitmaps.decode(data, PoolType.RED).get(Tier.HOT));
+        assertEquals(List.of(12), TierBitmaps.decode(data, PoolType.WHITE).get(Tier.COLD));
+    }
+
+    @Test
+    void encodesAFullGameCompactly() {
+        List<NumberBall> balls = new ArrayList<>();
+        Random random = new Random(1L);
+        addPool(balls, PoolType.WHITE, 1, 69, random);
+        addPool(balls, PoolType.RED, 1, 26, random);
+
+        // 2 header bytes + per pool 9 header bytes and 3 bitmaps
+        assertEquals(2 + (9 + 3 * 9) + (9 + 3 * 4), TierBitmaps.encode(balls).length);
+        assertEquals(2, TierBitmaps.encode(List.of()).length);
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        byte[] data = TierBitmaps.encode(List.of(ball(PoolType.WHITE, 1, Tier.MID)));
+        data[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> TierBitmaps.tierOf(data, PoolType.WHITE, 1));
+        assertThrows(IllegalArgumentException.class, () -> TierBitmaps.decode(data, PoolType.WHITE));
+    }
+
+    private static Map<Tier, List<Integer>> expected(List<NumberBall> balls, PoolType poolType) {
+        Map<Tier, List<Integer>> out = new EnumMap<>(Tier.class);
+        for (Tier t : TIERS) out.put(t, new ArrayList<>());
+        balls.stream()
+                .filter(b -> b.getPoolType() == poolType && b.getTier() != null)
+                .sorted((a, b) -> Integer.compare(a.getNumberValue(), b.getNumberValue()))
+                .forEach(b -> out.get(b.getTier()).add(b.getNumberValue()));
+        return out;
+    }
+
+    // some numbers left out (sparse pools) and some without a tier
+    private static void addPool(List<NumberBall> out, PoolType poolType, int min, int max, Random random) {
+        for (int v = min; v <= max; v++) {
+            if (v != min && v != max && random.nextInt(10) == 0) continue;
+            int roll = random.nextInt(11);
+            out.add(ball(poolType, v, roll == 10 ? null : TIERS[roll % 3]));
+        }
+    }
+
+    private static NumberBall ball(PoolType poolType, int value, Tier tier) {
+        NumberBall b = new NumberBall();
+        b.setPoolType(poolType);
+        b.setNumberValue(value);
+        b.setTier(tier);
+        return b;
+    }
+}
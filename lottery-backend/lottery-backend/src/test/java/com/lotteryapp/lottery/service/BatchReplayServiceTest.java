@@ -0,0 +1,230 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.common.exception.BadRequestException;
+import com.lotteryapp.lottery.domain.batch.BatchReplaySnapshot;
+import com.lotteryapp.lottery.domain.batch.BatchStorageMode;
+import com.lotteryapp.lottery.domain.batch.SavedBatch;
+import com.lotteryapp.lottery.domain.batch.Ticket;
+import com.lotteryapp.lottery.domain.batch.TicketPick;
+import com.lotteryapp.lottery.domain.batch.generator.*;
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+import com.lotteryapp.lottery.domain.group.GroupMode;
+import com.lotteryapp.lottery.domain.group.TicketGroup;
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.domain.numbers.Tier;
+import com.lotteryapp.lottery.dto.batch.request.SaveBatchRequest;
+import com.lotteryapp.lottery.dto.batch.request.SavedPicksRequest;
+import com.lotteryapp.lottery.dto.batch.request.SavedSpecResultRequest;
+import com.lotteryapp.lottery.dto.batch.request.SavedTicketRequest;
+import com.lotteryapp.lottery.repository.BatchReplaySnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * SEED_REPLAY: a batch whose submitted tickets replay from their seed keeps only the replay data
+ * and regenerates exactly those tickets; any mismatch leaves the batch for ticket storage.
+ */
+class BatchReplayServiceTest {
+
+    private static final long SEED = 424242L;
+
+    private static final Rules RULES = Rules.builder()
+            .whiteMin(1).whiteMax(69).whitePickCount(5)
+            .whiteOrdered(true).whiteAllowRepeats(false)
+            .redMin(1).redMax(26).redPickCount(1)
+            .redOrdered(true).redAllowRepeats(false)
+            .build();
+
+    private final TicketGeneratorService ticketGeneratorService = mock(TicketGeneratorService.class);
+    private final BatchReplaySnapshotRepository snapshotRepository = mock(BatchReplaySnapshotRepository.class);
+    private final BatchReplayService service = new BatchReplayService(ticketGeneratorService, snapshotRepository);
+
+    private final GeneratorContext ctx = new GeneratorContext(RULES, balls(PoolType.WHITE, 69, 1L), balls(PoolType.RED, 26, 2L),
+            new GeneratorOptions(1.75, 0.30, null, true, TicketUniqueness.BATCH));
+
+    private final List<GeneratorSpec> specs = List.of(
+            new GeneratorSpec(25, null, null, false, null, null),
+            new GeneratorSpec(25, group(1L, PoolType.WHITE), group(2L, PoolType.RED), true, Set.of(4, 8, 15), Set.of(16))
+    );
+
+    @BeforeEach
+    void prepare() {
+        when(ticketGeneratorService.prepare(any())).thenReturn(new TicketGeneratorService.PreparedGeneration(ctx, specs));
+        when(snapshotRepository.findByFingerprint(anyString())).thenReturn(Optional.empty());
+        when(snapshotRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void replaysExactlyTheStoredTickets() {
+        SaveBatchRequest request = request(SEED, generated(SEED));
+        SavedBatch batch = new SavedBatch();
+
+        assertTrue(service.recordReplay(batch, request));
+        assertEquals(BatchStorageMode.SEED_REPLAY, batch.getStorageMode());
+        assertEquals(SEED, batch.getRandomSeed());
+        assertEquals(TicketGeneratorEngine.VERSION, batch.getEngineVersion());
+        assertTrue(batch.getTickets().isEmpty());
+
+        List<Ticket> replayed = service.replayTickets(batch);
+
+        assertEquals(asStored(request), asStored(replayed));
+        Ticket second = replayed.get(25);
+        assertEquals(2, second.getSpecNumber());
+        assertEquals(1, second.getTicketNumber());
+        assertTrue(second.getExcludeLastDrawNumbers());
+        assertEquals(1L, second.getWhiteGroup().getId());
+        assertEquals(2L, second.getRedGroup().getId());
+    }
+
+    @Test
+    void replayDoesNotDependOnCurrentTiers() {
+        SavedBatch batch = new SavedBatch();
+        SaveBatchRequest request = request(SEED, generated(SEED));
+        assertTrue(service.recordReplay(batch, request));
+
+        // tiers move on after saving; replay reads only the stored snapshot
+        reset(ticketGeneratorService);
+        assertEquals(asStored(request), asStored(service.replayTickets(batch)));
+        verifyNoInteractions(ticketGeneratorService);
+    }
+
+    @Test
+    void reusesSnapshotWithSameFingerprint() {
+        SavedBatch first = new SavedBatch();
+        assertTrue(service.recordReplay(first, request(SEED, generated(SEED))));
+        BatchReplaySnapshot stored = first.getReplaySnapshot();
+
+        when(snapshotRepository.findByFingerprint(stored.getFingerprint())).thenReturn(Optional.of(stored));
+        SavedBatch second = new SavedBatch();
+        assertTrue(service.recordReplay(second, request(SEED + 1, generated(SEED + 1))));
+
+        assertSame(stored, second.getReplaySnapshot());
+        verify(snapshotRepository, times(1)).save(any());
+    }
+
+    @Test
+    void fallsBackWhenAnyPickDiffers() {
+        List<List<SavedTicketRequest>> tickets = generated(SEED);
+        SavedTicketRequest last = tickets.get(1).get(24);
+        List<Integer> white = new ArrayList<>(last.picks().white());
+        white.set(0, white.get(0) == 1 ? 2 : 1);
+        tickets.get(1).set(24, new SavedTicketRequest(last.ticketNumber(), new SavedPicksRequest(white, last.picks().red())));
+
+        SavedBatch batch = new SavedBatch();
+        assertFalse(service.recordReplay(batch, request(SEED, tickets)));
+        assertNull(batch.getStorageMode());
+        assertNull(batch.getReplayPlanJson());
+        verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    void fallsBackWhenSeedOrTicketCountDiffers() {
+        assertFalse(service.recordReplay(new SavedBatch(), request(SEED + 1, generated(SEED))));
+
+        List<List<SavedTicketRequest>> tickets = generated(SEED);
+        tickets.get(0).remove(24);
+        assertFalse(service.recordReplay(new SavedBatch(), request(SEED, tickets)));
+    }
+
+    @Test
+    void requiresSeed() {
+        assertThrows(BadRequestException.class, () -> service.recordReplay(new SavedBatch(), request(null, generated(SEED))));
+    }
+
+    @Test
+    void refusesOtherEngineVersionsAndMissingData() {
+        SavedBatch batch = new SavedBatch();
+        assertTrue(service.recordReplay(batch, request(SEED, generated(SEED))));
+
+        batch.setEngineVersion(TicketGeneratorEngine.VERSION + 1);
+        assertThrows(BadRequestException.class, () -> service.replayTickets(batch));
+
+        batch.setEngineVersion(TicketGeneratorEngine.VERSION);
+        batch.setReplaySnapshot(null);
+        assertThrows(BadRequestException.class, () -> service.replayTickets(batch));
+    }
+
+    // what the client received from /generate with this seed, as it would submit it back
+    private List<List<SavedTicketRequest>> generated(long seed) {
+        GeneratedBatch batch = new TicketGeneratorEngine().generate(ctx.withOptions(ctx.options().withRandomSeed(seed)), specs);
+
+        List<List<SavedTicketRequest>> out = new ArrayList<>();
+        for (GeneratedSpecResult spec : batch.getSpecResults()) {
+            List<SavedTicketRequest> tickets = new ArrayList<>();
+            for (GeneratedSpecTicket t : spec.getTickets()) {
+                tickets.add(new SavedTicketRequest(t.ticketNumber(),
+                        new SavedPicksRequest(boxed(t.picks().white()), boxed(t.picks().red()))));
+            }
+            out.add(tickets);
+        }
+        return out;
+    }
+
+    private SaveBatchRequest request(Long seed, List<List<SavedTicketRequest>> tickets) {
+        List<SavedSpecResultRequest> specResults = new ArrayList<>();
+        for (int s = 0; s < specs.size(); s++) {
+            GeneratorSpec spec = specs.get(s);
+            specResults.add(new SavedSpecResultRequest(spec.whiteGroupId(), spec.redGroupId(),
+                    spec.excludeLastDrawNumbers(), spec.ticketCount(), tickets.get(s)));
+        }
+        return new SaveBatchRequest(7L, false, specResults, BatchStorageMode.SEED_REPLAY, seed, TicketUniqueness.BATCH);
+    }
+
+    private static List<String> asStored(SaveBatchRequest request) {
+        List<String> out = new ArrayList<>();
+        int specNumber = 1;
+        for (SavedSpecResultRequest spec : request.specResults()) {
+            for (SavedTicketRequest t : spec.tickets()) {
+                out.add(specNumber + ":" + t.ticketNumber() + " " + t.picks().white() + t.picks().red());
+            }
+            specNumber++;
+        }
+        return out;
+    }
+
+    private static List<String> asStored(List<Ticket> tickets) {
+        List<String> out = new ArrayList<>();
+        for (Ticket t : tickets) {
+            List<Integer> white = new ArrayList<>();
+            List<Integer> red = new ArrayList<>();
+            for (TicketPick p : t.getPicks()) {
+                (p.getPoolType() == PoolType.WHITE ? white : red).add(p.getNumberValue());
+            }
+            out.add(t.getSpecNumber() + ":" + t.getTicketNumber() + " " + white + red);
+        }
+        return out;
+    }
+
+    private static List<Integer> boxed(int[] values) {
+        return Arrays.stream(values).boxed().toList();
+    }
+
+    private static TicketGroup group(long id, PoolType poolType) {
+        return TicketGroup.builder().id(id).poolType(poolType).groupMode(GroupMode.PERCENT)
+                .hotPct(50).midPct(30).coldPct(20).build();
+    }
+
+    private static List<NumberBall> balls(PoolType poolType, int max, long seed) {
+        Random random = new Random(seed);
+        List<NumberBall> out = new ArrayList<>(max);
+        for (int v = 1; v <= max; v++) {
+            NumberBall b = new NumberBall();
+            b.setPoolType(poolType);
+            b.setNumberValue(v);
+            b.setTierCount(random.nextInt(30));
+
+            int roll = random.nextInt(10);
+            b.setTier(roll < 2 ? Tier.HOT : roll < 7 ? Tier.MID : Tier.COLD);
+            out.add(b);
+        }
+        return out;
+    }
+}
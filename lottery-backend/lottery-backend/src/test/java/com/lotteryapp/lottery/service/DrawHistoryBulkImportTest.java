@@ -0,0 +1,291 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.draw.DrawOrigin;
+import com.lotteryapp.lottery.domain.draw.DrawResult;
+import com.lotteryapp.lottery.domain.draw.PackedDrawNumbers;
+import com.lotteryapp.lottery.domain.gamemode.GameMode;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.ingestion.model.IngestedDraw;
+import com.lotteryapp.lottery.repository.DrawReadRow;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import com.lotteryapp.lottery.repository.DrawSummaryRow;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * DrawHistoryBulkImport writes only what differs from the stored draws: new and changed official
+ * draws are upserted, unchanged ones skipped, and disagreeing manual draws become conflicts.
+ */
+class DrawHistoryBulkImportTest {
+
+    private static final Long GAME = 7L;
+    private static final GameMode MODE = GameMode.builder().id(GAME).build();
+    private static final LocalDate D1 = LocalDate.of(2026, 10, 10);
+    private static final LocalDate D2 = LocalDate.of(2026, 10, 14);
+    private static final LocalDate D3 = LocalDate.of(2026, 10, 17);
+
+    private final DrawResultRepository drawResultRepository = mock(DrawResultRepository.class);
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache = mock(DrawFrequencyIndexCache.class);
+    private final RecentDrawsCache recentDrawsCache = mock(RecentDrawsCache.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final List<DrawSummaryRow> stored = new ArrayList<>();
+    private final List<DrawReadRow> storedPicks = new ArrayList<>();
+
+    @BeforeEach
+    void stubStore() throws Exception {
+        when(drawResultRepository.findSummaryRowsByGameModeIdAndDrawDateBetween(eq(GAME), any(), any())).thenReturn(stored);
+        when(drawResultRepository.findPickReadRowsByDrawIdIn(any())).thenReturn(storedPicks);
+
+        // every date in the range has a row after the upsert; ids are the epoch day
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            LocalDate from = ((Date) inv.getArgument(3)).toLocalDate();
+            LocalDate to = ((Date) inv.getArgument(4)).toLocalDate();
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getDate("draw_date")).thenReturn(Date.valueOf(d));
+                when(rs.getLong("id")).thenReturn(d.toEpochDay());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any(), any());
+    }
+
+    @Test
+    void insertsNewDrawsPackedWithoutPicks() {
+        DrawHistoryBulkImport.Result result = bulkImport(2000).importOfficial(MODE, List.of(
+                draw(D2, List.of(5, 10, 15, 20, 25), List.of(3)),
+                draw(D1, List.of(1, 2, 3, 4, 5), List.of(9))
+        ), false);
+
+        List<Object[]> rows = rowsOf("insert into draw_result", 11);
+        assertEquals(2, rows.size());
+        assertEquals(Date.valueOf(D1), rows.get(0)[1]);
+        assertEquals("OFFICIAL", rows.get(0)[4]);
+        assertArrayEquals(PackedDrawNumbers.order(List.of(1, 2, 3, 4, 5)), (byte[]) rows.get(0)[5]);
+        assertArrayEquals(PackedDrawNumbers.mask(List.of(9)), (byte[]) rows.get(0)[8]);
+        assertEquals("ny-json", rows.get(0)[9]);
+        assertEquals("https://example.test/final", rows.get(0)[10]);
+
+        assertTrue(statements("draw_pick").isEmpty());
+        assertTrue(statements("draw_conflict").isEmpty());
+
+        assertEquals(List.of(D1, D2), result.written().stream().map(DrawResult::getDrawDate).toList());
+        assertEquals(D1.toEpochDay(), result.written().get(0).getId());
+        assertEquals(List.of(5, 10, 15, 20, 25), result.written().get(1).numbersOf(PoolType.WHITE));
+        assertEquals(D2, result.latest().getDrawDate());
+        assertEquals(0, result.conflicts());
+
+        verify(entityManager).flush();
+        verify(drawFrequencyIndexCache, times(2)).recordDraw(any());
+        verify(recentDrawsCache).invalidate(GAME);
+    }
+
+    @Test
+    void skipsUnchangedOfficialDraws() {
+        storedPacked(D1, DrawOrigin.OFFICIAL, List.of(1, 2, 3, 4, 5), List.of(9));
+
+        DrawHistoryBulkImport.Result result = bulkImport(2000).importOfficial(MODE, List.of(
+                draw(D1, List.of(1, 2, 3, 4, 5), List.of(9))
+        ), false);
+
+        assertTrue(statements("").isEmpty());
+        assertTrue(result.written().isEmpty());
+        assertNull(result.latest());
+        verifyNoInteractions(drawFrequencyIndexCache, recentDrawsCache);
+    }
+
+    @Test
+    void replacesChangedOfficialDrawAndClearsItsPicks() {
+        storedPacked(D1, DrawOrigin.OFFICIAL, List.of(1, 2, 3, 4, 5), List.of(9));
+
+        DrawHistoryBulkImport.Result result = bulkImport(2000).importOfficial(MODE, List.of(
+                draw(D1, List.of(1, 2, 3, 4, 6), List.of(9))
+        ), false);
+
+        assertEquals(1, rowsOf("insert into draw_result", 11).size());
+        assertEquals(List.of(List.of(D1.toEpochDay())), argsOf("delete from draw_pick"));
+        assertEquals(1, result.written().size());
+    }
+
+    @Test
+    void routesDisagreeingManualDrawToConflict() {
+        storedPacked(D1, DrawOrigin.MANUAL, List.of(1, 2, 3, 4, 5), List.of(9));
+        storedPacked(D2, DrawOrigin.MANUAL, List.of(6, 7, 8, 9, 10), List.of(1));
+
+        DrawHistoryBulkImport.Result result = bulkImport(2000).importOfficial(MODE, List.of(
+                draw(D1, List.of(1, 2, 3, 4, 50), List.of(9)),
+                draw(D2, List.of(6, 7, 8, 9, 10), List.of(1))
+        ), false);
+
+        List<Object[]> conflicts = rowsOf("insert into draw_conflict", 9);
+        assertEquals(1, conflicts.size());
+        assertEquals(D1.toEpochDay(), conflicts.get(0)[0]);
+        assertEquals(GAME, conflicts.get(0)[1]);
+        assertEquals("[1,2,3,4,5]", conflicts.get(0)[3]);
+        assertEquals("[1,2,3,4,50]", conflicts.get(0)[5]);
+        assertEquals(false, conflicts.get(0)[7]);
+
+        // the agreeing manual draw becomes official
+        List<Object[]> draws = rowsOf("insert into draw_result", 11);
+        assertEquals(1, draws.size());
+        assertEquals(Date.valueOf(D2), draws.get(0)[1]);
+
+        assertEquals(1, result.conflicts());
+        assertEquals(List.of(D2), result.written().stream().map(DrawResult::getDrawDate).toList());
+        verify(recentDrawsCache).invalidate(GAME);
+    }
+
+    @Test
+    void conflictAloneStillInvalidatesRecentDraws() {
+        storedPacked(D1, DrawOrigin.MANUAL, List.of(1, 2, 3, 4, 5), List.of(9));
+
+        DrawHistoryBulkImport.Result result = bulkImport(2000).importOfficial(MODE, List.of(
+                draw(D1, List.of(1, 2, 3, 4, 50), List.of(9))
+        ), false);
+
+        assertTrue(statements("insert into draw_result").isEmpty());
+        assertNull(result.latest());
+        verify(recentDrawsCache).invalidate(GAME);
+    }
+
+    @Test
+    void comparesAgainstPicksOfUnpackedDraws() {
+        stored.add(summary(D1.toEpochDay(), D1, DrawOrigin.OFFICIAL, null, null));
+        storedPicks.add(pick(D1.toEpochDay(), PoolType.WHITE, 1, 4));
+        storedPicks.add(pick(D1.toEpochDay(), PoolType.WHITE, 2, 8));
+        storedPicks.add(pick(D1.toEpochDay(), PoolType.RED, 1, 2));
+
+        bulkImport(2000).importOfficial(MODE, List.of(draw(D1, List.of(4, 8), List.of(2))), false);
+        assertTrue(statements("").isEmpty());
+
+        bulkImport(2000).importOfficial(MODE, List.of(draw(D1, List.of(4, 9), List.of(2))), false);
+        assertEquals(1, rowsOf("insert into draw_result", 11).size());
+    }
+
+    @Test
+    void writesPicksWhenKeptOrUnpackable() {
+        bulkImport(2000).importOfficial(MODE, List.of(draw(D1, List.of(1, 2), List.of(3))), true);
+        assertEquals(3, rowsOf("insert into draw_pick", 4).size());
+
+        clearInvocations(jdbcTemplate);
+        bulkImport(2000).importOfficial(MODE, List.of(draw(D2, List.of(1, 300), List.of())), false);
+
+        Object[] drawRow = rowsOf("insert into draw_result", 11).get(0);
+        assertNull(drawRow[5]);
+        assertNull(drawRow[7]);
+        List<Object[]> picks = rowsOf("insert into draw_pick", 4);
+        assertEquals(2, picks.size());
+        assertArrayEquals(new Object[]{D2.toEpochDay(), "WHITE", 2, 300}, picks.get(1));
+    }
+
+    @Test
+    void lastOfRepeatedDatesWinsAndUndatedDrawsAreSkipped() {
+        DrawHistoryBulkImport.Result result = bulkImport(2000).importOfficial(MODE, Arrays.asList(
+                draw(D1, List.of(1), List.of()),
+                null,
+                draw(null, List.of(2), List.of()),
+                draw(D1, List.of(3), List.of())
+        ), false);
+
+        assertEquals(1, rowsOf("insert into draw_result", 11).size());
+        assertEquals(List.of(3), result.written().get(0).numbersOf(PoolType.WHITE));
+
+        assertEquals(0, bulkImport(2000).importOfficial(MODE, List.of(), false).written().size());
+        assertEquals(0, bulkImport(2000).importOfficial(MODE, null, false).written().size());
+        verify(entityManager, times(1)).flush();
+    }
+
+    @Test
+    void splitsRowsAcrossStatementsAndInvalidatesIndexForLargeImports() {
+        List<IngestedDraw> incoming = new ArrayList<>();
+        for (int i = 0; i < 20; i++) incoming.add(draw(D1.plusDays(i), List.of(i + 1), List.of()));
+
+        DrawHistoryBulkImport.Result result = bulkImport(8).importOfficial(MODE, incoming, false);
+
+        List<Object[]> statements = statements("insert into draw_result");
+        assertEquals(List.of(88, 88, 44), statements.stream().map(s -> ((Object[]) s[1]).length).toList());
+        assertEquals(20, result.written().size());
+        verify(drawFrequencyIndexCache).invalidate(GAME);
+        verify(drawFrequencyIndexCache, never()).recordDraw(any());
+    }
+
+    private DrawHistoryBulkImport bulkImport(int rowsPerStatement) {
+        return new DrawHistoryBulkImport(drawResultRepository, drawFrequencyIndexCache, recentDrawsCache,
+                jdbcTemplate, entityManager, rowsPerStatement);
+    }
+
+    // jdbcTemplate.update calls whose SQL contains sqlPart, as [sql, args]
+    private List<Object[]> statements(String sqlPart) {
+        List<Object[]> out = new ArrayList<>();
+        for (Invocation inv : mockingDetails(jdbcTemplate).getInvocations()) {
+            if (!inv.getMethod().getName().equals("update")) continue;
+            Object[] raw = inv.getRawArguments();
+            if (((String) raw[0]).contains(sqlPart)) out.add(raw);
+        }
+        return out;
+    }
+
+    // rows of every matching statement, split into tuples of columns
+    private List<Object[]> rowsOf(String sqlPart, int columns) {
+        List<Object[]> out = new ArrayList<>();
+        for (Object[] statement : statements(sqlPart)) {
+            Object[] args = (Object[]) statement[1];
+            for (int i = 0; i < args.length; i += columns) out.add(Arrays.copyOfRange(args, i, i + columns));
+        }
+        return out;
+    }
+
+    private List<List<Object>> argsOf(String sqlPart) {
+        return statements(sqlPart).stream().map(s -> Arrays.asList((Object[]) s[1])).toList();
+    }
+
+    private void storedPacked(LocalDate date, DrawOrigin origin, List<Integer> white, List<Integer> red) {
+        stored.add(summary(date.toEpochDay(), date, origin, PackedDrawNumbers.order(white), PackedDrawNumbers.order(red)));
+    }
+
+    private static IngestedDraw draw(LocalDate date, List<Integer> white, List<Integer> red) {
+        return IngestedDraw.builder()
+                .drawDate(date)
+                .whiteNumbers(white)
+                .redNumbers(red)
+                .meta(Map.of("parserKey", "ny-json", "finalUrl", "https://example.test/final", "url", "https://example.test/{date}"))
+                .build();
+    }
+
+    private static DrawSummaryRow summary(Long id, LocalDate date, DrawOrigin origin, byte[] whiteOrder, byte[] redOrder) {
+        return new DrawSummaryRow() {
+            @Override public Long getDrawId() { return id; }
+            @Override public LocalDate getDrawDate() { return date; }
+            @Override public DrawOrigin getOrigin() { return origin; }
+            @Override public byte[] getWhiteOrder() { return whiteOrder; }
+            @Override public byte[] getRedOrder() { return redOrder; }
+        };
+    }
+
+    private static DrawReadRow pick(Long drawId, PoolType poolType, int position, int value) {
+        return new DrawReadRow() {
+            @Override public Long getDrawId() { return drawId; }
+            @Override public PoolType getPoolType() { return poolType; }
+            @Override public Integer getPosition() { return position; }
+            @Override public Integer getNumberValue() { return value; }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.domain.gamemode.DrawCalendar;
+import com.lotteryapp.lottery.domain.gamemode.DrawDay;
+import com.lotteryapp.lottery.repository.DrawResultRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * DrawPollScheduler polls a game whose draw is missing with doubling backoff up to the cap,
+ * gives up after pollGiveUp, and otherwise stays idle until the next draw.
+ */
+class DrawPollSchedulerTest {
+
+    private static final Long GAME = 1L;
+
+    // Saturdays 20:00 UTC; the 2026-10-17 draw has just happened
+    private static final DrawCalendar SATURDAYS = DrawCalendar.of(EnumSet.of(DrawDay.SATURDAY), LocalTime.of(20, 0), "UTC");
+    private static final LocalDate DRAW_DATE = LocalDate.of(2026, 10, 17);
+    private static final Instant T0 = Instant.parse("2026-10-17T20:05:00Z");
+    private static final Instant NEXT_DRAW_DUE = Instant.parse("2026-10-24T20:05:00Z");
+
+    private final DrawSyncPlanner drawSyncPlanner = mock(DrawSyncPlanner.class);
+    private final DrawResultRepository drawResultRepository = mock(DrawResultRepository.class);
+    private final DrawSyncService drawSyncService = mock(DrawSyncService.class);
+
+    // 300s after the draw, backoff 120s doubling to 1800s, give up after 24h
+    private final DrawPollScheduler scheduler = new DrawPollScheduler(
+            drawSyncPlanner, drawResultRepository, drawSyncService, true, 300, 120, 1800, 24);
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        scheduleGame();
+        when(drawResultRepository.findLatestDrawDateByGameModeId(GAME)).thenReturn(DRAW_DATE.minusWeeks(1));
+
+        // due at once after reseed, then 120, 240, 480, 960, 1800, 1800 seconds apart
+        long[] pollsAt = {0, 120, 360, 840, 1800, 3600, 5400};
+        int polls = 0;
+        for (long at : pollsAt) {
+            scheduler.pollDue(T0.plusSeconds(at - 1));
+            verify(drawSyncService, times(polls)).requestRefresh(GAME, "NY");
+
+            scheduler.pollDue(T0.plusSeconds(at));
+            verify(drawSyncService, times(++polls)).requestRefresh(GAME, "NY");
+        }
+    }
+
+    @Test
+    void storedDrawIdlesUntilTheNextDraw() {
+        scheduleGame();
+        when(drawResultRepository.findLatestDrawDateByGameModeId(GAME)).thenReturn(DRAW_DATE);
+
+        scheduler.pollDue(T0);
+        scheduler.pollDue(NEXT_DRAW_DUE.minusSeconds(1));
+        verify(drawResultRepository, times(1)).findLatestDrawDateByGameModeId(GAME);
+        verifyNoInteractions(drawSyncService);
+
+        // the 2026-10-24 draw is now expected and not stored yet
+        scheduler.pollDue(NEXT_DRAW_DUE);
+        verify(drawResultRepository, times(2)).findLatestDrawDateByGameModeId(GAME);
+        verify(drawSyncService).requestRefresh(GAME, "NY");
+    }
+
+    @Test
+    void drawArrivingWhilePollingStopsTheBackoff() {
+        scheduleGame();
+        when(drawResultRepository.findLatestDrawDateByGameModeId(GAME))
+                .thenReturn(DRAW_DATE.minusWeeks(1), DRAW_DATE.minusWeeks(1), DRAW_DATE);
+
+        scheduler.pollDue(T0);
+        scheduler.pollDue(T0.plusSeconds(120));
+        scheduler.pollDue(T0.plusSeconds(360));
+        scheduler.pollDue(NEXT_DRAW_DUE.minusSeconds(1));
+
+        verify(drawSyncService, times(2)).requestRefresh(GAME, "NY");
+        verify(drawResultRepository, times(3)).findLatestDrawDateByGameModeId(GAME);
+    }
+
+    @Test
+    void givesUpAfterTheLimitAndResumesForTheNextDraw() {
+        scheduleGame();
+        when(drawResultRepository.findLatestDrawDateByGameModeId(GAME)).thenReturn(DRAW_DATE.minusWeeks(1));
+
+        for (Instant t = T0; t.isBefore(T0.plus(Duration.ofHours(25))); t = t.plusSeconds(60)) scheduler.pollDue(t);
+        int pollsInFirstDay = mockingDetails(drawSyncService).getInvocations().size();
+        assertTrue(pollsInFirstDay > 5);
+
+        scheduler.pollDue(NEXT_DRAW_DUE.minusSeconds(1));
+        verify(drawSyncService, times(pollsInFirstDay)).requestRefresh(GAME, "NY");
+
+        // the next draw starts a fresh backoff
+        scheduler.pollDue(NEXT_DRAW_DUE);
+        scheduler.pollDue(NEXT_DRAW_DUE.plusSeconds(119));
+        verify(drawSyncService, times(pollsInFirstDay + 1)).requestRefresh(GAME, "NY");
+        scheduler.pollDue(NEXT_DRAW_DUE.plusSeconds(120));
+        verify(drawSyncService, times(pollsInFirstDay + 2)).requestRefresh(GAME, "NY");
+    }
+
+    @Test
+    void databaseErrorRetriesAfterTheBackoff() {
+        scheduleGame();
+        when(drawResultRepository.findLatestDrawDateByGameModeId(GAME))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(DRAW_DATE);
+
+        scheduler.pollDue(T0);
+        scheduler.pollDue(T0.plusSeconds(119));
+        verify(drawResultRepository, times(1)).findLatestDrawDateByGameModeId(GAME);
+
+        scheduler.pollDue(T0.plusSeconds(120));
+        verify(drawResultRepository, times(2)).findLatestDrawDateByGameModeId(GAME);
+        verifyNoInteractions(drawSyncService);
+    }
+
+    @Test
+    void reseedKeepsBackoffAndDropsUnscheduledGames() {
+        scheduleGame();
+        when(drawResultRepository.findLatestDrawDateByGameModeId(GAME)).thenReturn(DRAW_DATE.minusWeeks(1));
+
+        scheduler.pollDue(T0);
+        scheduler.reseed(T0.plusSeconds(60));
+        scheduler.pollDue(T0.plusSeconds(119));
+        verify(drawSyncService, times(1)).requestRefresh(GAME, "NY");
+
+        // no draw days and no jurisdiction: neither is polled
+        when(drawSyncPlanner.schedules()).thenReturn(List.of(
+                new DrawSyncPlanner.GameSchedule(GAME, "NY", DrawCalendar.of(EnumSet.noneOf(DrawDay.class), null, null)),
+                new DrawSyncPlanner.GameSchedule(2L, null, SATURDAYS)
+        ));
+        scheduler.reseed(T0.plusSeconds(119));
+        scheduler.pollDue(NEXT_DRAW_DUE.plus(Duration.ofDays(30)));
+
+        verify(drawSyncService, times(1)).requestRefresh(any(), any());
+        verify(drawResultRepository, times(1)).findLatestDrawDateByGameModeId(any());
+    }
+
+    private void scheduleGame() {
+        when(drawSyncPlanner.schedules()).thenReturn(List.of(new DrawSyncPlanner.GameSchedule(GAME, "NY", SATURDAYS)));
+        scheduler.reseed(T0);
+    }
+}
@@ -0,0 +1,192 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.dto.draw.response.DrawResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RecentDrawsCache serves an entry only while its game's version is current: invalidation during
+ * a load, or again at commit, forces the next get to reload.
+ */
+class RecentDrawsCacheTest {
+
+    private static final Long GAME = 1L;
+
+    private static final List<DrawResponse> DRAWS = List.of(
+            draw(3L, LocalDate.of(2026, 10, 14)),
+            draw(2L, LocalDate.of(2026, 10, 11)),
+            draw(1L, LocalDate.of(2026, 10, 7))
+    );
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecentDrawsCache cache = new RecentDrawsCache(new NoOpTransactionManager(), meterRegistry, 3, 2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void servesCachedEntryUntilInvalidated() {
+        RecentDrawsCache.RecentDraws first = cache.get(GAME, loader());
+        assertSame(first, cache.get(GAME, loader()));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(GAME);
+        cache.get(GAME, loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void entryInvalidatedWhileLoadingIsNotPublished() {
+        RecentDrawsCache.RecentDraws loaded = cache.get(GAME, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(GAME);
+            return recent(DRAWS, false);
+        });
+        assertNotNull(loaded);
+
+        cache.get(GAME, loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidationInTransactionIsRepeatedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(GAME);
+
+        // loaded before commit: may hold uncommitted data, must not outlive the commit
+        cache.get(GAME, loader());
+        cache.get(GAME, loader());
+        assertEquals(1, loads.get());
+
+        commit();
+
+        cache.get(GAME, loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictForgetsVersionOnceDeleteCommits() {
+        cache.invalidate(GAME);
+        assertTrue(cache.currentVersion(GAME) > 0);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(GAME);
+        assertTrue(cache.currentVersion(GAME) > 0);
+
+        commit();
+        assertEquals(0, cache.currentVersion(GAME));
+    }
+
+    @Test
+    void versionsNeverRepeatAcrossGames() {
+        cache.invalidate(GAME);
+        long first = cache.currentVersion(GAME);
+
+        cache.invalidate(2L);
+        cache.evict(GAME);
+        cache.invalidate(GAME);
+
+        assertTrue(cache.currentVersion(GAME) > first);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        cache.get(1L, loader());
+        cache.get(2L, loader());
+        cache.get(1L, loader());
+        cache.get(3L, loader());
+        assertEquals(3, loads.get());
+
+        cache.get(1L, loader());
+        assertEquals(3, loads.get());
+
+        cache.get(2L, loader());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        cache.get(GAME, loader());
+        cache.get(GAME, loader());
+        cache.get(GAME, loader());
+
+        assertEquals(2.0, meterRegistry.get("lottery.draws.recent.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("lottery.draws.recent.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void newestReturnsNullOnlyWhenMoreMayBeStored() {
+        RecentDrawsCache.RecentDraws partial = recent(DRAWS, false);
+        assertEquals(DRAWS.subList(0, 2), partial.newest(2));
+        assertEquals(DRAWS, partial.newest(3));
+        assertNull(partial.newest(5));
+
+        RecentDrawsCache.RecentDraws complete = recent(DRAWS, true);
+        assertEquals(DRAWS, complete.newest(5));
+    }
+
+    @Test
+    void latestDrawDateAndOnDate() {
+        RecentDrawsCache.RecentDraws recent = recent(DRAWS, false);
+        assertEquals(LocalDate.of(2026, 10, 14), recent.latestDrawDate());
+        assertEquals(2L, recent.onDate(LocalDate.of(2026, 10, 11)).getId());
+        assertNull(recent.onDate(LocalDate.of(2026, 10, 12)));
+
+        assertNull(recent(List.of(), true).latestDrawDate());
+    }
+
+    private Supplier<RecentDrawsCache.RecentDraws> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return recent(DRAWS, false);
+        };
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static RecentDrawsCache.RecentDraws recent(List<DrawResponse> draws, boolean complete) {
+        return new RecentDrawsCache.RecentDraws(null, null, draws, complete);
+    }
+
+    private static DrawResponse draw(Long id, LocalDate drawDate) {
+        return DrawResponse.builder().id(id).drawDate(drawDate).build();
+    }
+
+    // loaders run in a "transaction" that does nothing
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {}
+
+        @Override
+        public void rollback(TransactionStatus status) {}
+    }
+}
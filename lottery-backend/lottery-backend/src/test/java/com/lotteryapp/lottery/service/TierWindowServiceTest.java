@@ -0,0 +1,160 @@
+package com.lotteryapp.lottery.service;
+
+import com.lotteryapp.lottery.application.numbers.NumberBallLifecycleService;
+import com.lotteryapp.lottery.domain.draw.DrawFrequencyIndex;
+import com.lotteryapp.lottery.domain.draw.DrawResult;
+import com.lotteryapp.lottery.domain.gamemode.GameMode;
+import com.lotteryapp.lottery.domain.gamemode.Rules;
+import com.lotteryapp.lottery.domain.numbers.NumberBall;
+import com.lotteryapp.lottery.domain.numbers.PoolType;
+import com.lotteryapp.lottery.repository.GameModeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Moving a game's tier window with TierWindowService.advance (counts read from the frequency
+ * index) must leave every ball with the tierCount and tier a full recount over the same draws
+ * (NumberBallLifecycleService.recalculateTiers) gives for that window.
+ */
+class TierWindowServiceTest {
+
+    private static final Long GAME = 1L;
+    private static final LocalDate FIRST_DRAW = LocalDate.of(2023, 1, 2);
+    private static final int WHITE_MAX = 69;
+    private static final int RED_MAX = 26;
+
+    private final GameModeRepository gameModeRepository = mock(GameModeRepository.class);
+    private final NumberBallService numberBallService = mock(NumberBallService.class);
+    private final DrawFrequencyIndexCache drawFrequencyIndexCache = mock(DrawFrequencyIndexCache.class);
+
+    private final NumberBallLifecycleService lifecycle = new NumberBallLifecycleService(
+            gameModeRepository,
+            numberBallService,
+            mock(GenerationPlanCache.class),
+            mock(TierSnapshotService.class),
+            drawFrequencyIndexCache
+    );
+
+    private final TierWindowService tierWindowService = new TierWindowService(
+            gameModeRepository,
+            drawFrequencyIndexCache,
+            numberBallService,
+            lifecycle,
+            mock(PlatformTransactionManager.class)
+    );
+
+    @Test
+    void randomWindowMovesMatchFullRecount() {
+        Random random = new Random(20230102L);
+
+        List<DrawResult> draws = new ArrayList<>();
+        DrawFrequencyIndex index = new DrawFrequencyIndex();
+        LocalDate lastDraw = FIRST_DRAW;
+        for (LocalDate date = FIRST_DRAW; draws.size() < 300; date = date.plusDays(2 + random.nextInt(3))) {
+            List<Integer> white = distinct(random, 5, WHITE_MAX);
+            List<Integer> red = distinct(random, 1, RED_MAX);
+
+            DrawResult draw = DrawResult.builder().drawDate(date).build();
+            draw.replaceNumbers(white, red, false);
+            draws.add(draw);
+            index.put(date, toArray(white), toArray(red));
+            lastDraw = date;
+        }
+
+        GameMode mode = mode();
+        List<NumberBall> balls = balls(draws);
+        when(gameModeRepository.findById(GAME)).thenReturn(Optional.of(mode));
+        when(numberBallService.getBallsByGameModeId(GAME)).thenReturn(balls);
+        when(drawFrequencyIndexCache.get(GAME)).thenReturn(index);
+
+        LocalDate from = FIRST_DRAW.minusDays(30);
+        int span = (int) (lastDraw.toEpochDay() - from.toEpochDay()) + 60;
+
+        for (int move = 0; move < 500; move++) {
+            LocalDate start = from.plusDays(random.nextInt(span));
+            LocalDate end = start.plusDays(random.nextInt(random.nextBoolean() ? 30 : span));
+            mode.setTierRangeStartDate(start);
+            mode.setTierRangeEndDate(end);
+
+            tierWindowService.advance(GAME, LocalDate.now());
+
+            GameMode recountMode = mode();
+            recountMode.setTierRangeStartDate(start);
+            recountMode.setTierRangeEndDate(end);
+            List<NumberBall> recount = balls(draws);
+            lifecycle.recalculateTiers(recountMode, draws, recount);
+
+            assertEquals(start, mode.getTierCountWindowStart(), "move " + move + " counted start");
+            assertEquals(end, mode.getTierCountWindowEnd(), "move " + move + " counted end");
+            for (int i = 0; i < balls.size(); i++) {
+                NumberBall expected = recount.get(i);
+                NumberBall actual = balls.get(i);
+                String where = "move " + move + " " + start + ".." + end + " "
+                        + actual.getPoolType() + " #" + actual.getNumberValue();
+
+                assertEquals(expected.getTierCount(), actual.getTierCount(), where + " tierCount");
+                assertEquals(expected.getTier(), actual.getTier(), where + " tier");
+            }
+        }
+    }
+
+    private static GameMode mode() {
+        GameMode mode = new GameMode();
+        mode.setId(GAME);
+        mode.setRules(Rules.builder().formatStartDate(FIRST_DRAW).build());
+        return mode;
+    }
+
+    // lastDrawnDate as applying the whole history leaves it, so only the window decides tiers
+    private static List<NumberBall> balls(List<DrawResult> draws) {
+        Map<PoolType, Map<Integer, LocalDate>> lastDrawn = new HashMap<>();
+        for (DrawResult draw : draws) {
+            for (PoolType poolType : PoolType.values()) {
+                for (int n : draw.numbersOf(poolType)) {
+                    lastDrawn.computeIfAbsent(poolType, p -> new HashMap<>()).merge(n, draw.getDrawDate(),
+                            (a, b) -> a.isAfter(b) ? a : b);
+                }
+            }
+        }
+
+        List<NumberBall> balls = new ArrayList<>();
+        for (int v = 1; v <= WHITE_MAX; v++) balls.add(ball(PoolType.WHITE, v, lastDrawn));
+        for (int v = 1; v <= RED_MAX; v++) balls.add(ball(PoolType.RED, v, lastDrawn));
+        return balls;
+    }
+
+    private static NumberBall ball(PoolType poolType, int value, Map<PoolType, Map<Integer, LocalDate>> lastDrawn) {
+        return NumberBall.builder()
+                .poolType(poolType)
+                .numberValue(value)
+                .totalCount(0)
+                .tierCount(0)
+                .lastDrawnDate(lastDrawn.getOrDefault(poolType, Map.of()).get(value))
+                .build();
+    }
+
+    private static List<Integer> distinct(Random random, int size, int max) {
+        List<Integer> out = new ArrayList<>(size);
+        while (out.size() < size) {
+            int n = 1 + random.nextInt(max);
+            if (!out.contains(n)) out.add(n);
+        }
+        return out;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}